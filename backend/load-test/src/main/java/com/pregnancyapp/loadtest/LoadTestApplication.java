@@ -0,0 +1,110 @@
+package com.pregnancyapp.loadtest;
+
+import com.pregnancyapp.PregnancyFamilyApplication;
+import com.pregnancyapp.loadtest.driver.ApiClient;
+import com.pregnancyapp.loadtest.driver.JourneyRunner;
+import com.pregnancyapp.loadtest.driver.UserJourney;
+import com.pregnancyapp.loadtest.report.LatencyRecorder;
+import com.pregnancyapp.loadtest.report.LoadTestReport;
+import com.pregnancyapp.loadtest.report.PoolSampler;
+import com.pregnancyapp.loadtest.standin.DatabaseStandIn;
+import com.pregnancyapp.loadtest.standin.MiniRedisServer;
+import com.pregnancyapp.loadtest.standin.StubSmsService;
+import com.pregnancyapp.service.SmsService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.env.Environment;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 压测入口
+ * 依次启动Redis替身、数据库替身与短信服务替身，在同一进程内以 loadtest 环境启动后端，
+ * 预热后按配置并发执行用户旅程并输出报告；采样期内没有完成任何旅程时以失败退出
+ *
+ * <pre>
+ * cd backend && mvn install -DskipTests -Dspring-boot.repackage.skip=true
+ * cd load-test && mvn compile exec:java -Dexec.args="--loadtest.users=100 --loadtest.duration-seconds=120"
+ * </pre>
+ * 冒烟运行见 LoadTestSmokeTest（mvn test）
+ *
+ * @author PregnancyApp Team
+ */
+@Slf4j
+public class LoadTestApplication {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestReport report = run(LoadTestOptions.parse(args));
+        System.out.println(report);
+        if (report.getCompletedJourneys() == 0) {
+            throw new IllegalStateException("采样期内没有完成任何旅程，检查报告中的错误分布");
+        }
+    }
+
+    /**
+     * 执行一轮压测并写出报告文件
+     */
+    public static LoadTestReport run(LoadTestOptions options) throws Exception {
+        StubSmsService smsService = new StubSmsService(options.getSmsLatencyMillis());
+        try (MiniRedisServer redis = MiniRedisServer.start();
+             DatabaseStandIn database = DatabaseStandIn.start(options);
+             ConfigurableApplicationContext context = startBackend(options, redis, database, smsService);
+             PoolSampler poolSampler = new PoolSampler()) {
+            Environment environment = context.getEnvironment();
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String baseUrl = "http://127.0.0.1:" + port + environment.getProperty("server.servlet.context-path", "");
+            ApiClient client = new ApiClient(baseUrl, environment.getProperty("sa-token.token-name", "satoken"),
+                    options.getHttpTimeout());
+
+            LatencyRecorder recorder = new LatencyRecorder(UserJourney.ENDPOINTS);
+            UserJourney journey = new UserJourney(client, smsService, recorder,
+                    options.getInfoRepeat(), options.getThinkTimeMillis());
+            JourneyRunner runner = new JourneyRunner(journey, options.getUsers());
+
+            log.info("预热 {} 秒", options.getWarmup().toSeconds());
+            runner.start();
+            Thread.sleep(options.getWarmup().toMillis());
+
+            log.info("开始采样 {} 秒", options.getDuration().toSeconds());
+            runner.resetCounters();
+            recorder.start();
+            poolSampler.start(options.getPoolSampleMillis());
+            Thread.sleep(options.getDuration().toMillis());
+            recorder.stop();
+            long completed = runner.getCompleted();
+            long failed = runner.getFailed();
+            runner.stop();
+
+            LoadTestReport report = new LoadTestReport(options, recorder, poolSampler.getPools(),
+                    completed, failed, smsService.getDeliveredCount(), redis.getConnectionCount());
+            report.writeTo(options.getReportFile());
+            log.info("报告已写入: {}", options.getReportFile().toAbsolutePath());
+            return report;
+        }
+    }
+
+    private static ConfigurableApplicationContext startBackend(LoadTestOptions options, MiniRedisServer redis,
+                                                               DatabaseStandIn database, StubSmsService smsService) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("spring.profiles.active", "loadtest");
+        // 不创建阿里云短信客户端，由替身以主Bean身份接收验证码
+        properties.put("app.sms.enabled", false);
+        properties.put("loadtest.redis.port", redis.getPort());
+        // exec:java 在JVM退出前关闭类加载器，日志系统的关闭钩子会因加载不到类而报错；上下文由本入口显式关闭
+        properties.put("logging.register-shutdown-hook", false);
+        properties.putAll(database.getProperties());
+        properties.putAll(options.getAppProperties());
+        // 以命令行参数传入，优先级高于 application.yml
+        String[] args = properties.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(PregnancyFamilyApplication.class)
+                .initializers(context -> ((GenericApplicationContext) context).registerBean("stubSmsService",
+                        SmsService.class, () -> smsService, definition -> definition.setPrimary(true)))
+                .run(args);
+    }
+}
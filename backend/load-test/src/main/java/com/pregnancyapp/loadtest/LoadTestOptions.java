@@ -0,0 +1,104 @@
+package com.pregnancyapp.loadtest;
+
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 压测参数
+ * 以 --loadtest.xxx=value 传入，其余 --key=value 原样转交给被测应用（如调整连接池大小）
+ *
+ * @author PregnancyApp Team
+ */
+@Getter
+public class LoadTestOptions {
+
+    private static final String PREFIX = "loadtest.";
+
+    /**
+     * 数据库替身：sqlite（默认，WAL文件库）或 mysql（Testcontainers）
+     */
+    private final String db;
+
+    private final String mysqlImage;
+
+    /**
+     * MySQL建表脚本，默认取仓库 database 目录
+     */
+    private final Path mysqlSchema;
+
+    /**
+     * 并发虚拟用户数，每个用户循环执行完整旅程
+     */
+    private final int users;
+
+    private final Duration warmup;
+
+    private final Duration duration;
+
+    /**
+     * 每次旅程中 /auth/info 的请求次数（读多写少）
+     */
+    private final int infoRepeat;
+
+    private final long thinkTimeMillis;
+
+    /**
+     * 短信服务替身的模拟发送耗时
+     */
+    private final long smsLatencyMillis;
+
+    private final long poolSampleMillis;
+
+    private final Duration httpTimeout;
+
+    private final Path reportFile;
+
+    /**
+     * 转交给被测应用的配置
+     */
+    private final Map<String, Object> appProperties;
+
+    private LoadTestOptions(Map<String, String> options, Map<String, Object> appProperties) {
+        this.db = options.getOrDefault("db", "sqlite");
+        this.mysqlImage = options.getOrDefault("mysql-image", "mysql:8.0");
+        this.mysqlSchema = Path.of(options.getOrDefault("mysql-schema", "../../database/pregnancy_app_schema.sql"));
+        this.users = Integer.parseInt(options.getOrDefault("users", "50"));
+        this.warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup-seconds", "10")));
+        this.duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration-seconds", "60")));
+        this.infoRepeat = Integer.parseInt(options.getOrDefault("info-repeat", "3"));
+        this.thinkTimeMillis = Long.parseLong(options.getOrDefault("think-time-millis", "0"));
+        this.smsLatencyMillis = Long.parseLong(options.getOrDefault("sms-latency-millis", "0"));
+        this.poolSampleMillis = Long.parseLong(options.getOrDefault("pool-sample-millis", "200"));
+        this.httpTimeout = Duration.ofSeconds(Long.parseLong(options.getOrDefault("http-timeout-seconds", "30")));
+        this.reportFile = Path.of(options.getOrDefault("report-file", "target/load-test-report.txt"));
+        this.appProperties = appProperties;
+        if (users <= 0) {
+            throw new IllegalArgumentException("loadtest.users 必须大于0");
+        }
+        if (!"sqlite".equals(db) && !"mysql".equals(db)) {
+            throw new IllegalArgumentException("loadtest.db 仅支持 sqlite 或 mysql: " + db);
+        }
+    }
+
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        Map<String, Object> appProperties = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("参数格式应为 --key=value: " + arg);
+            }
+            String key = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (key.startsWith(PREFIX)) {
+                options.put(key.substring(PREFIX.length()), value);
+            } else {
+                appProperties.put(key, value);
+            }
+        }
+        return new LoadTestOptions(options, appProperties);
+    }
+}
@@ -0,0 +1,217 @@
+package com.pregnancyapp.loadtest.bench;
+
+import cn.dev33.satoken.stp.StpUtil;
+import com.pregnancyapp.PregnancyFamilyApplication;
+import com.pregnancyapp.loadtest.LoadTestOptions;
+import com.pregnancyapp.loadtest.standin.DatabaseStandIn;
+import com.pregnancyapp.loadtest.standin.MiniRedisServer;
+import com.pregnancyapp.ratelimit.RateLimit;
+import com.pregnancyapp.security.RequestLoginId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 限流切面JMH基准
+ * 在压测环境（Redis替身 + SQLite替身）中启动后端，注册同一个经Spring AOP代理的目标bean，比较三种调用：
+ * <ul>
+ *     <li>baseline：代理上未标注 {@link RateLimit} 的方法，只有代理分派开销</li>
+ *     <li>resolved：鉴权拦截器已把登录ID放入请求属性，切面直接复用后拼键、扣本地额度、按需向Redis申请额度</li>
+ *     <li>lookup：请求中没有已解析的登录ID，切面经Sa-Token按Token读取会话（每次调用一次Redis读取）</li>
+ * </ul>
+ * keys 为参与调用的登录用户数，每个线程轮流使用这些用户的请求；线程数由 -t 指定。
+ * 请求对象在准备阶段按用户预先构造，测量只包含切换请求上下文和一次代理调用
+ *
+ * <pre>
+ * cd backend && mvn install -DskipTests -Dspring-boot.repackage.skip=true
+ * cd load-test && mvn compile exec:exec -Dexec.executable=java \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main RateLimitAspectBenchmark -t 4 -p keys=1,1024"
+ * </pre>
+ *
+ * @author PregnancyApp Team
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RateLimitAspectBenchmark {
+
+    private static final String TOKEN_NAME = "satoken";
+
+    private static final long FIRST_USER_ID = 10_001L;
+
+    @Param({"1", "1024"})
+    public int keys;
+
+    private MiniRedisServer redis;
+    private DatabaseStandIn database;
+    private ConfigurableApplicationContext context;
+    private BenchTarget target;
+    private String[] tokens;
+
+    @Setup(Level.Trial)
+    public void start() throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(new String[0]);
+        redis = MiniRedisServer.start();
+        database = DatabaseStandIn.start(options);
+        context = startBackend(options, redis, database);
+        target = context.getBean(BenchTarget.class);
+        String tokenPrefix = context.getEnvironment().getProperty("sa-token.token-prefix", "Bearer");
+        tokens = new String[keys];
+        for (int i = 0; i < keys; i++) {
+            tokens[i] = login(FIRST_USER_ID + i, tokenPrefix);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws IOException {
+        context.close();
+        database.close();
+        redis.close();
+    }
+
+    /**
+     * 每个线程一组预先构造的请求，起始位置按线程错开，避免所有线程同时使用同一个键
+     */
+    @State(Scope.Thread)
+    public static class Caller {
+
+        private static int threadSeq;
+
+        private ServletRequestAttributes[] resolved;
+        private ServletRequestAttributes[] lookup;
+        private int next;
+
+        @Setup(Level.Trial)
+        public void prepare(RateLimitAspectBenchmark bench) {
+            int keys = bench.keys;
+            resolved = new ServletRequestAttributes[keys];
+            lookup = new ServletRequestAttributes[keys];
+            for (int i = 0; i < keys; i++) {
+                resolved[i] = request(bench.tokens[i], String.valueOf(FIRST_USER_ID + i));
+                lookup[i] = request(bench.tokens[i], null);
+            }
+            synchronized (Caller.class) {
+                next = threadSeq++ * 7919 % keys;
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void clear() {
+            RequestContextHolder.resetRequestAttributes();
+        }
+
+        ServletRequestAttributes nextResolved() {
+            return resolved[advance()];
+        }
+
+        ServletRequestAttributes nextLookup() {
+            ServletRequestAttributes attributes = lookup[advance()];
+            // 切面会把查到的登录ID缓存到请求属性，每次调用前清掉，保证每次都走Sa-Token查询
+            attributes.getRequest().removeAttribute(RequestLoginId.ATTRIBUTE);
+            return attributes;
+        }
+
+        private int advance() {
+            int index = next;
+            next = index + 1 == resolved.length ? 0 : index + 1;
+            return index;
+        }
+
+        private static ServletRequestAttributes request(String token, String loginId) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/bench");
+            request.addHeader(TOKEN_NAME, token);
+            if (loginId != null) {
+                request.setAttribute(RequestLoginId.ATTRIBUTE, loginId);
+            }
+            return new ServletRequestAttributes(request, new MockHttpServletResponse());
+        }
+    }
+
+    @Benchmark
+    public void baseline(Caller caller) {
+        RequestContextHolder.setRequestAttributes(caller.nextResolved());
+        target.unlimited();
+    }
+
+    @Benchmark
+    public void resolved(Caller caller) {
+        RequestContextHolder.setRequestAttributes(caller.nextResolved());
+        target.limited();
+    }
+
+    @Benchmark
+    public void lookup(Caller caller) {
+        RequestContextHolder.setRequestAttributes(caller.nextLookup());
+        target.limited();
+    }
+
+    /**
+     * 在模拟请求中登录，返回带前缀的Token请求头值
+     */
+    private static String login(long userId, String tokenPrefix) {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest(), new MockHttpServletResponse()));
+        try {
+            StpUtil.login(userId);
+            return tokenPrefix + " " + StpUtil.getTokenValue();
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    private static ConfigurableApplicationContext startBackend(LoadTestOptions options, MiniRedisServer redis,
+                                                               DatabaseStandIn database) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("spring.profiles.active", "loadtest");
+        properties.put("loadtest.redis.port", redis.getPort());
+        properties.put("app.sms.enabled", false);
+        // 请求日志会淹没测量结果
+        properties.put("logging.level.root", "WARN");
+        properties.put("sa-token.is-log", false);
+        properties.putAll(database.getProperties());
+        properties.putAll(options.getAppProperties());
+        String[] args = properties.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(PregnancyFamilyApplication.class)
+                .initializers(context -> ((GenericApplicationContext) context).registerBean(BenchTarget.class))
+                .run(args);
+    }
+
+    /**
+     * 基准目标：额度足够大，始终放行，只测切面本身；未标注的方法经同一代理调用，作为基线
+     */
+    public static class BenchTarget {
+
+        @RateLimit(name = "bench", permits = 1_000_000_000L, period = 1, unit = TimeUnit.SECONDS)
+        public void limited() {
+        }
+
+        public void unlimited() {
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.pregnancyapp.loadtest.driver;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.NullNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 压测HTTP客户端
+ * 使用HTTP/1.1长连接，按Sa-Token约定在请求头携带令牌；不伪造 X-Forwarded-For，按IP的限流额度通过被测应用配置放宽
+ *
+ * @author PregnancyApp Team
+ */
+public class ApiClient {
+
+    private static final int SUCCESS_CODE = 200;
+
+    private final HttpClient httpClient;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final String baseUrl;
+
+    private final String tokenHeader;
+
+    private final Duration timeout;
+
+    public ApiClient(String baseUrl, String tokenHeader, Duration timeout) {
+        this.baseUrl = baseUrl;
+        this.tokenHeader = tokenHeader;
+        this.timeout = timeout;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    /**
+     * 接口响应，error 为null表示成功（HTTP 2xx/304 且业务码为成功）
+     */
+    public record ApiResponse(int status, JsonNode data, String etag, String error) {
+
+        public boolean isSuccess() {
+            return error == null;
+        }
+    }
+
+    public ApiResponse post(String path, Object body, String token) {
+        try {
+            HttpRequest.BodyPublisher publisher = body == null
+                    ? HttpRequest.BodyPublishers.noBody()
+                    : HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+            return send(request(path, token, null).POST(publisher).build());
+        } catch (IOException e) {
+            return new ApiResponse(0, NullNode.getInstance(), null, "IO:" + e.getClass().getSimpleName());
+        }
+    }
+
+    public ApiResponse get(String path, String token, String ifNoneMatch) {
+        return send(request(path, token, ifNoneMatch).GET().build());
+    }
+
+    private HttpRequest.Builder request(String path, String token, String ifNoneMatch) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(timeout)
+                .header("Content-Type", "application/json");
+        if (token != null) {
+            builder.header(tokenHeader, "Bearer " + token);
+        }
+        if (ifNoneMatch != null) {
+            builder.header("If-None-Match", ifNoneMatch);
+        }
+        return builder;
+    }
+
+    private ApiResponse send(HttpRequest request) {
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            String etag = response.headers().firstValue("ETag").orElse(null);
+            if (response.statusCode() == 304) {
+                return new ApiResponse(304, NullNode.getInstance(), etag, null);
+            }
+            if (response.statusCode() / 100 != 2) {
+                return new ApiResponse(response.statusCode(), NullNode.getInstance(), etag, "HTTP:" + response.statusCode());
+            }
+            JsonNode body = objectMapper.readTree(response.body());
+            int code = body.path("code").asInt(-1);
+            String error = code == SUCCESS_CODE ? null : "CODE:" + code;
+            return new ApiResponse(response.statusCode(), body.path("data"), etag, error);
+        } catch (IOException e) {
+            return new ApiResponse(0, NullNode.getInstance(), null, "IO:" + e.getClass().getSimpleName());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new ApiResponse(0, NullNode.getInstance(), null, "INTERRUPTED");
+        }
+    }
+
+    /**
+     * 构造JSON请求体
+     */
+    public static Map<String, Object> body(Object... keyValues) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < keyValues.length; i += 2) {
+            body.put((String) keyValues[i], keyValues[i + 1]);
+        }
+        return body;
+    }
+}
@@ -0,0 +1,85 @@
+package com.pregnancyapp.loadtest.driver;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 并发虚拟用户：每个用户一个线程，闭环循环执行旅程直到停止
+ *
+ * @author PregnancyApp Team
+ */
+@Slf4j
+public class JourneyRunner {
+
+    private final UserJourney journey;
+
+    private final int users;
+
+    private final List<Thread> threads = new ArrayList<>();
+
+    private final LongAdder completed = new LongAdder();
+
+    private final LongAdder failed = new LongAdder();
+
+    private volatile boolean running;
+
+    public JourneyRunner(UserJourney journey, int users) {
+        this.journey = journey;
+        this.users = users;
+    }
+
+    public void start() {
+        running = true;
+        for (int i = 0; i < users; i++) {
+            Thread thread = new Thread(this::loop, "virtual-user-" + i);
+            thread.setDaemon(true);
+            threads.add(thread);
+            thread.start();
+        }
+        log.info("已启动 {} 个虚拟用户", users);
+    }
+
+    /**
+     * 停止并等待进行中的旅程结束
+     */
+    public void stop() throws InterruptedException {
+        running = false;
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    /**
+     * 清零计数（预热结束时调用）
+     */
+    public void resetCounters() {
+        completed.reset();
+        failed.reset();
+    }
+
+    public long getCompleted() {
+        return completed.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    private void loop() {
+        while (running && !Thread.currentThread().isInterrupted()) {
+            try {
+                if (journey.run()) {
+                    completed.increment();
+                } else {
+                    failed.increment();
+                }
+            } catch (RuntimeException e) {
+                failed.increment();
+                log.warn("旅程执行异常: {}", e.getMessage());
+            }
+        }
+    }
+}
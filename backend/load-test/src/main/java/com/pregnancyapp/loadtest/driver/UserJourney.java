@@ -0,0 +1,141 @@
+package com.pregnancyapp.loadtest.driver;
+
+import com.pregnancyapp.loadtest.report.LatencyRecorder;
+import com.pregnancyapp.loadtest.standin.StubSmsService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 用户旅程脚本：发送注册验证码 → 注册 → 发送登录验证码 → 登录 → 获取信息（可重复，带ETag）→ 刷新令牌 → 退出
+ * 任一步失败即结束本次旅程；每次旅程使用新手机号，请求均来自本机地址
+ *
+ * @author PregnancyApp Team
+ */
+public class UserJourney {
+
+    public static final String SEND_CODE = "POST /auth/send-code";
+    public static final String REGISTER = "POST /auth/register";
+    public static final String LOGIN = "POST /auth/login";
+    public static final String INFO = "GET /auth/info";
+    public static final String REFRESH = "POST /auth/refresh";
+    public static final String LOGOUT = "POST /auth/logout";
+    public static final String JOURNEY = "旅程合计";
+
+    public static final List<String> ENDPOINTS = List.of(SEND_CODE, REGISTER, LOGIN, INFO, REFRESH, LOGOUT, JOURNEY);
+
+    private static final String[] ROLE_TYPES = {"pregnant", "partner", "grandparent", "family"};
+
+    /**
+     * 手机号序列：139 + 8位序号
+     */
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private final ApiClient client;
+
+    private final StubSmsService smsService;
+
+    private final LatencyRecorder recorder;
+
+    private final int infoRepeat;
+
+    private final long thinkTimeMillis;
+
+    public UserJourney(ApiClient client, StubSmsService smsService, LatencyRecorder recorder,
+                       int infoRepeat, long thinkTimeMillis) {
+        this.client = client;
+        this.smsService = smsService;
+        this.recorder = recorder;
+        this.infoRepeat = infoRepeat;
+        this.thinkTimeMillis = thinkTimeMillis;
+    }
+
+    /**
+     * 执行一次完整旅程，返回是否全部成功
+     */
+    public boolean run() {
+        long seq = SEQUENCE.getAndIncrement();
+        String phone = String.format("139%08d", seq % 100_000_000L);
+        long start = System.nanoTime();
+        boolean success = steps(phone, seq);
+        recorder.record(JOURNEY, elapsedMicros(start), success ? null : "FAILED");
+        return success;
+    }
+
+    private boolean steps(String phone, long seq) {
+        String registerCode = sendCode(phone, "register");
+        if (registerCode == null) {
+            return false;
+        }
+        ApiClient.ApiResponse register = call(REGISTER, () -> client.post("/auth/register", ApiClient.body(
+                "phone", phone,
+                "verifyCode", registerCode,
+                "nickname", "压测用户" + seq,
+                "roleType", ROLE_TYPES[(int) (seq % ROLE_TYPES.length)],
+                "gender", 2), null));
+        if (!register.isSuccess()) {
+            return false;
+        }
+
+        String loginCode = sendCode(phone, "login");
+        if (loginCode == null) {
+            return false;
+        }
+        ApiClient.ApiResponse login = call(LOGIN, () -> client.post("/auth/login", ApiClient.body(
+                "phone", phone,
+                "verifyCode", loginCode,
+                "type", "login"), null));
+        String token = login.data().path("accessToken").asText(null);
+        if (!login.isSuccess() || token == null) {
+            return false;
+        }
+
+        String etag = null;
+        for (int i = 0; i < infoRepeat; i++) {
+            String ifNoneMatch = etag;
+            ApiClient.ApiResponse info = call(INFO, () -> client.get("/auth/info", token, ifNoneMatch));
+            if (!info.isSuccess()) {
+                return false;
+            }
+            etag = info.etag();
+        }
+
+        ApiClient.ApiResponse refresh = call(REFRESH, () -> client.post("/auth/refresh", null, token));
+        if (!refresh.isSuccess()) {
+            return false;
+        }
+        String refreshed = refresh.data().path("accessToken").asText(token);
+        return call(LOGOUT, () -> client.post("/auth/logout", null, refreshed)).isSuccess();
+    }
+
+    private String sendCode(String phone, String type) {
+        ApiClient.ApiResponse response = call(SEND_CODE, () -> client.post("/auth/send-code",
+                ApiClient.body("phone", phone, "type", type), null));
+        return response.isSuccess() ? smsService.takeCode(phone) : null;
+    }
+
+    private ApiClient.ApiResponse call(String endpoint, Supplier<ApiClient.ApiResponse> request) {
+        think();
+        long start = System.nanoTime();
+        ApiClient.ApiResponse response = request.get();
+        recorder.record(endpoint, elapsedMicros(start), response.error());
+        return response;
+    }
+
+    private void think() {
+        if (thinkTimeMillis <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.MILLISECONDS.sleep(thinkTimeMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static long elapsedMicros(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+    }
+}
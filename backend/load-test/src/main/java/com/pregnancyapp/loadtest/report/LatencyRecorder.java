@@ -0,0 +1,109 @@
+package com.pregnancyapp.loadtest.report;
+
+import lombok.Getter;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 按接口记录延迟分布（微秒）与错误
+ * 预热阶段不记录，开始采样后才写入直方图
+ *
+ * @author PregnancyApp Team
+ */
+public class LatencyRecorder {
+
+    private final Map<String, EndpointStats> endpoints = new LinkedHashMap<>();
+
+    private volatile boolean recording;
+
+    private volatile long startNanos;
+
+    private volatile long stopNanos;
+
+    public LatencyRecorder(List<String> names) {
+        for (String name : names) {
+            endpoints.put(name, new EndpointStats(name));
+        }
+    }
+
+    public void start() {
+        startNanos = System.nanoTime();
+        recording = true;
+    }
+
+    public void stop() {
+        recording = false;
+        stopNanos = System.nanoTime();
+    }
+
+    /**
+     * 记录一次请求，errorCode 为null表示成功
+     */
+    public void record(String endpoint, long micros, String errorCode) {
+        if (!recording) {
+            return;
+        }
+        EndpointStats stats = endpoints.get(endpoint);
+        if (stats == null) {
+            throw new IllegalArgumentException("未注册的接口: " + endpoint);
+        }
+        stats.histogram.recordValue(Math.max(micros, 0));
+        if (errorCode != null) {
+            stats.errors.increment();
+            stats.errorCodes.computeIfAbsent(errorCode, key -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * 采样时长（秒）
+     */
+    public double getElapsedSeconds() {
+        long end = recording ? System.nanoTime() : stopNanos;
+        return Math.max(end - startNanos, 1) / 1e9;
+    }
+
+    public Collection<EndpointStats> getEndpoints() {
+        return Collections.unmodifiableCollection(endpoints.values());
+    }
+
+    /**
+     * 单个接口的统计
+     */
+    public static final class EndpointStats {
+
+        @Getter
+        private final String name;
+
+        private final ConcurrentHistogram histogram = new ConcurrentHistogram(3);
+
+        private final LongAdder errors = new LongAdder();
+
+        private final Map<String, LongAdder> errorCodes = new ConcurrentHashMap<>();
+
+        private EndpointStats(String name) {
+            this.name = name;
+        }
+
+        public Histogram snapshot() {
+            return histogram.copy();
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        public Map<String, Long> getErrorCodes() {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            errorCodes.forEach((code, count) -> counts.put(code, count.sum()));
+            return counts;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.pregnancyapp.loadtest.report;
+
+import com.pregnancyapp.loadtest.LoadTestOptions;
+import lombok.Getter;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 压测报告：各接口吞吐、延迟分位（p50/p99/p999）、错误分布及连接池饱和度
+ *
+ * @author PregnancyApp Team
+ */
+public class LoadTestReport {
+
+    private final StringBuilder text = new StringBuilder();
+
+    @Getter
+    private final long completedJourneys;
+
+    @Getter
+    private final long failedJourneys;
+
+    public LoadTestReport(LoadTestOptions options, LatencyRecorder recorder, Collection<PoolSampler.PoolStats> pools,
+                          long completedJourneys, long failedJourneys, long smsDelivered, int redisConnections) {
+        this.completedJourneys = completedJourneys;
+        this.failedJourneys = failedJourneys;
+        double seconds = recorder.getElapsedSeconds();
+        line("== 压测报告 %s ==", LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
+        line("数据库: %s  并发用户: %d  预热: %ds  采样: %.1fs  info重复: %d  思考时间: %dms  短信延迟: %dms",
+                options.getDb(), options.getUsers(), options.getWarmup().toSeconds(), seconds,
+                options.getInfoRepeat(), options.getThinkTimeMillis(), options.getSmsLatencyMillis());
+        line("完成旅程: %d (%.1f/s)  失败旅程: %d  短信下发: %d  Redis连接: %d",
+                completedJourneys, completedJourneys / seconds, failedJourneys, smsDelivered, redisConnections);
+        line("");
+
+        line("%-24s %10s %10s %8s %10s %10s %10s %10s", "接口", "请求数", "吞吐/s", "错误", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)");
+        for (LatencyRecorder.EndpointStats stats : recorder.getEndpoints()) {
+            Histogram histogram = stats.snapshot();
+            long count = histogram.getTotalCount();
+            line("%-24s %10d %10.1f %8d %10.2f %10.2f %10.2f %10.2f", stats.getName(), count, count / seconds, stats.getErrors(),
+                    millis(histogram, 50), millis(histogram, 99), millis(histogram, 99.9), histogram.getMaxValue() / 1000.0);
+        }
+        line("");
+
+        boolean hasErrors = false;
+        for (LatencyRecorder.EndpointStats stats : recorder.getEndpoints()) {
+            for (Map.Entry<String, Long> error : stats.getErrorCodes().entrySet()) {
+                if (!hasErrors) {
+                    line("错误分布:");
+                    hasErrors = true;
+                }
+                line("  %-24s %-16s %d", stats.getName(), error.getKey(), error.getValue());
+            }
+        }
+        if (hasErrors) {
+            line("");
+        }
+
+        line("%-32s %8s %10s %10s %10s %10s %12s", "连接池", "上限", "峰值活跃", "峰值连接", "平均利用率", "饱和占比", "峰值等待线程");
+        if (pools.isEmpty()) {
+            line("（未采集到连接池MBean，检查 spring.datasource.hikari.register-mbeans）");
+        }
+        for (PoolSampler.PoolStats pool : pools) {
+            line("%-32s %8d %10d %10d %9.1f%% %9.1f%% %12d", pool.getName(), pool.getMaxSize(), pool.getPeakActive(),
+                    pool.getPeakTotal(), pool.getMeanUtilization() * 100, pool.getSaturatedRatio() * 100, pool.getPeakWaiters());
+            if (pool.getMaxBorrowWaitMillis() >= 0) {
+                line("  最长借用等待: %dms", pool.getMaxBorrowWaitMillis());
+            }
+        }
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getTotalCount() == 0 ? 0 : histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private void line(String format, Object... args) {
+        text.append(String.format(format, args)).append(System.lineSeparator());
+    }
+
+    public void writeTo(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Files.writeString(file, text, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String toString() {
+        return text.toString();
+    }
+}
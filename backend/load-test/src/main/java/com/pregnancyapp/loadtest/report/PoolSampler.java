@@ -0,0 +1,158 @@
+package com.pregnancyapp.loadtest.report;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 连接池饱和度采样
+ * 通过JMX读取 Hikari（需 register-mbeans）的实时指标；后端默认不启用Lettuce连接池（共享单连接），
+ * 若类路径上有 commons-pool2 使 spring.data.redis.lettuce.pool 生效，其MBean一并采集
+ *
+ * @author PregnancyApp Team
+ */
+@Slf4j
+public class PoolSampler implements AutoCloseable {
+
+    private static final String HIKARI_DOMAIN = "com.zaxxer.hikari:*";
+
+    private static final String COMMONS_POOL = "org.apache.commons.pool2:type=GenericObjectPool,*";
+
+    private final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+    private final Map<String, PoolStats> pools = new ConcurrentSkipListMap<>();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "pool-sampler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public void start(long intervalMillis) {
+        scheduler.scheduleAtFixedRate(this::sample, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public Collection<PoolStats> getPools() {
+        return new ArrayList<>(pools.values());
+    }
+
+    private void sample() {
+        try {
+            sampleHikari();
+            sampleCommonsPool();
+        } catch (Exception e) {
+            log.warn("连接池采样失败: {}", e.getMessage());
+        }
+    }
+
+    private void sampleHikari() throws Exception {
+        for (ObjectName name : server.queryNames(new ObjectName(HIKARI_DOMAIN), null)) {
+            String type = name.getKeyProperty("type");
+            if (type == null || !type.startsWith("Pool (")) {
+                continue;
+            }
+            String poolName = type.substring("Pool (".length(), type.length() - 1);
+            ObjectName config = new ObjectName("com.zaxxer.hikari:type=PoolConfig (" + poolName + ")");
+            int max = server.isRegistered(config) ? (Integer) server.getAttribute(config, "MaximumPoolSize") : 0;
+            pools.computeIfAbsent("Hikari " + poolName, PoolStats::new).add(
+                    (Integer) server.getAttribute(name, "ActiveConnections"),
+                    (Integer) server.getAttribute(name, "TotalConnections"),
+                    max,
+                    (Integer) server.getAttribute(name, "ThreadsAwaitingConnection"),
+                    -1);
+        }
+    }
+
+    private void sampleCommonsPool() throws Exception {
+        for (ObjectName name : server.queryNames(new ObjectName(COMMONS_POOL), null)) {
+            pools.computeIfAbsent("Lettuce " + name.getKeyProperty("name"), PoolStats::new).add(
+                    (Integer) server.getAttribute(name, "NumActive"),
+                    (Integer) server.getAttribute(name, "NumActive") + (Integer) server.getAttribute(name, "NumIdle"),
+                    (Integer) server.getAttribute(name, "MaxTotal"),
+                    (Integer) server.getAttribute(name, "NumWaiters"),
+                    (Long) server.getAttribute(name, "MaxBorrowWaitTimeMillis"));
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * 单个连接池的累计采样
+     */
+    public static final class PoolStats {
+
+        @Getter
+        private final String name;
+
+        private final List<int[]> samples = new ArrayList<>();
+
+        @Getter
+        private volatile long maxBorrowWaitMillis = -1;
+
+        private PoolStats(String name) {
+            this.name = name;
+        }
+
+        private synchronized void add(int active, int total, int max, int waiters, long maxBorrowWait) {
+            samples.add(new int[]{active, total, max, waiters});
+            maxBorrowWaitMillis = Math.max(maxBorrowWaitMillis, maxBorrowWait);
+        }
+
+        public synchronized int getSampleCount() {
+            return samples.size();
+        }
+
+        public synchronized int getMaxSize() {
+            return samples.stream().mapToInt(sample -> sample[2]).max().orElse(0);
+        }
+
+        public synchronized int getPeakActive() {
+            return samples.stream().mapToInt(sample -> sample[0]).max().orElse(0);
+        }
+
+        public synchronized int getPeakTotal() {
+            return samples.stream().mapToInt(sample -> sample[1]).max().orElse(0);
+        }
+
+        public synchronized int getPeakWaiters() {
+            return samples.stream().mapToInt(sample -> sample[3]).max().orElse(0);
+        }
+
+        /**
+         * 平均利用率：活跃连接/上限
+         */
+        public synchronized double getMeanUtilization() {
+            return samples.stream()
+                    .filter(sample -> sample[2] > 0)
+                    .mapToDouble(sample -> (double) sample[0] / sample[2])
+                    .average().orElse(0);
+        }
+
+        /**
+         * 饱和占比：活跃连接达到上限或有线程排队的采样比例
+         */
+        public synchronized double getSaturatedRatio() {
+            if (samples.isEmpty()) {
+                return 0;
+            }
+            long saturated = samples.stream()
+                    .filter(sample -> (sample[2] > 0 && sample[0] >= sample[2]) || sample[3] > 0)
+                    .count();
+            return (double) saturated / samples.size();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.pregnancyapp.loadtest.standin;
+
+import com.pregnancyapp.loadtest.LoadTestOptions;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.utility.DockerImageName;
+import org.testcontainers.utility.MountableFile;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 数据库替身
+ * sqlite：临时目录下的WAL文件库，沿用 schema-sqlite.sql 建表；事务以 IMMEDIATE 开启，
+ * 写者在 busy_timeout 内排队，避免事务内先读后写升级锁时直接返回 SQLITE_BUSY；
+ * mysql：Testcontainers 启动的MySQL，执行仓库中的建表脚本，与生产方言一致
+ *
+ * @author PregnancyApp Team
+ */
+@Slf4j
+public class DatabaseStandIn implements Closeable {
+
+    private static final String DATABASE_NAME = "pregnancy_family_app";
+
+    private static final String MYSQL_PARAMS = "?useUnicode=true&characterEncoding=utf8&zeroDateTimeBehavior=convertToNull"
+            + "&useSSL=false&allowPublicKeyRetrieval=true&serverTimezone=GMT%2B8";
+
+    /**
+     * 注入被测应用的数据源配置
+     */
+    @Getter
+    private final Map<String, Object> properties = new LinkedHashMap<>();
+
+    private MySQLContainer<?> container;
+
+    private Path sqliteDir;
+
+    private DatabaseStandIn() {
+    }
+
+    public static DatabaseStandIn start(LoadTestOptions options) throws IOException {
+        DatabaseStandIn standIn = new DatabaseStandIn();
+        if ("mysql".equals(options.getDb())) {
+            standIn.startMysql(options);
+        } else {
+            standIn.startSqlite();
+        }
+        return standIn;
+    }
+
+    private void startMysql(LoadTestOptions options) {
+        Path schema = options.getMysqlSchema().toAbsolutePath().normalize();
+        if (!Files.isRegularFile(schema)) {
+            throw new IllegalArgumentException("找不到MySQL建表脚本: " + schema + "，可通过 --loadtest.mysql-schema 指定");
+        }
+        container = new MySQLContainer<>(DockerImageName.parse(options.getMysqlImage()).asCompatibleSubstituteFor("mysql"))
+                .withDatabaseName(DATABASE_NAME)
+                .withCopyFileToContainer(MountableFile.forHostPath(schema), "/docker-entrypoint-initdb.d/schema.sql")
+                .withCommand("--character-set-server=utf8mb4", "--collation-server=utf8mb4_unicode_ci");
+        container.start();
+        log.info("MySQL替身已启动: {}", container.getJdbcUrl());
+        properties.put("spring.datasource.driver-class-name", "com.mysql.cj.jdbc.Driver");
+        properties.put("spring.datasource.url", container.getJdbcUrl() + MYSQL_PARAMS);
+        properties.put("spring.datasource.username", container.getUsername());
+        properties.put("spring.datasource.password", container.getPassword());
+        properties.put("spring.sql.init.mode", "never");
+    }
+
+    private void startSqlite() throws IOException {
+        sqliteDir = Files.createTempDirectory("pregnancy-load-test");
+        Path dbFile = sqliteDir.resolve(DATABASE_NAME + ".db");
+        log.info("SQLite替身文件: {}", dbFile);
+        properties.put("spring.datasource.driver-class-name", "org.sqlite.JDBC");
+        properties.put("spring.datasource.url", "jdbc:sqlite:" + dbFile
+                + "?journal_mode=WAL&synchronous=NORMAL&busy_timeout=5000&foreign_keys=true&transaction_mode=IMMEDIATE");
+        properties.put("spring.datasource.username", "");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.sql.init.mode", "always");
+        properties.put("spring.sql.init.schema-locations", "classpath:db/schema-sqlite.sql");
+        properties.put("spring.sql.init.separator", "^;");
+        properties.put("spring.sql.init.encoding", "UTF-8");
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (container != null) {
+            container.stop();
+        }
+        if (sqliteDir != null) {
+            try (var files = Files.list(sqliteDir)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.deleteIfExists(file);
+                }
+            }
+            Files.deleteIfExists(sqliteDir);
+        }
+    }
+}
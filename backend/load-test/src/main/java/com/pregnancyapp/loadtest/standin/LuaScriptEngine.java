@@ -0,0 +1,181 @@
+package com.pregnancyapp.loadtest.standin;
+
+import cn.hutool.crypto.SecureUtil;
+import org.luaj.vm2.Globals;
+import org.luaj.vm2.LuaError;
+import org.luaj.vm2.LuaString;
+import org.luaj.vm2.LuaTable;
+import org.luaj.vm2.LuaValue;
+import org.luaj.vm2.Varargs;
+import org.luaj.vm2.lib.VarArgFunction;
+import org.luaj.vm2.lib.jse.JsePlatform;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 基于luaj的脚本执行，提供 KEYS/ARGV 与 redis.call/redis.pcall
+ * 回复与Lua值的转换规则同Redis：整数→number，nil→false，状态→{ok=...}，错误→{err=...}
+ *
+ * @author PregnancyApp Team
+ */
+class LuaScriptEngine {
+
+    private final MiniRedisKeyspace keyspace;
+
+    private final Globals globals = JsePlatform.standardGlobals();
+
+    private final Map<String, LuaValue> scripts = new HashMap<>();
+
+    /**
+     * 当前执行脚本的会话，仅在keyspace锁内访问
+     */
+    private MiniRedisKeyspace.Session session;
+
+    LuaScriptEngine(MiniRedisKeyspace keyspace) {
+        this.keyspace = keyspace;
+        LuaTable redis = new LuaTable();
+        redis.set("call", new RedisCallFunction(true));
+        redis.set("pcall", new RedisCallFunction(false));
+        globals.set("redis", redis);
+    }
+
+    /**
+     * 编译并缓存脚本，返回SHA1
+     */
+    String load(byte[] script) {
+        String sha = SecureUtil.sha1().digestHex(script);
+        scripts.computeIfAbsent(sha, key -> globals.load(new String(script, StandardCharsets.UTF_8), "@user_script"));
+        return sha;
+    }
+
+    boolean exists(String sha) {
+        return scripts.containsKey(sha);
+    }
+
+    void flush() {
+        scripts.clear();
+    }
+
+    /**
+     * 执行脚本，args 为 numkeys key... arg...
+     */
+    Object eval(MiniRedisKeyspace.Session session, String sha, List<byte[]> args) {
+        LuaValue script = scripts.get(sha);
+        if (script == null) {
+            return new MiniRedisKeyspace.RedisError("NOSCRIPT No matching script. Please use EVAL.");
+        }
+        int numKeys = Integer.parseInt(MiniRedisKeyspace.str(args.get(0)));
+        if (numKeys < 0 || numKeys > args.size() - 1) {
+            return new MiniRedisKeyspace.RedisError("ERR Number of keys can't be greater than number of args");
+        }
+        globals.set("KEYS", toTable(args.subList(1, 1 + numKeys)));
+        globals.set("ARGV", toTable(args.subList(1 + numKeys, args.size())));
+        this.session = session;
+        try {
+            return toReply(script.call());
+        } catch (LuaError e) {
+            return new MiniRedisKeyspace.RedisError("ERR Error running script: " + e.getMessage());
+        } finally {
+            this.session = null;
+        }
+    }
+
+    private static LuaTable toTable(List<byte[]> values) {
+        LuaTable table = new LuaTable();
+        for (int i = 0; i < values.size(); i++) {
+            table.set(i + 1, LuaString.valueOf(values.get(i)));
+        }
+        return table;
+    }
+
+    private static Object toReply(LuaValue value) {
+        switch (value.type()) {
+            case LuaValue.TNUMBER:
+                return (long) value.todouble();
+            case LuaValue.TSTRING:
+                return toBytes(value);
+            case LuaValue.TBOOLEAN:
+                return value.toboolean() ? 1L : null;
+            case LuaValue.TTABLE: {
+                LuaValue error = value.get("err");
+                if (error.isstring()) {
+                    return new MiniRedisKeyspace.RedisError(error.tojstring());
+                }
+                LuaValue status = value.get("ok");
+                if (status.isstring()) {
+                    return new MiniRedisKeyspace.Status(status.tojstring());
+                }
+                List<Object> items = new ArrayList<>();
+                for (int i = 1; !value.get(i).isnil(); i++) {
+                    items.add(toReply(value.get(i)));
+                }
+                return items;
+            }
+            default:
+                return null;
+        }
+    }
+
+    private static LuaValue toLua(Object reply) {
+        if (reply instanceof Long number) {
+            return LuaValue.valueOf(number.doubleValue());
+        }
+        if (reply instanceof byte[] bulk) {
+            return LuaString.valueOf(bulk);
+        }
+        if (reply instanceof MiniRedisKeyspace.Status status) {
+            LuaTable table = new LuaTable();
+            table.set("ok", LuaValue.valueOf(status.text()));
+            return table;
+        }
+        if (reply instanceof List<?> items) {
+            LuaTable table = new LuaTable();
+            for (int i = 0; i < items.size(); i++) {
+                table.set(i + 1, toLua(items.get(i)));
+            }
+            return table;
+        }
+        return LuaValue.FALSE;
+    }
+
+    private static byte[] toBytes(LuaValue value) {
+        LuaString string = value.checkstring();
+        byte[] bytes = new byte[string.length()];
+        string.copyInto(0, bytes, 0, bytes.length);
+        return bytes;
+    }
+
+    /**
+     * redis.call 出错时中断脚本，redis.pcall 返回错误表
+     */
+    private class RedisCallFunction extends VarArgFunction {
+
+        private final boolean raise;
+
+        RedisCallFunction(boolean raise) {
+            this.raise = raise;
+        }
+
+        @Override
+        public Varargs invoke(Varargs args) {
+            List<byte[]> command = new ArrayList<>(args.narg());
+            for (int i = 1; i <= args.narg(); i++) {
+                command.add(toBytes(args.arg(i)));
+            }
+            Object reply = keyspace.execute(session, command);
+            if (reply instanceof MiniRedisKeyspace.RedisError error) {
+                if (raise) {
+                    throw new LuaError(error.message());
+                }
+                LuaTable table = new LuaTable();
+                table.set("err", LuaValue.valueOf(error.message()));
+                return table;
+            }
+            return toLua(reply);
+        }
+    }
+}
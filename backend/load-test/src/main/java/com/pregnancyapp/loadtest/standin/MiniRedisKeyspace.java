@@ -0,0 +1,755 @@
+package com.pregnancyapp.loadtest.standin;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * 进程内Redis替身的数据与命令实现
+ * 覆盖应用实际用到的命令：String/Bitmap（Sa-Token、验证码、布隆过滤器）、Hash/ZSet（限流、失败计数、心情趋势窗口）及 EVAL/EVALSHA；
+ * 所有命令在同一把锁内串行执行，与Redis单线程语义一致
+ *
+ * @author PregnancyApp Team
+ */
+public class MiniRedisKeyspace {
+
+    private static final int DATABASES = 16;
+
+    private static final String WRONG_TYPE = "WRONGTYPE Operation against a key holding the wrong kind of value";
+
+    private static final String NOT_INTEGER = "ERR value is not an integer or out of range";
+
+    private static final String SYNTAX_ERROR = "ERR syntax error";
+
+    private final List<Map<String, Entry>> databases = new ArrayList<>(DATABASES);
+
+    private final LuaScriptEngine scriptEngine = new LuaScriptEngine(this);
+
+    public MiniRedisKeyspace() {
+        for (int i = 0; i < DATABASES; i++) {
+            databases.add(new HashMap<>());
+        }
+    }
+
+    /**
+     * 单个连接的会话状态
+     */
+    public static final class Session {
+        private int db;
+    }
+
+    /**
+     * 状态回复（+OK）
+     */
+    public record Status(String text) {
+        static final Status OK = new Status("OK");
+    }
+
+    /**
+     * 错误回复（-ERR ...）
+     */
+    public record RedisError(String message) {
+    }
+
+    private static final class Entry {
+        private Object value;
+        private long expireAt;
+
+        private Entry(Object value) {
+            this.value = value;
+        }
+    }
+
+    private static final class HashValue extends LinkedHashMap<String, byte[]> {
+    }
+
+    private static final class SortedSetValue extends HashMap<String, Double> {
+    }
+
+    private static final class CommandException extends RuntimeException {
+        private CommandException(String message) {
+            super(message, null, false, false);
+        }
+    }
+
+    /**
+     * 执行一条命令，返回 Long / byte[] / null / List / Status / RedisError
+     */
+    public synchronized Object execute(Session session, List<byte[]> command) {
+        if (command.isEmpty()) {
+            return new RedisError("ERR empty command");
+        }
+        try {
+            return dispatch(session, command);
+        } catch (CommandException e) {
+            return new RedisError(e.getMessage());
+        } catch (NumberFormatException e) {
+            return new RedisError(NOT_INTEGER);
+        } catch (IndexOutOfBoundsException e) {
+            return new RedisError("ERR wrong number of arguments for '" + str(command.get(0)).toLowerCase(Locale.ROOT) + "' command");
+        }
+    }
+
+    private Object dispatch(Session session, List<byte[]> c) {
+        String name = str(c.get(0)).toUpperCase(Locale.ROOT);
+        Map<String, Entry> db = databases.get(session.db);
+        long now = System.currentTimeMillis();
+        switch (name) {
+            // 连接与服务器
+            case "PING":
+                return c.size() > 1 ? c.get(1) : new Status("PONG");
+            case "ECHO":
+                return c.get(1);
+            case "HELLO":
+                // 仅支持RESP2，Lettuce收到该错误后自动降级
+                return new RedisError("ERR unknown command 'HELLO', with args beginning with: ");
+            case "AUTH":
+            case "CLIENT":
+            case "READONLY":
+                return Status.OK;
+            case "SELECT": {
+                int index = Integer.parseInt(str(c.get(1)));
+                if (index < 0 || index >= DATABASES) {
+                    return new RedisError("ERR DB index is out of range");
+                }
+                session.db = index;
+                return Status.OK;
+            }
+            case "QUIT":
+                return Status.OK;
+            case "INFO":
+                return bytes("# Server\r\nredis_version:7.0.0\r\nredis_mode:standalone\r\n");
+            case "TIME": {
+                return List.of(bytes(String.valueOf(now / 1000)), bytes(String.valueOf(now % 1000 * 1000)));
+            }
+            case "DBSIZE":
+                purgeExpired(db, now);
+                return (long) db.size();
+            case "FLUSHDB":
+                db.clear();
+                return Status.OK;
+            case "FLUSHALL":
+                databases.forEach(Map::clear);
+                return Status.OK;
+
+            // 键空间
+            case "DEL":
+            case "UNLINK": {
+                long removed = 0;
+                for (int i = 1; i < c.size(); i++) {
+                    if (lookup(db, str(c.get(i)), now) != null) {
+                        db.remove(str(c.get(i)));
+                        removed++;
+                    }
+                }
+                return removed;
+            }
+            case "EXISTS": {
+                long count = 0;
+                for (int i = 1; i < c.size(); i++) {
+                    if (lookup(db, str(c.get(i)), now) != null) {
+                        count++;
+                    }
+                }
+                return count;
+            }
+            case "TYPE": {
+                Entry entry = lookup(db, str(c.get(1)), now);
+                return new Status(entry == null ? "none" : typeName(entry.value));
+            }
+            case "EXPIRE":
+                return expire(db, str(c.get(1)), now + Long.parseLong(str(c.get(2))) * 1000, now);
+            case "PEXPIRE":
+                return expire(db, str(c.get(1)), now + Long.parseLong(str(c.get(2))), now);
+            case "EXPIREAT":
+                return expire(db, str(c.get(1)), Long.parseLong(str(c.get(2))) * 1000, now);
+            case "PEXPIREAT":
+                return expire(db, str(c.get(1)), Long.parseLong(str(c.get(2))), now);
+            case "TTL":
+            case "PTTL": {
+                Entry entry = lookup(db, str(c.get(1)), now);
+                if (entry == null) {
+                    return -2L;
+                }
+                if (entry.expireAt == 0) {
+                    return -1L;
+                }
+                long remaining = entry.expireAt - now;
+                return "TTL".equals(name) ? (remaining + 500) / 1000 : remaining;
+            }
+            case "PERSIST": {
+                Entry entry = lookup(db, str(c.get(1)), now);
+                if (entry == null || entry.expireAt == 0) {
+                    return 0L;
+                }
+                entry.expireAt = 0;
+                return 1L;
+            }
+            case "KEYS":
+                return matchKeys(db, str(c.get(1)), now);
+            case "SCAN": {
+                // 一次返回全部匹配键，游标恒为0
+                String pattern = "*";
+                for (int i = 2; i + 1 < c.size(); i += 2) {
+                    if ("MATCH".equalsIgnoreCase(str(c.get(i)))) {
+                        pattern = str(c.get(i + 1));
+                    }
+                }
+                return List.of(bytes("0"), matchKeys(db, pattern, now));
+            }
+
+            // String
+            case "GET":
+                return getString(db, str(c.get(1)), now);
+            case "MGET": {
+                List<Object> values = new ArrayList<>();
+                for (int i = 1; i < c.size(); i++) {
+                    Entry entry = lookup(db, str(c.get(i)), now);
+                    values.add(entry != null && entry.value instanceof byte[] ? entry.value : null);
+                }
+                return values;
+            }
+            case "GETDEL": {
+                byte[] value = getString(db, str(c.get(1)), now);
+                db.remove(str(c.get(1)));
+                return value;
+            }
+            case "SET":
+                return set(db, c, now);
+            case "SETNX":
+                if (lookup(db, str(c.get(1)), now) != null) {
+                    return 0L;
+                }
+                db.put(str(c.get(1)), new Entry(c.get(2)));
+                return 1L;
+            case "SETEX":
+                return putWithExpire(db, str(c.get(1)), c.get(3), now + Long.parseLong(str(c.get(2))) * 1000);
+            case "PSETEX":
+                return putWithExpire(db, str(c.get(1)), c.get(3), now + Long.parseLong(str(c.get(2))));
+            case "STRLEN": {
+                byte[] value = getString(db, str(c.get(1)), now);
+                return value == null ? 0L : (long) value.length;
+            }
+            case "INCR":
+                return incrBy(db, str(c.get(1)), 1, now);
+            case "DECR":
+                return incrBy(db, str(c.get(1)), -1, now);
+            case "INCRBY":
+                return incrBy(db, str(c.get(1)), Long.parseLong(str(c.get(2))), now);
+            case "DECRBY":
+                return incrBy(db, str(c.get(1)), -Long.parseLong(str(c.get(2))), now);
+
+            // Bitmap
+            case "GETBIT": {
+                byte[] value = getString(db, str(c.get(1)), now);
+                long offset = Long.parseLong(str(c.get(2)));
+                return (long) bit(value, offset);
+            }
+            case "SETBIT":
+                return setBit(db, str(c.get(1)), Long.parseLong(str(c.get(2))), "1".equals(str(c.get(3))), now);
+            case "BITCOUNT": {
+                byte[] value = getString(db, str(c.get(1)), now);
+                long count = 0;
+                if (value != null) {
+                    for (byte b : value) {
+                        count += Integer.bitCount(b & 0xFF);
+                    }
+                }
+                return count;
+            }
+            case "BITOP":
+                return bitOp(db, c, now);
+
+            // Hash
+            case "HSET":
+            case "HMSET": {
+                Map<String, byte[]> hash = hash(db, str(c.get(1)), now, true);
+                long added = 0;
+                for (int i = 2; i + 1 < c.size(); i += 2) {
+                    if (hash.put(str(c.get(i)), c.get(i + 1)) == null) {
+                        added++;
+                    }
+                }
+                return "HSET".equals(name) ? (Object) added : Status.OK;
+            }
+            case "HGET": {
+                Map<String, byte[]> hash = hash(db, str(c.get(1)), now, false);
+                return hash == null ? null : hash.get(str(c.get(2)));
+            }
+            case "HMGET": {
+                Map<String, byte[]> hash = hash(db, str(c.get(1)), now, false);
+                List<Object> values = new ArrayList<>();
+                for (int i = 2; i < c.size(); i++) {
+                    values.add(hash == null ? null : hash.get(str(c.get(i))));
+                }
+                return values;
+            }
+            case "HGETALL": {
+                Map<String, byte[]> hash = hash(db, str(c.get(1)), now, false);
+                List<Object> values = new ArrayList<>();
+                if (hash != null) {
+                    hash.forEach((field, value) -> {
+                        values.add(bytes(field));
+                        values.add(value);
+                    });
+                }
+                return values;
+            }
+            case "HDEL": {
+                Map<String, byte[]> hash = hash(db, str(c.get(1)), now, false);
+                long removed = 0;
+                for (int i = 2; hash != null && i < c.size(); i++) {
+                    if (hash.remove(str(c.get(i))) != null) {
+                        removed++;
+                    }
+                }
+                removeIfEmpty(db, str(c.get(1)), hash);
+                return removed;
+            }
+            case "HEXISTS": {
+                Map<String, byte[]> hash = hash(db, str(c.get(1)), now, false);
+                return hash != null && hash.containsKey(str(c.get(2))) ? 1L : 0L;
+            }
+            case "HLEN": {
+                Map<String, byte[]> hash = hash(db, str(c.get(1)), now, false);
+                return hash == null ? 0L : (long) hash.size();
+            }
+            case "HINCRBY": {
+                Map<String, byte[]> hash = hash(db, str(c.get(1)), now, true);
+                byte[] current = hash.get(str(c.get(2)));
+                long value = (current == null ? 0 : Long.parseLong(str(current))) + Long.parseLong(str(c.get(3)));
+                hash.put(str(c.get(2)), bytes(String.valueOf(value)));
+                return value;
+            }
+
+            // Sorted Set
+            case "ZADD": {
+                Map<String, Double> zset = zset(db, str(c.get(1)), now, true);
+                int i = 2;
+                while (i < c.size() && isZaddFlag(str(c.get(i)))) {
+                    i++;
+                }
+                long added = 0;
+                for (; i + 1 < c.size(); i += 2) {
+                    if (zset.put(str(c.get(i + 1)), parseScore(str(c.get(i)))) == null) {
+                        added++;
+                    }
+                }
+                return added;
+            }
+            case "ZREM": {
+                Map<String, Double> zset = zset(db, str(c.get(1)), now, false);
+                long removed = 0;
+                for (int i = 2; zset != null && i < c.size(); i++) {
+                    if (zset.remove(str(c.get(i))) != null) {
+                        removed++;
+                    }
+                }
+                removeIfEmpty(db, str(c.get(1)), zset);
+                return removed;
+            }
+            case "ZCARD": {
+                Map<String, Double> zset = zset(db, str(c.get(1)), now, false);
+                return zset == null ? 0L : (long) zset.size();
+            }
+            case "ZSCORE": {
+                Map<String, Double> zset = zset(db, str(c.get(1)), now, false);
+                Double score = zset == null ? null : zset.get(str(c.get(2)));
+                return score == null ? null : bytes(formatScore(score));
+            }
+            case "ZCOUNT":
+            case "ZREMRANGEBYSCORE": {
+                Map<String, Double> zset = zset(db, str(c.get(1)), now, false);
+                if (zset == null) {
+                    return 0L;
+                }
+                String min = str(c.get(2));
+                String max = str(c.get(3));
+                long count = 0;
+                Iterator<Double> scores = zset.values().iterator();
+                while (scores.hasNext()) {
+                    if (inRange(scores.next(), min, max)) {
+                        count++;
+                        if ("ZREMRANGEBYSCORE".equals(name)) {
+                            scores.remove();
+                        }
+                    }
+                }
+                removeIfEmpty(db, str(c.get(1)), zset);
+                return count;
+            }
+            case "ZRANGE":
+                return zrange(db, c, now);
+            case "ZREMRANGEBYRANK": {
+                Map<String, Double> zset = zset(db, str(c.get(1)), now, false);
+                if (zset == null) {
+                    return 0L;
+                }
+                List<Map.Entry<String, Double>> ordered = ordered(zset);
+                int[] range = rankRange(ordered.size(), str(c.get(2)), str(c.get(3)));
+                long removed = 0;
+                for (int i = range[0]; i <= range[1]; i++) {
+                    zset.remove(ordered.get(i).getKey());
+                    removed++;
+                }
+                removeIfEmpty(db, str(c.get(1)), zset);
+                return removed;
+            }
+
+            // 脚本
+            case "EVAL":
+                return scriptEngine.eval(session, scriptEngine.load(c.get(1)), c.subList(2, c.size()));
+            case "EVALSHA":
+                return scriptEngine.eval(session, str(c.get(1)).toLowerCase(Locale.ROOT), c.subList(2, c.size()));
+            case "SCRIPT":
+                return script(c);
+
+            default:
+                return new RedisError("ERR unknown command '" + str(c.get(0)) + "'");
+        }
+    }
+
+    private Entry lookup(Map<String, Entry> db, String key, long now) {
+        Entry entry = db.get(key);
+        if (entry != null && entry.expireAt != 0 && entry.expireAt <= now) {
+            db.remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    private void purgeExpired(Map<String, Entry> db, long now) {
+        db.values().removeIf(entry -> entry.expireAt != 0 && entry.expireAt <= now);
+    }
+
+    private Object expire(Map<String, Entry> db, String key, long expireAt, long now) {
+        Entry entry = lookup(db, key, now);
+        if (entry == null) {
+            return 0L;
+        }
+        if (expireAt <= now) {
+            db.remove(key);
+        } else {
+            entry.expireAt = expireAt;
+        }
+        return 1L;
+    }
+
+    private List<Object> matchKeys(Map<String, Entry> db, String glob, long now) {
+        purgeExpired(db, now);
+        Pattern pattern = globToPattern(glob);
+        List<Object> keys = new ArrayList<>();
+        for (String key : db.keySet()) {
+            if (pattern.matcher(key).matches()) {
+                keys.add(bytes(key));
+            }
+        }
+        return keys;
+    }
+
+    private byte[] getString(Map<String, Entry> db, String key, long now) {
+        Entry entry = lookup(db, key, now);
+        if (entry == null) {
+            return null;
+        }
+        if (!(entry.value instanceof byte[] value)) {
+            throw new CommandException(WRONG_TYPE);
+        }
+        return value;
+    }
+
+    private Object set(Map<String, Entry> db, List<byte[]> c, long now) {
+        String key = str(c.get(1));
+        long expireAt = 0;
+        boolean nx = false;
+        boolean xx = false;
+        boolean keepTtl = false;
+        boolean get = false;
+        for (int i = 3; i < c.size(); i++) {
+            String option = str(c.get(i)).toUpperCase(Locale.ROOT);
+            switch (option) {
+                case "EX" -> expireAt = now + Long.parseLong(str(c.get(++i))) * 1000;
+                case "PX" -> expireAt = now + Long.parseLong(str(c.get(++i)));
+                case "EXAT" -> expireAt = Long.parseLong(str(c.get(++i))) * 1000;
+                case "PXAT" -> expireAt = Long.parseLong(str(c.get(++i)));
+                case "NX" -> nx = true;
+                case "XX" -> xx = true;
+                case "KEEPTTL" -> keepTtl = true;
+                case "GET" -> get = true;
+                default -> throw new CommandException(SYNTAX_ERROR);
+            }
+        }
+        Entry existing = lookup(db, key, now);
+        byte[] previous = get ? getString(db, key, now) : null;
+        if ((nx && existing != null) || (xx && existing == null)) {
+            return get ? previous : null;
+        }
+        Entry entry = new Entry(c.get(2));
+        entry.expireAt = keepTtl && existing != null ? existing.expireAt : expireAt;
+        db.put(key, entry);
+        return get ? previous : Status.OK;
+    }
+
+    private Object putWithExpire(Map<String, Entry> db, String key, byte[] value, long expireAt) {
+        Entry entry = new Entry(value);
+        entry.expireAt = expireAt;
+        db.put(key, entry);
+        return Status.OK;
+    }
+
+    private long incrBy(Map<String, Entry> db, String key, long delta, long now) {
+        byte[] current = getString(db, key, now);
+        long value = Math.addExact(current == null ? 0 : Long.parseLong(str(current)), delta);
+        Entry entry = lookup(db, key, now);
+        if (entry == null) {
+            db.put(key, new Entry(bytes(String.valueOf(value))));
+        } else {
+            entry.value = bytes(String.valueOf(value));
+        }
+        return value;
+    }
+
+    private static int bit(byte[] value, long offset) {
+        int index = (int) (offset >>> 3);
+        if (value == null || index >= value.length) {
+            return 0;
+        }
+        return (value[index] >> (7 - (int) (offset & 7))) & 1;
+    }
+
+    private Object setBit(Map<String, Entry> db, String key, long offset, boolean on, long now) {
+        byte[] value = getString(db, key, now);
+        int index = (int) (offset >>> 3);
+        int previous = bit(value, offset);
+        if (value == null || index >= value.length) {
+            byte[] grown = new byte[index + 1];
+            if (value != null) {
+                System.arraycopy(value, 0, grown, 0, value.length);
+            }
+            value = grown;
+        }
+        int mask = 1 << (7 - (int) (offset & 7));
+        value[index] = (byte) (on ? value[index] | mask : value[index] & ~mask);
+        Entry entry = lookup(db, key, now);
+        if (entry == null) {
+            db.put(key, new Entry(value));
+        } else {
+            entry.value = value;
+        }
+        return (long) previous;
+    }
+
+    private Object bitOp(Map<String, Entry> db, List<byte[]> c, long now) {
+        String op = str(c.get(1)).toUpperCase(Locale.ROOT);
+        String dest = str(c.get(2));
+        List<byte[]> sources = new ArrayList<>();
+        int length = 0;
+        for (int i = 3; i < c.size(); i++) {
+            byte[] value = getString(db, str(c.get(i)), now);
+            sources.add(value == null ? new byte[0] : value);
+            length = Math.max(length, value == null ? 0 : value.length);
+        }
+        if ("NOT".equals(op) && sources.size() != 1) {
+            throw new CommandException("ERR BITOP NOT must be called with a single source key.");
+        }
+        byte[] result = new byte[length];
+        for (int j = 0; j < length; j++) {
+            int acc = byteAt(sources.get(0), j);
+            for (int k = 1; k < sources.size(); k++) {
+                int b = byteAt(sources.get(k), j);
+                switch (op) {
+                    case "AND" -> acc &= b;
+                    case "OR" -> acc |= b;
+                    case "XOR" -> acc ^= b;
+                    default -> throw new CommandException(SYNTAX_ERROR);
+                }
+            }
+            result[j] = (byte) ("NOT".equals(op) ? ~acc : acc);
+        }
+        if (length == 0) {
+            db.remove(dest);
+        } else {
+            db.put(dest, new Entry(result));
+        }
+        return (long) length;
+    }
+
+    private static int byteAt(byte[] value, int index) {
+        return index < value.length ? value[index] & 0xFF : 0;
+    }
+
+    private Map<String, byte[]> hash(Map<String, Entry> db, String key, long now, boolean create) {
+        Entry entry = lookup(db, key, now);
+        if (entry == null) {
+            if (!create) {
+                return null;
+            }
+            entry = new Entry(new HashValue());
+            db.put(key, entry);
+        }
+        if (!(entry.value instanceof HashValue hash)) {
+            throw new CommandException(WRONG_TYPE);
+        }
+        return hash;
+    }
+
+    private Map<String, Double> zset(Map<String, Entry> db, String key, long now, boolean create) {
+        Entry entry = lookup(db, key, now);
+        if (entry == null) {
+            if (!create) {
+                return null;
+            }
+            entry = new Entry(new SortedSetValue());
+            db.put(key, entry);
+        }
+        if (!(entry.value instanceof SortedSetValue zset)) {
+            throw new CommandException(WRONG_TYPE);
+        }
+        return zset;
+    }
+
+    private void removeIfEmpty(Map<String, Entry> db, String key, Map<?, ?> collection) {
+        if (collection != null && collection.isEmpty()) {
+            db.remove(key);
+        }
+    }
+
+    private Object zrange(Map<String, Entry> db, List<byte[]> c, long now) {
+        Map<String, Double> zset = zset(db, str(c.get(1)), now, false);
+        boolean withScores = c.size() > 4 && "WITHSCORES".equalsIgnoreCase(str(c.get(4)));
+        List<Object> result = new ArrayList<>();
+        if (zset == null) {
+            return result;
+        }
+        List<Map.Entry<String, Double>> ordered = ordered(zset);
+        int[] range = rankRange(ordered.size(), str(c.get(2)), str(c.get(3)));
+        for (int i = range[0]; i <= range[1]; i++) {
+            result.add(bytes(ordered.get(i).getKey()));
+            if (withScores) {
+                result.add(bytes(formatScore(ordered.get(i).getValue())));
+            }
+        }
+        return result;
+    }
+
+    private static List<Map.Entry<String, Double>> ordered(Map<String, Double> zset) {
+        List<Map.Entry<String, Double>> ordered = new ArrayList<>(zset.entrySet());
+        ordered.sort(Map.Entry.<String, Double>comparingByValue().thenComparing(Map.Entry.comparingByKey(Comparator.naturalOrder())));
+        return ordered;
+    }
+
+    /**
+     * 将可为负数的排名区间换算为 [start, stop] 下标，区间为空时 start > stop
+     */
+    private static int[] rankRange(int size, String start, String stop) {
+        int from = (int) Long.parseLong(start);
+        int to = (int) Long.parseLong(stop);
+        return new int[]{Math.max(from < 0 ? size + from : from, 0), Math.min(to < 0 ? size + to : to, size - 1)};
+    }
+
+    private Object script(List<byte[]> c) {
+        String sub = str(c.get(1)).toUpperCase(Locale.ROOT);
+        switch (sub) {
+            case "LOAD":
+                return bytes(scriptEngine.load(c.get(2)));
+            case "EXISTS": {
+                List<Object> result = new ArrayList<>();
+                for (int i = 2; i < c.size(); i++) {
+                    result.add(scriptEngine.exists(str(c.get(i)).toLowerCase(Locale.ROOT)) ? 1L : 0L);
+                }
+                return result;
+            }
+            case "FLUSH":
+                scriptEngine.flush();
+                return Status.OK;
+            default:
+                return new RedisError("ERR unknown subcommand '" + sub + "'");
+        }
+    }
+
+    private static boolean isZaddFlag(String token) {
+        return switch (token.toUpperCase(Locale.ROOT)) {
+            case "NX", "XX", "GT", "LT", "CH" -> true;
+            default -> false;
+        };
+    }
+
+    private static double parseScore(String text) {
+        return switch (text.toLowerCase(Locale.ROOT)) {
+            case "-inf" -> Double.NEGATIVE_INFINITY;
+            case "+inf", "inf" -> Double.POSITIVE_INFINITY;
+            default -> {
+                try {
+                    yield Double.parseDouble(text);
+                } catch (NumberFormatException e) {
+                    throw new CommandException("ERR value is not a valid float");
+                }
+            }
+        };
+    }
+
+    private static boolean inRange(double score, String min, String max) {
+        boolean minExclusive = min.startsWith("(");
+        boolean maxExclusive = max.startsWith("(");
+        double low = parseScore(minExclusive ? min.substring(1) : min);
+        double high = parseScore(maxExclusive ? max.substring(1) : max);
+        return (minExclusive ? score > low : score >= low) && (maxExclusive ? score < high : score <= high);
+    }
+
+    private static String formatScore(double score) {
+        return score == Math.rint(score) && !Double.isInfinite(score) ? String.valueOf((long) score) : String.valueOf(score);
+    }
+
+    private static String typeName(Object value) {
+        if (value instanceof byte[]) {
+            return "string";
+        }
+        return value instanceof HashValue ? "hash" : "zset";
+    }
+
+    private static Pattern globToPattern(String glob) {
+        StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < glob.length(); i++) {
+            char ch = glob.charAt(i);
+            switch (ch) {
+                case '*' -> regex.append(".*");
+                case '?' -> regex.append('.');
+                case '[' -> {
+                    int end = glob.indexOf(']', i + 1);
+                    if (end < 0) {
+                        regex.append("\\[");
+                    } else {
+                        String body = glob.substring(i + 1, end).replace("\\", "\\\\");
+                        regex.append('[').append(body.startsWith("^") ? "\\" + body : body).append(']');
+                        i = end;
+                    }
+                }
+                case '\\' -> {
+                    if (i + 1 < glob.length()) {
+                        regex.append(Pattern.quote(String.valueOf(glob.charAt(++i))));
+                    }
+                }
+                default -> regex.append(Pattern.quote(String.valueOf(ch)));
+            }
+        }
+        return Pattern.compile(regex.toString(), Pattern.DOTALL);
+    }
+
+    /**
+     * 键统一按 ISO-8859-1 解码，保证任意字节无损往返
+     */
+    static String str(byte[] value) {
+        return new String(value, StandardCharsets.ISO_8859_1);
+    }
+
+    static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.ISO_8859_1);
+    }
+}
@@ -0,0 +1,217 @@
+package com.pregnancyapp.loadtest.standin;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 进程内RESP2协议服务，供压测时替代Redis
+ * 每个连接一个线程，支持管道：读缓冲区为空时才刷出回复
+ *
+ * @author PregnancyApp Team
+ */
+@Slf4j
+public class MiniRedisServer implements Closeable {
+
+    private final ServerSocket serverSocket;
+
+    private final MiniRedisKeyspace keyspace = new MiniRedisKeyspace();
+
+    private final Set<Socket> clients = ConcurrentHashMap.newKeySet();
+
+    private final AtomicInteger connectionCount = new AtomicInteger();
+
+    private final AtomicLong commandCount = new AtomicLong();
+
+    private volatile boolean running = true;
+
+    private MiniRedisServer(ServerSocket serverSocket) {
+        this.serverSocket = serverSocket;
+    }
+
+    /**
+     * 在回环地址的随机端口上启动
+     */
+    public static MiniRedisServer start() throws IOException {
+        MiniRedisServer server = new MiniRedisServer(new ServerSocket(0, 128, InetAddress.getLoopbackAddress()));
+        Thread acceptor = new Thread(server::acceptLoop, "mini-redis-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        log.info("进程内Redis替身已启动，端口: {}", server.getPort());
+        return server;
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * 累计建立的连接数
+     */
+    public int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    /**
+     * 累计执行的命令数
+     */
+    public long getCommandCount() {
+        return commandCount.get();
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                clients.add(socket);
+                Thread handler = new Thread(() -> serve(socket), "mini-redis-conn-" + connectionCount.incrementAndGet());
+                handler.setDaemon(true);
+                handler.start();
+            } catch (IOException e) {
+                if (running) {
+                    log.warn("Redis替身接受连接失败: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        MiniRedisKeyspace.Session session = new MiniRedisKeyspace.Session();
+        try (socket;
+             InputStream in = new BufferedInputStream(socket.getInputStream());
+             OutputStream out = new BufferedOutputStream(socket.getOutputStream())) {
+            while (running) {
+                List<byte[]> command = readCommand(in);
+                if (command == null) {
+                    return;
+                }
+                if (command.isEmpty()) {
+                    continue;
+                }
+                commandCount.incrementAndGet();
+                Object reply = keyspace.execute(session, command);
+                writeReply(out, reply);
+                if ("QUIT".equalsIgnoreCase(MiniRedisKeyspace.str(command.get(0)))) {
+                    out.flush();
+                    return;
+                }
+                if (in.available() == 0) {
+                    out.flush();
+                }
+            }
+        } catch (EOFException | SocketException e) {
+            // 客户端断开
+        } catch (IOException e) {
+            log.warn("Redis替身连接异常: {}", e.getMessage());
+        } finally {
+            clients.remove(socket);
+        }
+    }
+
+    /**
+     * 读取一条命令：RESP数组或内联命令；连接关闭返回null
+     */
+    private static List<byte[]> readCommand(InputStream in) throws IOException {
+        int first = in.read();
+        if (first < 0) {
+            return null;
+        }
+        if (first != '*') {
+            String line = (char) first + readLine(in);
+            List<byte[]> inline = new ArrayList<>();
+            for (String part : line.trim().split("\\s+")) {
+                if (!part.isEmpty()) {
+                    inline.add(part.getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            return inline;
+        }
+        int count = Integer.parseInt(readLine(in));
+        List<byte[]> command = new ArrayList<>(Math.max(count, 0));
+        for (int i = 0; i < count; i++) {
+            if (in.read() != '$') {
+                throw new IOException("协议错误：期望批量字符串");
+            }
+            int length = Integer.parseInt(readLine(in));
+            byte[] value = in.readNBytes(length);
+            if (value.length < length) {
+                throw new EOFException();
+            }
+            readLine(in);
+            command.add(value);
+        }
+        return command;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream(16);
+        int b;
+        while ((b = in.read()) != '\n') {
+            if (b < 0) {
+                throw new EOFException();
+            }
+            if (b != '\r') {
+                line.write(b);
+            }
+        }
+        return line.toString(StandardCharsets.ISO_8859_1);
+    }
+
+    private static void writeReply(OutputStream out, Object reply) throws IOException {
+        if (reply == null) {
+            out.write("$-1\r\n".getBytes(StandardCharsets.ISO_8859_1));
+        } else if (reply instanceof Long number) {
+            writeLine(out, ":" + number);
+        } else if (reply instanceof byte[] bulk) {
+            writeLine(out, "$" + bulk.length);
+            out.write(bulk);
+            out.write('\r');
+            out.write('\n');
+        } else if (reply instanceof MiniRedisKeyspace.Status status) {
+            writeLine(out, "+" + status.text());
+        } else if (reply instanceof MiniRedisKeyspace.RedisError error) {
+            writeLine(out, "-" + error.message());
+        } else if (reply instanceof List<?> items) {
+            writeLine(out, "*" + items.size());
+            for (Object item : items) {
+                writeReply(out, item);
+            }
+        } else {
+            throw new IllegalStateException("不支持的回复类型: " + reply.getClass());
+        }
+    }
+
+    private static void writeLine(OutputStream out, String line) throws IOException {
+        out.write(line.getBytes(StandardCharsets.UTF_8));
+        out.write('\r');
+        out.write('\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        serverSocket.close();
+        for (Socket client : clients) {
+            client.close();
+        }
+    }
+}
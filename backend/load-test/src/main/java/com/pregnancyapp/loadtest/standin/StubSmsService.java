@@ -0,0 +1,52 @@
+package com.pregnancyapp.loadtest.standin;
+
+import com.pregnancyapp.service.SmsService;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 短信服务替身
+ * 以主Bean身份替换被测应用的 {@link SmsService}，把下发的验证码投递到内存收件箱供压测脚本读取，
+ * 可选模拟网关耗时；验证码的保存与校验仍走应用自身逻辑
+ *
+ * @author PregnancyApp Team
+ */
+public class StubSmsService implements SmsService {
+
+    private final long latencyMillis;
+
+    private final Map<String, String> inbox = new ConcurrentHashMap<>();
+
+    private final LongAdder delivered = new LongAdder();
+
+    public StubSmsService(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    @Override
+    public void sendVerifyCode(String phone, String code) {
+        if (latencyMillis > 0) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        inbox.put(phone, code);
+        delivered.increment();
+    }
+
+    /**
+     * 取走手机号最近收到的验证码，未收到返回null
+     */
+    public String takeCode(String phone) {
+        return inbox.remove(phone);
+    }
+
+    public long getDeliveredCount() {
+        return delivered.sum();
+    }
+}
@@ -0,0 +1,37 @@
+package com.pregnancyapp.loadtest;
+
+import com.pregnancyapp.loadtest.report.LoadTestReport;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 压测冒烟：两个虚拟用户跑几秒，确认旅程能从头走到尾
+ * 验证码经短信服务替身送达、所有请求来自本机地址且不被按IP限流
+ *
+ * @author PregnancyApp Team
+ */
+class LoadTestSmokeTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void journeysComplete() throws Exception {
+        Path reportFile = tempDir.resolve("report.txt");
+        LoadTestReport report = LoadTestApplication.run(LoadTestOptions.parse(new String[]{
+                "--loadtest.users=2",
+                "--loadtest.warmup-seconds=3",
+                "--loadtest.duration-seconds=5",
+                "--loadtest.report-file=" + reportFile,
+                "--app.export.path=" + tempDir.resolve("exports")}));
+
+        assertThat(report.getCompletedJourneys()).isPositive();
+        assertThat(report.getFailedJourneys()).isZero();
+        assertThat(Files.readString(reportFile)).contains("完成旅程");
+    }
+}
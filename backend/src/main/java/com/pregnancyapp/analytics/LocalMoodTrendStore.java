@@ -0,0 +1,88 @@
+package com.pregnancyapp.analytics;
+
+import cn.hutool.cache.CacheUtil;
+import cn.hutool.cache.impl.LRUCache;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 进程内心情趋势窗口存储，用于嵌入式单节点模式
+ * 用户数按 localMaxUsers 限制并按最近最少使用淘汰，窗口自最后一次写入起 stateTtl 后过期
+ * 
+ * @author PregnancyApp Team
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.embedded", name = "enabled", havingValue = "true")
+public class LocalMoodTrendStore implements MoodTrendStore {
+
+    private final MoodTrendProperties properties;
+    private final LRUCache<Long, List<MoodScore>> cache;
+
+    public LocalMoodTrendStore(MoodTrendProperties properties) {
+        this.properties = properties;
+        this.cache = CacheUtil.newLRUCache(properties.getLocalMaxUsers(), properties.getStateTtl().toMillis());
+    }
+
+    @Override
+    public synchronized WindowUpdate update(Long userId, MoodScore score, List<MoodScore> seed) {
+        List<MoodScore> before = cache.get(userId, false);
+        if (before == null) {
+            if (seed == null) {
+                return null;
+            }
+            before = merge(seed.stream().filter(s -> !s.date().equals(score.date())).toList(), null);
+        }
+        List<MoodScore> after = merge(before, score);
+        cache.put(userId, after);
+        return new WindowUpdate(before, after);
+    }
+
+    @Override
+    public List<MoodScore> get(Long userId) {
+        return cache.get(userId, false);
+    }
+
+    @Override
+    public synchronized void putIfAbsent(Long userId, List<MoodScore> scores) {
+        if (!scores.isEmpty() && !cache.containsKey(userId)) {
+            cache.put(userId, merge(scores, null));
+        }
+    }
+
+    @Override
+    public synchronized void replace(Long userId, List<MoodScore> scores) {
+        // 与Redis一致，空窗口等同于不存在
+        if (scores.isEmpty()) {
+            cache.remove(userId);
+        } else {
+            cache.put(userId, merge(scores, null));
+        }
+    }
+
+    /**
+     * 每分钟清理一次过期窗口；不使用 schedulePrune，其全局定时线程为非守护线程，会阻止进程退出
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void prune() {
+        cache.prune();
+    }
+
+    /**
+     * 合并出新的不可变有序窗口：同日评分被覆盖，超出窗口大小的最早评分被裁掉
+     */
+    private List<MoodScore> merge(List<MoodScore> window, MoodScore score) {
+        List<MoodScore> merged = new ArrayList<>(window);
+        if (score != null) {
+            merged.removeIf(s -> s.date().equals(score.date()));
+            merged.add(score);
+        }
+        merged.sort(Comparator.comparing(MoodScore::date));
+        int overflow = merged.size() - properties.getWindowSize();
+        return List.copyOf(overflow > 0 ? merged.subList(overflow, merged.size()) : merged);
+    }
+}
@@ -0,0 +1,19 @@
+package com.pregnancyapp.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 心情预警事件
+ * 阈值被跨越时发布一次，由通知模块转发给伴侣、祖父母等家庭成员
+ * 
+ * @author PregnancyApp Team
+ */
+@Getter
+@AllArgsConstructor
+public class MoodAlertEvent {
+
+    private final MoodAlertType type;
+
+    private final MoodTrendSnapshot snapshot;
+}
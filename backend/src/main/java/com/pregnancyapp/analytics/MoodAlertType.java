@@ -0,0 +1,21 @@
+package com.pregnancyapp.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 心情预警类型
+ * 
+ * @author PregnancyApp Team
+ */
+@Getter
+@AllArgsConstructor
+public enum MoodAlertType {
+
+    CONTINUOUS_DECLINE("continuous_decline", "心情连续下降"),
+    LOW_MOOD("low_mood", "心情持续低落"),
+    SUDDEN_DROP("sudden_drop", "心情突然变差");
+
+    private final String code;
+    private final String name;
+}
@@ -0,0 +1,23 @@
+package com.pregnancyapp.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+/**
+ * 心情日记保存事件
+ * 日记新增或修改后由业务层发布，事务提交后驱动趋势统计增量更新
+ * 
+ * @author PregnancyApp Team
+ */
+@Getter
+@AllArgsConstructor
+public class MoodDiarySavedEvent {
+
+    private final Long userId;
+
+    private final LocalDate diaryDate;
+
+    private final int moodScore;
+}
@@ -0,0 +1,24 @@
+package com.pregnancyapp.analytics;
+
+import java.time.LocalDate;
+
+/**
+ * 单日心情评分，趋势窗口中的一条记录
+ * 
+ * @author PregnancyApp Team
+ */
+public record MoodScore(LocalDate date, int score) {
+
+    /**
+     * 编码为 "epochDay:score"，用作Redis有序集合成员
+     */
+    String encode() {
+        return date.toEpochDay() + ":" + score;
+    }
+
+    static MoodScore decode(String value) {
+        int separator = value.indexOf(':');
+        return new MoodScore(LocalDate.ofEpochDay(Long.parseLong(value.substring(0, separator))),
+                Integer.parseInt(value.substring(separator + 1)));
+    }
+}
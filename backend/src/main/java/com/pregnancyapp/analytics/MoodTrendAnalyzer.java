@@ -0,0 +1,194 @@
+package com.pregnancyapp.analytics;
+
+import com.pregnancyapp.entity.MoodDiary;
+import com.pregnancyapp.mapper.MoodDiaryMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 心情趋势增量分析
+ * 每个用户的最近评分窗口保存在 {@link MoodTrendStore}（集群部署为Redis，嵌入式模式为进程内），
+ * 日记写入时更新窗口并基于窗口重新计算统计，越过阈值时发布 {@link MoodAlertEvent}；
+ * 窗口缺失（过期、Redis数据丢失）时按 (user_id, diary_date) 索引读取该用户最近记录回填，不扫描全表。
+ * 可选按用户ID区间并行从历史数据全量重建
+ * 
+ * @author PregnancyApp Team
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MoodTrendAnalyzer {
+
+    private final MoodDiaryMapper moodDiaryMapper;
+    private final MoodTrendStore moodTrendStore;
+    private final MoodTrendProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * 重建期间收到的增量写入，重建完成后回放，避免被重建时读到的旧窗口覆盖
+     */
+    private volatile Queue<MoodDiarySavedEvent> pendingDuringRebuild;
+
+    /**
+     * 日记事务提交后更新统计
+     * 此时仍处于原事务的提交回调中，预警在新事务内发布：监听器的写库操作随新事务提交，
+     * 监听 {@link MoodAlertEvent} 的 @TransactionalEventListener 也能在新事务提交后触发
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDiarySaved(MoodDiarySavedEvent event) {
+        Queue<MoodDiarySavedEvent> pending = pendingDuringRebuild;
+        if (pending != null) {
+            pending.add(event);
+        }
+        Long userId = event.getUserId();
+        MoodScore score = new MoodScore(event.getDiaryDate(), event.getMoodScore());
+        MoodTrendStore.WindowUpdate update = moodTrendStore.update(userId, score, null);
+        if (update == null) {
+            update = moodTrendStore.update(userId, score, loadRecent(userId));
+        }
+        Set<MoodAlertType> raised = MoodTrendWindow.raised(update.before(), update.after(), properties);
+        if (raised.isEmpty()) {
+            return;
+        }
+        MoodTrendSnapshot snapshot = new MoodTrendWindow(update.after(), properties).snapshot(userId);
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        template.executeWithoutResult(status -> {
+            for (MoodAlertType type : raised) {
+                log.info("心情预警: userId={}, type={}, ewma={}, declineDays={}",
+                        userId, type.getCode(), snapshot.getEwma(), snapshot.getDeclineDays());
+                eventPublisher.publishEvent(new MoodAlertEvent(type, snapshot));
+            }
+        });
+    }
+
+    /**
+     * 获取用户心情趋势，无记录返回null
+     */
+    public MoodTrendSnapshot getTrend(Long userId) {
+        List<MoodScore> window = moodTrendStore.get(userId);
+        if (window == null) {
+            window = loadRecent(userId);
+            if (window.isEmpty()) {
+                return null;
+            }
+            moodTrendStore.putIfAbsent(userId, window);
+        }
+        return new MoodTrendWindow(window, properties).snapshot(userId);
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (properties.isRebuildOnStartup()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * 将 [最小用户ID, 最大用户ID] 等分为若干区间，并行按索引范围流式读取历史日记，整体替换各用户窗口
+     * 重建过程中不发布预警，完成后回放期间的增量写入
+     */
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        Long minUserId = moodDiaryMapper.selectMinUserId();
+        Long maxUserId = moodDiaryMapper.selectMaxUserId();
+        if (minUserId == null || maxUserId == null) {
+            log.info("心情趋势重建跳过: 无历史日记");
+            return;
+        }
+        pendingDuringRebuild = new ConcurrentLinkedQueue<>();
+        int partitions = Math.max(properties.getRebuildParallelism(), 1);
+        long span = (maxUserId - minUserId) / partitions + 1;
+        AtomicLong users = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(partitions);
+        try {
+            TransactionTemplate template = new TransactionTemplate(transactionManager);
+            template.setReadOnly(true);
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (long from = minUserId; from <= maxUserId; from += span) {
+                long fromUserId = from;
+                long toUserId = Math.min(maxUserId, from + span - 1);
+                futures.add(CompletableFuture.runAsync(() -> template.executeWithoutResult(
+                        status -> rebuildRange(fromUserId, toUserId, users)), executor));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+            Queue<MoodDiarySavedEvent> pending = pendingDuringRebuild;
+            pendingDuringRebuild = null;
+            for (MoodDiarySavedEvent event : pending) {
+                moodTrendStore.update(event.getUserId(), new MoodScore(event.getDiaryDate(), event.getMoodScore()), null);
+            }
+            log.info("心情趋势重建完成: 用户数={}, 耗时={}ms", users.get(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            pendingDuringRebuild = null;
+            log.error("心情趋势重建失败，未重建的用户在下次访问时回填", e);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * 游标按用户、日期排序，逐个用户只保留最近 windowSize 条后写入存储
+     */
+    private void rebuildRange(long fromUserId, long toUserId, AtomicLong users) {
+        Deque<MoodScore> window = new ArrayDeque<>();
+        Long currentUserId = null;
+        try (Cursor<MoodDiary> cursor = moodDiaryMapper.streamScoresByUserRange(fromUserId, toUserId)) {
+            for (MoodDiary diary : cursor) {
+                if (!diary.getUserId().equals(currentUserId)) {
+                    if (currentUserId != null) {
+                        moodTrendStore.replace(currentUserId, List.copyOf(window));
+                        users.incrementAndGet();
+                    }
+                    currentUserId = diary.getUserId();
+                    window.clear();
+                }
+                window.addLast(new MoodScore(diary.getDiaryDate(), diary.getMoodScore()));
+                if (window.size() > properties.getWindowSize()) {
+                    window.removeFirst();
+                }
+            }
+            if (currentUserId != null) {
+                moodTrendStore.replace(currentUserId, List.copyOf(window));
+                users.incrementAndGet();
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException("心情趋势区间重建失败: " + fromUserId + "-" + toUserId, e);
+        }
+    }
+
+    /**
+     * 按索引读取用户最近 windowSize 条评分，按日期升序返回
+     */
+    private List<MoodScore> loadRecent(Long userId) {
+        List<MoodDiary> diaries = moodDiaryMapper.selectRecentScores(userId, properties.getWindowSize());
+        List<MoodScore> scores = new ArrayList<>(diaries.size());
+        for (int i = diaries.size() - 1; i >= 0; i--) {
+            scores.add(new MoodScore(diaries.get(i).getDiaryDate(), diaries.get(i).getMoodScore()));
+        }
+        return scores;
+    }
+}
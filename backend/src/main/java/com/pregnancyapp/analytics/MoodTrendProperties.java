@@ -0,0 +1,69 @@
+package com.pregnancyapp.analytics;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 心情趋势分析配置
+ * 
+ * @author PregnancyApp Team
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.mood-trend")
+public class MoodTrendProperties {
+
+    /**
+     * 滑动窗口大小（条）
+     */
+    private int windowSize = 7;
+
+    /**
+     * 指数加权平均系数，越大越关注近期
+     */
+    private double ewmaAlpha = 0.3;
+
+    /**
+     * 触发统计类预警所需的最少样本数
+     */
+    private int minSamples = 3;
+
+    /**
+     * 连续下降天数阈值
+     */
+    private int declineDays = 3;
+
+    /**
+     * 低落心情阈值，EWMA低于该值触发预警
+     */
+    private double lowMoodThreshold = 4.0;
+
+    /**
+     * 骤降阈值，评分低于窗口均值该倍数标准差时触发预警
+     */
+    private double dropSigma = 2.0;
+
+    /**
+     * 用户窗口的过期时间，自最后一次写入起算；过期后读取或写入时从数据库回填
+     */
+    private Duration stateTtl = Duration.ofDays(30);
+
+    /**
+     * 嵌入式单节点模式下进程内最多保留的用户窗口数，超出按最近最少使用淘汰
+     */
+    private int localMaxUsers = 100_000;
+
+    /**
+     * 启动时是否从历史数据重建统计
+     * 窗口存于Redis且缺失时按需回填，通常无需开启；多节点部署时只应在一个节点开启
+     */
+    private boolean rebuildOnStartup = false;
+
+    /**
+     * 重建并行度
+     */
+    private int rebuildParallelism = 4;
+}
@@ -0,0 +1,44 @@
+package com.pregnancyapp.analytics;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * 用户心情趋势快照
+ * 
+ * @author PregnancyApp Team
+ */
+@Data
+@AllArgsConstructor
+@Schema(description = "心情趋势")
+public class MoodTrendSnapshot {
+
+    @Schema(description = "用户ID")
+    private Long userId;
+
+    @Schema(description = "最近日记日期")
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate lastDate;
+
+    @Schema(description = "最近心情评分")
+    private Integer lastScore;
+
+    @Schema(description = "指数加权平均")
+    private Double ewma;
+
+    @Schema(description = "窗口均值")
+    private Double mean;
+
+    @Schema(description = "窗口方差")
+    private Double variance;
+
+    @Schema(description = "窗口样本数")
+    private Integer sampleCount;
+
+    @Schema(description = "连续下降天数")
+    private Integer declineDays;
+}
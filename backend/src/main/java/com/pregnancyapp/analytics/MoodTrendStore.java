@@ -0,0 +1,44 @@
+package com.pregnancyapp.analytics;
+
+import java.util.List;
+
+/**
+ * 心情趋势窗口存储
+ * 每个用户只保存最近 windowSize 天的评分（按日期升序），统计量由 {@link MoodTrendWindow} 基于窗口计算；
+ * 窗口带过期时间，过期或丢失后由调用方从数据库按索引读取最近记录回填
+ * 
+ * @author PregnancyApp Team
+ */
+public interface MoodTrendStore {
+
+    /**
+     * 写入一条评分，同日评分覆盖，早于窗口的补录写入后即被裁掉
+     *
+     * @param userId 用户ID
+     * @param score  本次评分
+     * @param seed   窗口不存在时用于初始化的最近评分（已包含本次写入）；为null时不初始化
+     * @return 写入前后的窗口，由seed初始化时写入前窗口为seed去掉本日评分；窗口不存在且未提供seed时返回null
+     */
+    WindowUpdate update(Long userId, MoodScore score, List<MoodScore> seed);
+
+    /**
+     * 读取窗口，不存在返回null
+     */
+    List<MoodScore> get(Long userId);
+
+    /**
+     * 窗口不存在时写入，用于读取时回填
+     */
+    void putIfAbsent(Long userId, List<MoodScore> scores);
+
+    /**
+     * 整体替换窗口，用于全量重建
+     */
+    void replace(Long userId, List<MoodScore> scores);
+
+    /**
+     * 一次写入前后的窗口
+     */
+    record WindowUpdate(List<MoodScore> before, List<MoodScore> after) {
+    }
+}
@@ -0,0 +1,112 @@
+package com.pregnancyapp.analytics;
+
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 心情滑动窗口统计
+ * 基于最近 windowSize 天的评分计算EWMA、均值方差和连续下降天数，窗口大小固定，计算开销为常数；
+ * 窗口按日期排序，补录和同日修改都按日期归位后重新计算，不依赖写入顺序
+ * 
+ * @author PregnancyApp Team
+ */
+final class MoodTrendWindow {
+
+    private final List<MoodScore> scores;
+    private final double ewma;
+    private final double mean;
+    private final double variance;
+    private final int declineDays;
+    private final boolean suddenDrop;
+
+    /**
+     * @param scores 按日期升序的窗口评分
+     */
+    MoodTrendWindow(List<MoodScore> scores, MoodTrendProperties properties) {
+        this.scores = scores;
+        double alpha = properties.getEwmaAlpha();
+        double e = 0;
+        for (int i = 0; i < scores.size(); i++) {
+            int score = scores.get(i).score();
+            e = i == 0 ? score : alpha * score + (1 - alpha) * e;
+        }
+        this.ewma = e;
+        this.mean = mean(scores, scores.size());
+        this.variance = variance(scores, scores.size());
+
+        int decline = 0;
+        for (int i = scores.size() - 1; i > 0; i--) {
+            MoodScore current = scores.get(i);
+            MoodScore previous = scores.get(i - 1);
+            if (ChronoUnit.DAYS.between(previous.date(), current.date()) != 1 || current.score() >= previous.score()) {
+                break;
+            }
+            decline++;
+        }
+        this.declineDays = decline;
+
+        // 骤降以最近一条之前的窗口为基准
+        int prior = scores.size() - 1;
+        this.suddenDrop = prior >= properties.getMinSamples()
+                && mean(scores, prior) - scores.get(prior).score()
+                >= properties.getDropSigma() * Math.max(Math.sqrt(variance(scores, prior)), 1.0);
+    }
+
+    /**
+     * 当前处于触发状态的预警
+     */
+    Set<MoodAlertType> activeAlerts(MoodTrendProperties properties) {
+        Set<MoodAlertType> active = EnumSet.noneOf(MoodAlertType.class);
+        if (declineDays >= properties.getDeclineDays()) {
+            active.add(MoodAlertType.CONTINUOUS_DECLINE);
+        }
+        if (scores.size() >= properties.getMinSamples() && ewma < properties.getLowMoodThreshold()) {
+            active.add(MoodAlertType.LOW_MOOD);
+        }
+        if (suddenDrop) {
+            active.add(MoodAlertType.SUDDEN_DROP);
+        }
+        return active;
+    }
+
+    /**
+     * 由未触发变为触发的预警，写入前已触发的不重复通知
+     */
+    static Set<MoodAlertType> raised(List<MoodScore> before, List<MoodScore> after, MoodTrendProperties properties) {
+        Set<MoodAlertType> raised = new MoodTrendWindow(after, properties).activeAlerts(properties);
+        raised.removeAll(new MoodTrendWindow(before, properties).activeAlerts(properties));
+        return raised;
+    }
+
+    MoodTrendSnapshot snapshot(Long userId) {
+        MoodScore last = scores.isEmpty() ? null : scores.get(scores.size() - 1);
+        return new MoodTrendSnapshot(userId, last != null ? last.date() : null, last != null ? last.score() : null,
+                ewma, mean, variance, scores.size(), declineDays);
+    }
+
+    private static double mean(List<MoodScore> scores, int count) {
+        if (count == 0) {
+            return 0;
+        }
+        long sum = 0;
+        for (int i = 0; i < count; i++) {
+            sum += scores.get(i).score();
+        }
+        return (double) sum / count;
+    }
+
+    private static double variance(List<MoodScore> scores, int count) {
+        if (count < 2) {
+            return 0;
+        }
+        double mean = mean(scores, count);
+        double sq = 0;
+        for (int i = 0; i < count; i++) {
+            double diff = scores.get(i).score() - mean;
+            sq += diff * diff;
+        }
+        return sq / count;
+    }
+}
@@ -0,0 +1,111 @@
+package com.pregnancyapp.analytics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 基于Redis的心情趋势窗口存储，多节点共享
+ * 每个用户一个有序集合，分值为 epochDay，成员为 "epochDay:score"；每次写入刷新过期时间
+ * 
+ * @author PregnancyApp Team
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.embedded", name = "enabled", havingValue = "false", matchIfMissing = true)
+public class RedisMoodTrendStore implements MoodTrendStore {
+
+    private static final String KEY_PREFIX = "mood_trend:";
+
+    /**
+     * 写入评分：KEYS[1]=窗口；ARGV=窗口大小, 过期毫秒, 日期, 成员, 初始化成员...
+     * 窗口不存在且无初始化成员时返回空数组，否则返回 [写入前成员数, 写入前成员..., 写入后成员...]；
+     * 不返回嵌套数组，Lettuce 解析嵌套的空数组时会打乱层级
+     */
+    private static final RedisScript<List> UPDATE_SCRIPT = new DefaultRedisScript<>(
+            "local size = tonumber(ARGV[1]) "
+                    + "if redis.call('EXISTS', KEYS[1]) == 0 then "
+                    + "  if #ARGV < 5 then return {} end "
+                    + "  for i = 5, #ARGV do redis.call('ZADD', KEYS[1], tonumber(string.match(ARGV[i], '^%d+')), ARGV[i]) end "
+                    + "  redis.call('ZREMRANGEBYSCORE', KEYS[1], ARGV[3], ARGV[3]) "
+                    + "  redis.call('ZREMRANGEBYRANK', KEYS[1], 0, -(size + 1)) "
+                    + "end "
+                    + "local before = redis.call('ZRANGE', KEYS[1], 0, -1) "
+                    + "redis.call('ZREMRANGEBYSCORE', KEYS[1], ARGV[3], ARGV[3]) "
+                    + "redis.call('ZADD', KEYS[1], ARGV[3], ARGV[4]) "
+                    + "redis.call('ZREMRANGEBYRANK', KEYS[1], 0, -(size + 1)) "
+                    + "redis.call('PEXPIRE', KEYS[1], ARGV[2]) "
+                    + "local result = {tostring(#before)} "
+                    + "for _, member in ipairs(before) do table.insert(result, member) end "
+                    + "for _, member in ipairs(redis.call('ZRANGE', KEYS[1], 0, -1)) do table.insert(result, member) end "
+                    + "return result", List.class);
+
+    /**
+     * 整体写入窗口：KEYS[1]=窗口；ARGV=过期毫秒, 是否仅在不存在时写入(1/0), 成员...
+     */
+    private static final RedisScript<Long> REPLACE_SCRIPT = new DefaultRedisScript<>(
+            "if ARGV[2] == '1' and redis.call('EXISTS', KEYS[1]) == 1 then return 0 end "
+                    + "redis.call('DEL', KEYS[1]) "
+                    + "for i = 3, #ARGV do redis.call('ZADD', KEYS[1], tonumber(string.match(ARGV[i], '^%d+')), ARGV[i]) end "
+                    + "if #ARGV >= 3 then redis.call('PEXPIRE', KEYS[1], ARGV[1]) end "
+                    + "return 1", Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final MoodTrendProperties properties;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public WindowUpdate update(Long userId, MoodScore score, List<MoodScore> seed) {
+        List<String> args = new ArrayList<>();
+        args.add(String.valueOf(properties.getWindowSize()));
+        args.add(String.valueOf(properties.getStateTtl().toMillis()));
+        args.add(String.valueOf(score.date().toEpochDay()));
+        args.add(score.encode());
+        if (seed != null) {
+            seed.forEach(s -> args.add(s.encode()));
+        }
+        List<String> result = stringRedisTemplate.execute(UPDATE_SCRIPT, List.of(KEY_PREFIX + userId), args.toArray());
+        if (result == null || result.isEmpty()) {
+            return null;
+        }
+        int beforeCount = Integer.parseInt(result.get(0));
+        return new WindowUpdate(decode(result.subList(1, beforeCount + 1)),
+                decode(result.subList(beforeCount + 1, result.size())));
+    }
+
+    @Override
+    public List<MoodScore> get(Long userId) {
+        Set<String> members = stringRedisTemplate.opsForZSet().range(KEY_PREFIX + userId, 0, -1);
+        return members == null || members.isEmpty() ? null : decode(members);
+    }
+
+    @Override
+    public void putIfAbsent(Long userId, List<MoodScore> scores) {
+        write(userId, scores, true);
+    }
+
+    @Override
+    public void replace(Long userId, List<MoodScore> scores) {
+        write(userId, scores, false);
+    }
+
+    private void write(Long userId, List<MoodScore> scores, boolean onlyIfAbsent) {
+        List<String> args = new ArrayList<>();
+        args.add(String.valueOf(properties.getStateTtl().toMillis()));
+        args.add(onlyIfAbsent ? "1" : "0");
+        scores.forEach(s -> args.add(s.encode()));
+        stringRedisTemplate.execute(REPLACE_SCRIPT, List.of(KEY_PREFIX + userId), args.toArray());
+    }
+
+    private static List<MoodScore> decode(Collection<String> members) {
+        return members.stream().map(MoodScore::decode).toList();
+    }
+}
@@ -42,6 +42,7 @@ public enum ResultCode {
     VERIFY_CODE_SEND_FAILED(2006, "验证码发送失败"),
     LOGIN_FAILED(2007, "登录失败"),
     LOGOUT_FAILED(2008, "退出登录失败"),
+    VERIFY_CODE_ATTEMPTS_EXCEEDED(2009, "验证码错误次数过多，请稍后再试"),
 
     // 家庭相关状态码 (3000-3999)
     FAMILY_NOT_FOUND(3001, "家庭不存在"),
@@ -95,13 +96,15 @@ public enum ResultCode {
     FILE_TYPE_NOT_SUPPORTED(10003, "文件类型不支持"),
     FILE_SIZE_EXCEEDED(10004, "文件大小超出限制"),
     FILE_DELETE_FAILED(10005, "文件删除失败"),
+    EXPORT_BUSY(10006, "导出人数较多，请稍后再试"),
 
     // 系统相关状态码 (11000-11999)
     SYSTEM_ERROR(11001, "系统错误"),
     DATABASE_ERROR(11002, "数据库错误"),
     NETWORK_ERROR(11003, "网络错误"),
     SERVICE_UNAVAILABLE(11004, "服务不可用"),
-    MAINTENANCE_MODE(11005, "系统维护中");
+    MAINTENANCE_MODE(11005, "系统维护中"),
+    RATE_LIMIT_EXCEEDED(11006, "访问过于频繁，请稍后再试");
 
     private final Integer code;
     private final String message;
@@ -0,0 +1,31 @@
+package com.pregnancyapp.config;
+
+import com.baomidou.mybatisplus.core.handlers.MetaObjectHandler;
+import org.apache.ibatis.reflection.MetaObject;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * 审计字段自动填充
+ * 实体中标注 fill 的 createdAt/updatedAt 在插入、更新时由此填充；
+ * MySQL 另有 ON UPDATE CURRENT_TIMESTAMP 兜底，SQLite 只能依赖这里
+ *
+ * @author PregnancyApp Team
+ */
+@Component
+public class AuditFieldMetaObjectHandler implements MetaObjectHandler {
+
+    @Override
+    public void insertFill(MetaObject metaObject) {
+        LocalDateTime now = LocalDateTime.now();
+        strictInsertFill(metaObject, "createdAt", LocalDateTime.class, now);
+        strictInsertFill(metaObject, "updatedAt", LocalDateTime.class, now);
+    }
+
+    @Override
+    public void updateFill(MetaObject metaObject) {
+        // strictUpdateFill 只填充为空的字段，实体带着查询出的旧值更新时需强制覆盖
+        setFieldValByName("updatedAt", LocalDateTime.now(), metaObject);
+    }
+}
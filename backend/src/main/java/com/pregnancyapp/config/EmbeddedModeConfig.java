@@ -0,0 +1,29 @@
+package com.pregnancyapp.config;
+
+import cn.dev33.satoken.dao.SaTokenDao;
+import cn.dev33.satoken.dao.SaTokenDaoDefaultImpl;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 嵌入式单节点模式配置
+ * 数据库使用SQLite（WAL模式），Sa-Token会话与验证码存放在进程内，无需MySQL和Redis
+ * 
+ * @author PregnancyApp Team
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "app.embedded", name = "enabled", havingValue = "true")
+public class EmbeddedModeConfig {
+
+    /**
+     * Sa-Token进程内会话存储，替代Redis存储
+     */
+    @Bean
+    public SaTokenDao saTokenDao() {
+        log.info("嵌入式模式已启用，Sa-Token会话与验证码使用进程内存储");
+        return new SaTokenDaoDefaultImpl();
+    }
+}
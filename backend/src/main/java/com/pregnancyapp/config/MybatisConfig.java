@@ -0,0 +1,35 @@
+package com.pregnancyapp.config;
+
+import org.apache.ibatis.mapping.DatabaseIdProvider;
+import org.apache.ibatis.mapping.VendorDatabaseIdProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Properties;
+
+/**
+ * MyBatis配置
+ * 按数据库产品区分语句（databaseId），用于只对特定方言生效的语句选项，如MySQL游标的流式读取
+ * 
+ * @author PregnancyApp Team
+ */
+@Configuration
+public class MybatisConfig {
+
+    /**
+     * MySQL游标语句使用 fetchSize = Integer.MIN_VALUE 逐行流式读取，只作用于该语句，
+     * 无需在连接串上全局开启 useCursorFetch；流式读取期间同一连接不能执行其他语句
+     */
+    public static final String MYSQL = "mysql";
+
+    @Bean
+    public DatabaseIdProvider databaseIdProvider() {
+        Properties properties = new Properties();
+        properties.setProperty("MySQL", MYSQL);
+        properties.setProperty("SQLite", "sqlite");
+        properties.setProperty("PostgreSQL", "postgresql");
+        VendorDatabaseIdProvider provider = new VendorDatabaseIdProvider();
+        provider.setProperties(properties);
+        return provider;
+    }
+}
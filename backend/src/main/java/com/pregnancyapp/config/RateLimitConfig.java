@@ -0,0 +1,46 @@
+package com.pregnancyapp.config;
+
+import com.pregnancyapp.mapper.FamilyMapper;
+import com.pregnancyapp.ratelimit.CallerFamilyResolver;
+import com.pregnancyapp.ratelimit.LocalRateLimitStore;
+import com.pregnancyapp.ratelimit.RateLimitAspect;
+import com.pregnancyapp.ratelimit.RateLimitProperties;
+import com.pregnancyapp.ratelimit.RateLimitStore;
+import com.pregnancyapp.ratelimit.RateLimiter;
+import com.pregnancyapp.ratelimit.RedisRateLimitStore;
+import com.pregnancyapp.security.ClientIpResolver;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+
+/**
+ * 限流配置
+ * 有Redis时使用集群额度，嵌入式模式下退化为单节点本地限流；过期额度由 {@link RateLimiter} 自行定期清理
+ * 
+ * @author PregnancyApp Team
+ */
+@Configuration
+public class RateLimitConfig {
+
+    @Bean
+    public RateLimiter rateLimiter(ObjectProvider<StringRedisTemplate> redisTemplateProvider, RateLimitProperties properties) {
+        LocalRateLimitStore localStore = new LocalRateLimitStore();
+        StringRedisTemplate redisTemplate = redisTemplateProvider.getIfAvailable();
+        RateLimitStore store = redisTemplate != null ? new RedisRateLimitStore(redisTemplate) : localStore;
+        return new RateLimiter(store, localStore, properties);
+    }
+
+    @Bean
+    public CallerFamilyResolver callerFamilyResolver(FamilyMapper familyMapper, RateLimitProperties properties) {
+        return new CallerFamilyResolver(familyMapper, Duration.ofMillis(properties.getFamilyCacheTtlMillis()));
+    }
+
+    @Bean
+    public RateLimitAspect rateLimitAspect(RateLimiter rateLimiter, RateLimitProperties properties,
+                                           ClientIpResolver clientIpResolver, CallerFamilyResolver callerFamilyResolver) {
+        return new RateLimitAspect(rateLimiter, properties, clientIpResolver, callerFamilyResolver);
+    }
+}
@@ -0,0 +1,123 @@
+package com.pregnancyapp.config;
+
+import com.pregnancyapp.datasource.ReadWriteDataSourceProperties;
+import com.pregnancyapp.datasource.ReadWriteLoginListener;
+import com.pregnancyapp.datasource.ReadWriteRoutingDataSource;
+import com.pregnancyapp.datasource.PrimaryWriteInterceptor;
+import com.pregnancyapp.datasource.ReadWriteRoutingInterceptor;
+import com.pregnancyapp.datasource.ReplicaHealthChecker;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 读写分离数据源配置
+ * 主库沿用 spring.datasource 配置，从库由 app.datasource.read-write.replicas 配置
+ * 
+ * @author PregnancyApp Team
+ */
+@Configuration
+@EnableConfigurationProperties(ReadWriteDataSourceProperties.class)
+@ConditionalOnProperty(prefix = "app.datasource.read-write", name = "enabled", havingValue = "true")
+public class ReadWriteDataSourceConfig implements WebMvcConfigurer {
+
+    private final ReadWriteDataSourceProperties properties;
+
+    public ReadWriteDataSourceConfig(ReadWriteDataSourceProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * 主库连接池
+     */
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource) {
+        Map<String, DataSource> replicas = createReplicaDataSources();
+        ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource(replicas.keySet().stream().toList());
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(ReadWriteRoutingDataSource.PRIMARY_KEY, primaryDataSource);
+        routingDataSource.setTargetDataSources(targets);
+        routingDataSource.setDefaultTargetDataSource(primaryDataSource);
+        return routingDataSource;
+    }
+
+    /**
+     * 对外暴露的数据源
+     * 使用延迟连接代理，保证在事务只读标记设置之后才决定路由
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public ReplicaHealthChecker replicaHealthChecker(ReadWriteRoutingDataSource routingDataSource) {
+        return new ReplicaHealthChecker(routingDataSource, properties);
+    }
+
+    /**
+     * 创建从库连接池，连接池随路由数据源关闭
+     */
+    private Map<String, DataSource> createReplicaDataSources() {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < properties.getReplicas().size(); i++) {
+            ReadWriteDataSourceProperties.Replica replica = properties.getReplicas().get(i);
+            String key = replica.getName() != null ? replica.getName() : "replica-" + i;
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("PregnancyAppHikariCP-" + key);
+            dataSource.setJdbcUrl(replica.getUrl());
+            dataSource.setUsername(replica.getUsername());
+            dataSource.setPassword(replica.getPassword());
+            if (replica.getDriverClassName() != null) {
+                dataSource.setDriverClassName(replica.getDriverClassName());
+            }
+            dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+            dataSource.setMinimumIdle(replica.getMinimumIdle());
+            dataSource.setReadOnly(replica.isReadOnly());
+            replicas.put(key, dataSource);
+        }
+        return replicas;
+    }
+
+    /**
+     * 由 MyBatis-Plus 自动配置注册为插件
+     */
+    @Bean
+    public PrimaryWriteInterceptor primaryWriteInterceptor() {
+        return new PrimaryWriteInterceptor();
+    }
+
+    @Bean
+    public ReadWriteLoginListener readWriteLoginListener() {
+        return new ReadWriteLoginListener();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ReadWriteRoutingInterceptor(properties))
+                .addPathPatterns("/**")
+                .order(Ordered.HIGHEST_PRECEDENCE);
+    }
+}
@@ -2,7 +2,7 @@ package com.pregnancyapp.config;
 
 import cn.dev33.satoken.interceptor.SaInterceptor;
 import cn.dev33.satoken.router.SaRouter;
-import cn.dev33.satoken.stp.StpUtil;
+import com.pregnancyapp.security.RequestLoginId;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -36,8 +36,8 @@ public class SaTokenConfig implements WebMvcConfigurer {
                 .notMatch("/actuator/**", "/health")
                 // 排除公开接口
                 .notMatch("/public/**")
-                // 执行认证函数
-                .check(r -> StpUtil.checkLogin());
+                // 执行认证函数，登录ID缓存到请求属性供限流等后续环节复用
+                .check(r -> RequestLoginId.require());
         })).addPathPatterns("/**");
     }
 }
\ No newline at end of file
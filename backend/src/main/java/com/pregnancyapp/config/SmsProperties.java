@@ -0,0 +1,45 @@
+package com.pregnancyapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 短信配置（阿里云短信服务）
+ * 
+ * @author PregnancyApp Team
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.sms")
+public class SmsProperties {
+
+    /**
+     * 是否真实下发短信，关闭时验证码只写日志（本地开发、嵌入式部署）
+     */
+    private boolean enabled = true;
+
+    /**
+     * 短信服务接入地址
+     */
+    private String endpoint = "https://dysmsapi.aliyuncs.com/";
+
+    private String accessKey;
+
+    private String secretKey;
+
+    /**
+     * 短信签名
+     */
+    private String signName;
+
+    /**
+     * 验证码短信模板，模板变量为 ${code}
+     */
+    private String templateCode;
+
+    /**
+     * 请求超时（毫秒）
+     */
+    private int timeoutMillis = 5000;
+}
@@ -0,0 +1,32 @@
+package com.pregnancyapp.config;
+
+import com.pregnancyapp.datasource.SqliteTransactionModeDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * SQLite事务模式配置
+ * 连接SQLite的连接池（嵌入式为自动配置的数据源，rw-local 为主库连接池）按事务只读声明选择 IMMEDIATE/DEFERRED 事务模式；
+ * 连接其他数据库时不做处理
+ *
+ * @author PregnancyApp Team
+ */
+@Configuration
+public class SqliteTransactionModeConfig {
+
+    @Bean
+    public static BeanPostProcessor sqliteTransactionModePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource && dataSource.getJdbcUrl() != null
+                        && dataSource.getJdbcUrl().startsWith("jdbc:sqlite:")) {
+                    return new SqliteTransactionModeDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
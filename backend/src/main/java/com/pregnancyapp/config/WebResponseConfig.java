@@ -0,0 +1,71 @@
+package com.pregnancyapp.config;
+
+import com.alibaba.fastjson2.JSONWriter;
+import com.alibaba.fastjson2.support.config.FastJsonConfig;
+import com.alibaba.fastjson2.support.spring6.http.converter.FastJsonHttpMessageConverter;
+import com.pregnancyapp.common.Result;
+import com.pregnancyapp.web.ResultHttpMessageConverter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * 响应写出配置
+ * 可选启用fastjson2作为JSON转换器，并在其前面注册 {@link ResultHttpMessageConverter}
+ * 
+ * @author PregnancyApp Team
+ */
+@Slf4j
+@Configuration
+public class WebResponseConfig implements WebMvcConfigurer {
+
+    @Value("${app.response.fastjson-enabled:false}")
+    private boolean fastjsonEnabled;
+
+    @Value("${app.response.template-cache-size:256}")
+    private int templateCacheSize;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        if (fastjsonEnabled) {
+            converters.add(indexOfJackson(converters), fastJsonHttpMessageConverter());
+            log.info("已启用fastjson2响应转换器");
+        }
+        for (int i = 0; i < converters.size(); i++) {
+            HttpMessageConverter<?> converter = converters.get(i);
+            if (converter.canWrite(Result.class, MediaType.APPLICATION_JSON)) {
+                converters.add(i, new ResultHttpMessageConverter((HttpMessageConverter<Object>) converter, templateCacheSize));
+                return;
+            }
+        }
+    }
+
+    private FastJsonHttpMessageConverter fastJsonHttpMessageConverter() {
+        FastJsonConfig config = new FastJsonConfig();
+        config.setDateFormat("yyyy-MM-dd HH:mm:ss");
+        config.setCharset(StandardCharsets.UTF_8);
+        config.setWriterFeatures(JSONWriter.Feature.WriteBigDecimalAsPlain);
+        FastJsonHttpMessageConverter converter = new FastJsonHttpMessageConverter();
+        converter.setFastJsonConfig(config);
+        converter.setDefaultCharset(StandardCharsets.UTF_8);
+        converter.setSupportedMediaTypes(List.of(MediaType.APPLICATION_JSON));
+        return converter;
+    }
+
+    private int indexOfJackson(List<HttpMessageConverter<?>> converters) {
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i) instanceof MappingJackson2HttpMessageConverter) {
+                return i;
+            }
+        }
+        return converters.size();
+    }
+}
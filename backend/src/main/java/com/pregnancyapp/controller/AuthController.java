@@ -3,11 +3,20 @@ package com.pregnancyapp.controller;
 import cn.dev33.satoken.annotation.SaIgnore;
 import cn.dev33.satoken.stp.StpUtil;
 import com.pregnancyapp.common.Result;
+import com.pregnancyapp.common.ResultCode;
 import com.pregnancyapp.dto.request.LoginRequest;
 import com.pregnancyapp.dto.request.RegisterRequest;
 import com.pregnancyapp.dto.request.SendCodeRequest;
 import com.pregnancyapp.dto.response.LoginResponse;
+import com.pregnancyapp.exception.BusinessException;
+import com.pregnancyapp.ratelimit.RateLimit;
+import com.pregnancyapp.ratelimit.RateLimitAlgorithm;
+import com.pregnancyapp.ratelimit.RateLimitKeyType;
+import com.pregnancyapp.security.ClientIpResolver;
+import com.pregnancyapp.security.PhoneBloomFilter;
+import com.pregnancyapp.security.VerifyCodeGuard;
 import com.pregnancyapp.service.AuthService;
+import com.pregnancyapp.web.ConditionalGet;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -15,7 +24,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 认证控制器
@@ -31,12 +42,23 @@ import jakarta.validation.Valid;
 public class AuthController {
 
     private final AuthService authService;
+    private final PhoneBloomFilter phoneBloomFilter;
+    private final VerifyCodeGuard verifyCodeGuard;
+    private final ClientIpResolver clientIpResolver;
 
     @SaIgnore
+    @RateLimit(keyType = RateLimitKeyType.IP, algorithm = RateLimitAlgorithm.SLIDING_WINDOW, permits = 10, period = 1, unit = TimeUnit.MINUTES)
     @PostMapping("/send-code")
     @Operation(summary = "发送验证码", description = "发送短信验证码")
-    public Result<Void> sendCode(@Valid @RequestBody SendCodeRequest request) {
+    public Result<Void> sendCode(@Valid @RequestBody SendCodeRequest request, HttpServletRequest httpRequest) {
         log.info("发送验证码请求: {}", request.getPhone());
+        String clientIp = clientIpResolver.resolve(httpRequest);
+        verifyCodeGuard.checkAllowed(request.getPhone(), clientIp);
+        // 登录、重置验证码只发给已注册手机号，过滤器判定不存在时直接拒绝；注册验证码的判断在服务内同样先查过滤器
+        if (!"register".equals(request.getType()) && !phoneBloomFilter.mightContain(request.getPhone())) {
+            verifyCodeGuard.recordFailure(request.getPhone(), clientIp);
+            throw new BusinessException(ResultCode.USER_NOT_FOUND);
+        }
         authService.sendVerifyCode(request.getPhone(), request.getType());
         return Result.success("验证码发送成功");
     }
@@ -44,18 +66,27 @@ public class AuthController {
     @SaIgnore
     @PostMapping("/register")
     @Operation(summary = "用户注册", description = "新用户注册")
-    public Result<LoginResponse> register(@Valid @RequestBody RegisterRequest request) {
+    public Result<LoginResponse> register(@Valid @RequestBody RegisterRequest request, HttpServletRequest httpRequest) {
         log.info("用户注册请求: {}", request.getPhone());
-        LoginResponse response = authService.register(request);
+        String clientIp = clientIpResolver.resolve(httpRequest);
+        LoginResponse response = verifyCodeGuard.guard(request.getPhone(), clientIp, () -> authService.register(request));
+        phoneBloomFilter.put(request.getPhone());
         return Result.success("注册成功", response);
     }
 
     @SaIgnore
     @PostMapping("/login")
     @Operation(summary = "用户登录", description = "用户登录认证")
-    public Result<LoginResponse> login(@Valid @RequestBody LoginRequest request) {
+    public Result<LoginResponse> login(@Valid @RequestBody LoginRequest request, HttpServletRequest httpRequest) {
         log.info("用户登录请求: {}", request.getPhone());
-        LoginResponse response = authService.login(request);
+        String clientIp = clientIpResolver.resolve(httpRequest);
+        LoginResponse response = verifyCodeGuard.guard(request.getPhone(), clientIp, () -> {
+            // 未注册手机号直接拒绝，不查库也不触发Sa-Token登录
+            if (!phoneBloomFilter.mightContain(request.getPhone())) {
+                throw new BusinessException(ResultCode.USER_NOT_FOUND);
+            }
+            return authService.login(request);
+        });
         return Result.success("登录成功", response);
     }
 
@@ -68,6 +99,7 @@ public class AuthController {
         return Result.success("退出成功");
     }
 
+    @ConditionalGet
     @GetMapping("/info")
     @Operation(summary = "获取用户信息", description = "获取当前登录用户信息")
     public Result<LoginResponse> getUserInfo() {
@@ -0,0 +1,89 @@
+package com.pregnancyapp.controller;
+
+import cn.dev33.satoken.stp.StpUtil;
+import com.pregnancyapp.common.Result;
+import com.pregnancyapp.common.ResultCode;
+import com.pregnancyapp.dto.response.ExportJobResponse;
+import com.pregnancyapp.export.ExportFormat;
+import com.pregnancyapp.ratelimit.RateLimit;
+import com.pregnancyapp.ratelimit.RateLimitAlgorithm;
+import com.pregnancyapp.service.DataExportService;
+import com.pregnancyapp.web.ConditionalGet;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 数据导出控制器
+ * 
+ * @author PregnancyApp Team
+ */
+@Slf4j
+@RestController
+@RequestMapping("/export")
+@RequiredArgsConstructor
+@Tag(name = "数据导出", description = "孕期数据导出相关接口")
+public class DataExportController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final DataExportService dataExportService;
+
+    @RateLimit(permits = 3, period = 1, unit = TimeUnit.MINUTES)
+    @GetMapping("/records")
+    @Operation(summary = "流式导出孕期数据", description = "format=ndjson 仅导出记录，format=zip 同时打包相册照片")
+    public ResponseEntity<StreamingResponseBody> exportRecords(@RequestParam(defaultValue = "ndjson") String format) {
+        Long userId = StpUtil.getLoginIdAsLong();
+        ExportFormat exportFormat = "zip".equalsIgnoreCase(format) ? ExportFormat.ZIP : ExportFormat.NDJSON;
+        log.info("流式导出孕期数据: userId={}, format={}", userId, exportFormat);
+        String fileName = "pregnancy-export-" + userId + (exportFormat == ExportFormat.ZIP ? ".zip" : ".ndjson");
+        return ResponseEntity.ok()
+                .contentType(exportFormat == ExportFormat.ZIP ? MediaType.APPLICATION_OCTET_STREAM : NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(dataExportService.openExport(userId, exportFormat)::writeTo);
+    }
+
+    @RateLimit(algorithm = RateLimitAlgorithm.SLIDING_WINDOW, permits = 5, period = 1, unit = TimeUnit.HOURS)
+    @PostMapping("/jobs")
+    @Operation(summary = "创建导出任务", description = "后台生成ZIP文件，适合历史数据较多的用户")
+    public Result<ExportJobResponse> createJob() {
+        Long userId = StpUtil.getLoginIdAsLong();
+        return Result.success(dataExportService.createJob(userId));
+    }
+
+    @ConditionalGet
+    @GetMapping("/jobs/{jobId}")
+    @Operation(summary = "查询导出任务", description = "查询后台导出任务状态")
+    public Result<ExportJobResponse> getJob(@PathVariable String jobId) {
+        Long userId = StpUtil.getLoginIdAsLong();
+        ExportJobResponse job = dataExportService.getJob(userId, jobId);
+        return job != null ? Result.success(job) : Result.error(ResultCode.NOT_FOUND);
+    }
+
+    @GetMapping("/jobs/{jobId}/file")
+    @Operation(summary = "下载导出文件", description = "支持Range请求断点续传")
+    public ResponseEntity<Resource> downloadJobFile(@PathVariable String jobId) {
+        Long userId = StpUtil.getLoginIdAsLong();
+        Path file = dataExportService.getJobFile(userId, jobId);
+        if (file == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(file.getFileName().toString()).build().toString())
+                .body(new FileSystemResource(file));
+    }
+}
@@ -0,0 +1,46 @@
+package com.pregnancyapp.controller;
+
+import cn.dev33.satoken.stp.StpUtil;
+import com.pregnancyapp.analytics.MoodTrendSnapshot;
+import com.pregnancyapp.common.Result;
+import com.pregnancyapp.dto.request.MoodDiaryRequest;
+import com.pregnancyapp.entity.MoodDiary;
+import com.pregnancyapp.service.MoodDiaryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import jakarta.validation.Valid;
+
+/**
+ * 心情日记控制器
+ * 
+ * @author PregnancyApp Team
+ */
+@Slf4j
+@RestController
+@RequestMapping("/mood-diaries")
+@RequiredArgsConstructor
+@Validated
+@Tag(name = "心情日记", description = "心情日记与心情趋势相关接口")
+public class MoodDiaryController {
+
+    private final MoodDiaryService moodDiaryService;
+
+    @PostMapping
+    @Operation(summary = "保存心情日记", description = "同一天重复提交视为修改")
+    public Result<MoodDiary> save(@Valid @RequestBody MoodDiaryRequest request) {
+        Long userId = StpUtil.getLoginIdAsLong();
+        return Result.success("保存成功", moodDiaryService.save(userId, request));
+    }
+
+    @GetMapping("/trend")
+    @Operation(summary = "获取心情趋势", description = "基于最近窗口的心情评分统计")
+    public Result<MoodTrendSnapshot> getTrend() {
+        Long userId = StpUtil.getLoginIdAsLong();
+        return Result.success(moodDiaryService.getTrend(userId));
+    }
+}
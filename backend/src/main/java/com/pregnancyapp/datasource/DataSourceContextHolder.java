@@ -0,0 +1,58 @@
+package com.pregnancyapp.datasource;
+
+/**
+ * 数据源路由上下文
+ * 保存当前线程的读写路由意图，以及写请求是否尚待记录写入时间，由拦截器在请求开始时设置、结束时清除
+ * 
+ * @author PregnancyApp Team
+ */
+public final class DataSourceContextHolder {
+
+    private static final ThreadLocal<DataSourceType> CONTEXT = new ThreadLocal<>();
+
+    private static final ThreadLocal<Boolean> WRITE_PENDING = new ThreadLocal<>();
+
+    private DataSourceContextHolder() {
+    }
+
+    /**
+     * 当前请求允许读从库
+     */
+    public static void useReplica() {
+        CONTEXT.set(DataSourceType.REPLICA);
+    }
+
+    /**
+     * 当前请求强制走主库（如用户刚写入，需要读己之写）
+     */
+    public static void usePrimary() {
+        CONTEXT.set(DataSourceType.PRIMARY);
+    }
+
+    public static DataSourceType get() {
+        return CONTEXT.get();
+    }
+
+    /**
+     * 当前为写请求，实际写入主库时需记录写入时间
+     */
+    public static void markWritePending() {
+        WRITE_PENDING.set(Boolean.TRUE);
+    }
+
+    /**
+     * 取出待记录标记，每个请求只返回一次true
+     */
+    public static boolean takeWritePending() {
+        if (WRITE_PENDING.get() == null) {
+            return false;
+        }
+        WRITE_PENDING.remove();
+        return true;
+    }
+
+    public static void clear() {
+        CONTEXT.remove();
+        WRITE_PENDING.remove();
+    }
+}
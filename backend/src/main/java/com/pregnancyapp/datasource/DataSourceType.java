@@ -0,0 +1,17 @@
+package com.pregnancyapp.datasource;
+
+/**
+ * 数据源类型枚举
+ * 
+ * @author PregnancyApp Team
+ */
+public enum DataSourceType {
+    /**
+     * 主库，承担所有写操作
+     */
+    PRIMARY,
+    /**
+     * 从库，承担只读事务和GET请求
+     */
+    REPLICA
+}
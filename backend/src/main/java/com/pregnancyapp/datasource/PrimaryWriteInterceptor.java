@@ -0,0 +1,39 @@
+package com.pregnancyapp.datasource;
+
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 写入检测插件
+ * 写请求执行第一条 INSERT/UPDATE/DELETE 时记录写入时间：处于事务中则在提交后记录，回滚不记录；
+ * 否则立即记录。同一请求只记录一次，只读的写请求不产生会话写入
+ *
+ * @author PregnancyApp Team
+ */
+@Intercepts(@Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}))
+public class PrimaryWriteInterceptor implements Interceptor {
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Object result = invocation.proceed();
+        if (DataSourceContextHolder.takeWritePending()) {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        ReadWriteRoutingInterceptor.markCurrentUserWrite();
+                    }
+                });
+            } else {
+                ReadWriteRoutingInterceptor.markCurrentUserWrite();
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,82 @@
+package com.pregnancyapp.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 读写分离配置
+ * 
+ * @author PregnancyApp Team
+ */
+@Data
+@ConfigurationProperties(prefix = "app.datasource.read-write")
+public class ReadWriteDataSourceProperties {
+
+    /**
+     * 是否启用读写分离
+     */
+    private boolean enabled = false;
+
+    /**
+     * 用户写入后粘滞主库的时长（秒），保证读己之写
+     */
+    private long stickySeconds = 5;
+
+    /**
+     * 从库允许的最大复制延迟（秒），超过则摘除
+     */
+    private long maxLagSeconds = 3;
+
+    /**
+     * 复制延迟检测间隔（毫秒）
+     */
+    private long healthCheckInterval = 5000;
+
+    /**
+     * 复制延迟查询语句，MySQL 8.0.22+ 可改为 SHOW REPLICA STATUS；
+     * 本地使用 SQLite 等替身时可配置为 SELECT 0 AS Seconds_Behind_Master
+     */
+    private String lagQuery = "SHOW SLAVE STATUS";
+
+    /**
+     * 复制延迟查询结果中表示延迟秒数的列名
+     */
+    private String lagColumn = "Seconds_Behind_Master";
+
+    /**
+     * 从库列表
+     */
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * 从库连接配置
+     */
+    @Data
+    public static class Replica {
+
+        /**
+         * 从库名称，用于日志与路由键
+         */
+        private String name;
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        private String driverClassName;
+
+        private int maximumPoolSize = 20;
+
+        private int minimumIdle = 5;
+
+        /**
+         * 连接是否设为只读；SQLite 驱动不允许建立连接后切换只读，使用 SQLite 替身时需关闭
+         */
+        private boolean readOnly = true;
+    }
+}
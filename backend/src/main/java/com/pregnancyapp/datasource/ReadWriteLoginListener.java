@@ -0,0 +1,25 @@
+package com.pregnancyapp.datasource;
+
+import cn.dev33.satoken.listener.SaTokenListenerForSimple;
+import cn.dev33.satoken.stp.SaLoginModel;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 登录事件监听
+ * 注册、登录请求开始时还没有会话，拦截器无法记录写入时间；
+ * 在登录成功时补记，使随后读取刚注册的用户、家庭数据时走主库
+ * 
+ * @author PregnancyApp Team
+ */
+@Slf4j
+public class ReadWriteLoginListener extends SaTokenListenerForSimple {
+
+    @Override
+    public void doLogin(String loginType, Object loginId, String tokenValue, SaLoginModel loginModel) {
+        try {
+            ReadWriteRoutingInterceptor.markWrite(loginId);
+        } catch (Exception e) {
+            log.warn("记录用户写入时间失败: {}", e.getMessage());
+        }
+    }
+}
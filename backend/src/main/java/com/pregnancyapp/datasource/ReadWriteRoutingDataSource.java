@@ -0,0 +1,99 @@
+package com.pregnancyapp.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 读写分离路由数据源
+ * 只读事务或被标记为读从库的请求路由到健康从库（轮询），其余全部路由到主库
+ * 
+ * @author PregnancyApp Team
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    public static final String PRIMARY_KEY = "primary";
+
+    private final List<String> replicaKeys;
+
+    private final Set<String> evictedReplicas = ConcurrentHashMap.newKeySet();
+
+    private final AtomicInteger counter = new AtomicInteger();
+
+    public ReadWriteRoutingDataSource(List<String> replicaKeys) {
+        this.replicaKeys = List.copyOf(replicaKeys);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        DataSourceType type = DataSourceContextHolder.get();
+        if (type == DataSourceType.PRIMARY) {
+            return PRIMARY_KEY;
+        }
+        if (type == DataSourceType.REPLICA || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            // 写事务中的读取必须留在主库
+            if (TransactionSynchronizationManager.isActualTransactionActive()
+                    && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                return PRIMARY_KEY;
+            }
+            return selectReplica();
+        }
+        return PRIMARY_KEY;
+    }
+
+    /**
+     * 轮询选择健康从库，全部摘除时回退主库
+     */
+    private String selectReplica() {
+        int size = replicaKeys.size();
+        int start = counter.getAndIncrement() & Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            String key = replicaKeys.get((start + i) % size);
+            if (!evictedReplicas.contains(key)) {
+                return key;
+            }
+        }
+        return PRIMARY_KEY;
+    }
+
+    /**
+     * 摘除从库
+     */
+    public void evict(String replicaKey) {
+        if (evictedReplicas.add(replicaKey)) {
+            log.warn("从库已摘除: {}", replicaKey);
+        }
+    }
+
+    /**
+     * 恢复从库
+     */
+    public void restore(String replicaKey) {
+        if (evictedReplicas.remove(replicaKey)) {
+            log.info("从库已恢复: {}", replicaKey);
+        }
+    }
+
+    public List<String> getReplicaKeys() {
+        return replicaKeys;
+    }
+
+    /**
+     * 关闭从库连接池，主库连接池由容器单独管理
+     */
+    @Override
+    public void destroy() throws Exception {
+        for (String key : replicaKeys) {
+            if (getResolvedDataSources().get(key) instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.pregnancyapp.datasource;
+
+import cn.dev33.satoken.session.SaSession;
+import cn.dev33.satoken.stp.StpUtil;
+import com.pregnancyapp.security.RequestLoginId;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * 读写路由拦截器
+ * GET请求默认读从库；写请求走主库，并在实际执行写语句时（{@link PrimaryWriteInterceptor}）于Sa-Token会话中
+ * 记录写入时间，响应返回前即已记录，客户端随后的读请求落在粘滞窗口内，窗口内该用户的读请求走主库；
+ * 未写库的写请求（如刷新令牌、校验失败）不访问会话存储
+ * 
+ * @author PregnancyApp Team
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ReadWriteRoutingInterceptor implements AsyncHandlerInterceptor {
+
+    /**
+     * Sa-Token会话中记录最后写入时间的键
+     */
+    public static final String LAST_WRITE_AT_KEY = "rw:lastWriteAt";
+
+    private final ReadWriteDataSourceProperties properties;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!isReadRequest(request)) {
+            DataSourceContextHolder.usePrimary();
+            DataSourceContextHolder.markWritePending();
+            return true;
+        }
+        if (isSticky()) {
+            DataSourceContextHolder.usePrimary();
+        } else {
+            DataSourceContextHolder.useReplica();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        DataSourceContextHolder.clear();
+    }
+
+    /**
+     * 异步请求在此释放容器线程，路由意图不能残留到该线程处理的下一个请求；
+     * 异步结果分派回来时会重新执行 preHandle
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        DataSourceContextHolder.clear();
+    }
+
+    /**
+     * 为当前请求的登录用户记录写入时间，失败只记日志（多读几秒从库的旧数据不影响写入本身）
+     */
+    static void markCurrentUserWrite() {
+        try {
+            Object loginId = RequestLoginId.get();
+            if (loginId != null) {
+                markWrite(loginId);
+            }
+        } catch (Exception e) {
+            log.warn("记录用户写入时间失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 记录指定用户的写入时间；登录注册请求在处理器内才产生会话，由 {@link ReadWriteLoginListener} 调用
+     */
+    static void markWrite(Object loginId) {
+        StpUtil.getSessionByLoginId(loginId).set(LAST_WRITE_AT_KEY, System.currentTimeMillis());
+    }
+
+    private boolean isReadRequest(HttpServletRequest request) {
+        String method = request.getMethod();
+        return "GET".equals(method) || "HEAD".equals(method);
+    }
+
+    /**
+     * 判断当前用户是否仍处于写后粘滞窗口内
+     */
+    private boolean isSticky() {
+        if (properties.getStickySeconds() <= 0) {
+            return false;
+        }
+        Object loginId = RequestLoginId.get();
+        if (loginId == null) {
+            return false;
+        }
+        SaSession session = StpUtil.getSessionByLoginId(loginId, false);
+        if (session == null) {
+            return false;
+        }
+        long lastWriteAt = session.get(LAST_WRITE_AT_KEY, 0L);
+        return System.currentTimeMillis() - lastWriteAt < properties.getStickySeconds() * 1000;
+    }
+}
@@ -0,0 +1,58 @@
+package com.pregnancyapp.datasource;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Map;
+
+/**
+ * 从库复制延迟检测
+ * 定时查询各从库的复制延迟，超过阈值或无法连接时摘除，恢复后重新加入
+ * 
+ * @author PregnancyApp Team
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ReplicaHealthChecker {
+
+    private final ReadWriteRoutingDataSource routingDataSource;
+
+    private final ReadWriteDataSourceProperties properties;
+
+    @Scheduled(fixedDelayString = "${app.datasource.read-write.health-check-interval:5000}")
+    public void check() {
+        Map<Object, DataSource> dataSources = routingDataSource.getResolvedDataSources();
+        for (String key : routingDataSource.getReplicaKeys()) {
+            long lag = queryLag(key, dataSources.get(key));
+            if (lag < 0 || lag > properties.getMaxLagSeconds()) {
+                routingDataSource.evict(key);
+            } else {
+                routingDataSource.restore(key);
+            }
+        }
+    }
+
+    /**
+     * 查询复制延迟（秒），复制中断或查询失败返回-1
+     */
+    private long queryLag(String key, DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(properties.getLagQuery())) {
+            if (!rs.next()) {
+                log.warn("从库 {} 未返回复制状态", key);
+                return -1;
+            }
+            long lag = rs.getLong(properties.getLagColumn());
+            return rs.wasNull() ? -1 : lag;
+        } catch (Exception e) {
+            log.warn("从库 {} 复制延迟检测失败: {}", key, e.getMessage());
+            return -1;
+        }
+    }
+}
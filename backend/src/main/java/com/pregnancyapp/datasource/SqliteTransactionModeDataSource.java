@@ -0,0 +1,91 @@
+package com.pregnancyapp.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.sqlite.SQLiteConfig;
+import org.sqlite.SQLiteConnection;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * SQLite事务模式数据源
+ * 写事务以 BEGIN IMMEDIATE 开启，在 busy_timeout 内排队获取写锁，避免事务内先读后写升级锁时直接返回 SQLITE_BUSY；
+ * 只读事务（如导出、布隆过滤器加载）仍以 DEFERRED 开启，不占用写锁、不阻塞其他写入。
+ * sqlite-jdbc 不允许连接建立后切换只读标志，这里记下事务的只读声明，开启事务时据此选择模式；
+ * sqlite-jdbc 在 commit/rollback 后会立即按当前模式重新 BEGIN，提交前先切回 DEFERRED，
+ * 否则连接在事务提交回调期间仍持有写锁，回调中开启的新写事务会一直等到超时
+ *
+ * @author PregnancyApp Team
+ */
+public class SqliteTransactionModeDataSource extends DelegatingDataSource {
+
+    public SqliteTransactionModeDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private static Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                new TransactionModeHandler(connection));
+    }
+
+    private static class TransactionModeHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        private boolean readOnly;
+
+        TransactionModeHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "setReadOnly":
+                    readOnly = (Boolean) args[0];
+                    return null;
+                case "isReadOnly":
+                    return readOnly;
+                case "setAutoCommit":
+                    if (!(Boolean) args[0]) {
+                        target.unwrap(SQLiteConnection.class).getConnectionConfig().setTransactionMode(
+                                readOnly ? SQLiteConfig.TransactionMode.DEFERRED : SQLiteConfig.TransactionMode.IMMEDIATE);
+                    }
+                    break;
+                case "commit":
+                case "rollback":
+                    if (args == null) {
+                        target.unwrap(SQLiteConnection.class).getConnectionConfig()
+                                .setTransactionMode(SQLiteConfig.TransactionMode.DEFERRED);
+                    }
+                    break;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.pregnancyapp.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PastOrPresent;
+import jakarta.validation.constraints.Size;
+import java.time.LocalDate;
+
+/**
+ * 心情日记保存请求DTO
+ * 
+ * @author PregnancyApp Team
+ */
+@Data
+@Schema(description = "心情日记保存请求")
+public class MoodDiaryRequest {
+
+    @Schema(description = "日记日期，同一天重复提交视为修改", example = "2024-03-01")
+    @NotNull(message = "日记日期不能为空")
+    @PastOrPresent(message = "日记日期不能晚于今天")
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate diaryDate;
+
+    @Schema(description = "心情评分(1-10)", example = "7")
+    @NotNull(message = "心情评分不能为空")
+    @Min(value = 1, message = "心情评分范围为1-10")
+    @Max(value = 10, message = "心情评分范围为1-10")
+    private Integer moodScore;
+
+    @Schema(description = "心情标签JSON", example = "[\"开心\",\"期待\"]")
+    private String moodTags;
+
+    @Schema(description = "日记内容")
+    @Size(max = 5000, message = "日记内容不能超过5000字")
+    private String content;
+
+    @Schema(description = "天气", example = "晴")
+    private String weather;
+
+    @Schema(description = "是否分享给家人：1-是，0-否", example = "1")
+    private Integer sharedWithFamily;
+}
@@ -0,0 +1,48 @@
+package com.pregnancyapp.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 数据导出任务响应DTO
+ * 
+ * @author PregnancyApp Team
+ */
+@Data
+@Schema(description = "数据导出任务")
+public class ExportJobResponse {
+
+    @Schema(description = "任务ID")
+    private String jobId;
+
+    @Schema(description = "任务状态：running-进行中，completed-已完成，failed-失败")
+    private String status;
+
+    @Schema(description = "文件大小(字节)")
+    private Long fileSize;
+
+    @Schema(description = "失败原因")
+    private String errorMessage;
+
+    @Schema(description = "创建时间")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime createdAt;
+
+    @Schema(description = "完成时间")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime finishedAt;
+
+    @Schema(description = "文件过期时间，过期后文件被删除")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime expiresAt;
+
+    /**
+     * 任务状态
+     */
+    public static final String STATUS_RUNNING = "running";
+    public static final String STATUS_COMPLETED = "completed";
+    public static final String STATUS_FAILED = "failed";
+}
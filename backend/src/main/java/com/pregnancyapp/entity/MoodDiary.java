@@ -0,0 +1,80 @@
+package com.pregnancyapp.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 心情日记实体类
+ * 
+ * @author PregnancyApp Team
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@TableName("mood_diaries")
+@Schema(description = "心情日记")
+public class MoodDiary implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Schema(description = "日记ID")
+    @TableId(value = "id", type = IdType.ASSIGN_ID)
+    private Long id;
+
+    @Schema(description = "用户ID")
+    @TableField("user_id")
+    private Long userId;
+
+    @Schema(description = "日记日期")
+    @TableField("diary_date")
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate diaryDate;
+
+    @Schema(description = "心情评分(1-10)")
+    @TableField("mood_score")
+    private Integer moodScore;
+
+    @Schema(description = "心情标签JSON")
+    @TableField("mood_tags")
+    private String moodTags;
+
+    @Schema(description = "日记内容")
+    @TableField("content")
+    private String content;
+
+    @Schema(description = "照片JSON")
+    @TableField("photos")
+    private String photos;
+
+    @Schema(description = "语音文件URL")
+    @TableField("voice_url")
+    private String voiceUrl;
+
+    @Schema(description = "语音时长(秒)")
+    @TableField("voice_duration")
+    private Integer voiceDuration;
+
+    @Schema(description = "天气")
+    @TableField("weather")
+    private String weather;
+
+    @Schema(description = "是否分享给家人：1-是，0-否")
+    @TableField("shared_with_family")
+    private Integer sharedWithFamily;
+
+    @Schema(description = "创建时间")
+    @TableField(value = "created_at", fill = FieldFill.INSERT)
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime createdAt;
+
+    @Schema(description = "更新时间")
+    @TableField(value = "updated_at", fill = FieldFill.INSERT_UPDATE)
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,27 @@
+package com.pregnancyapp.exception;
+
+import com.pregnancyapp.common.ResultCode;
+import lombok.Getter;
+
+/**
+ * 业务异常
+ * 
+ * @author PregnancyApp Team
+ */
+@Getter
+public class BusinessException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final ResultCode resultCode;
+
+    public BusinessException(ResultCode resultCode) {
+        super(resultCode.getMessage());
+        this.resultCode = resultCode;
+    }
+
+    public BusinessException(ResultCode resultCode, String message) {
+        super(message);
+        this.resultCode = resultCode;
+    }
+}
@@ -0,0 +1,25 @@
+package com.pregnancyapp.exception;
+
+import com.pregnancyapp.common.Result;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * 全局异常处理
+ * 
+ * @author PregnancyApp Team
+ */
+@Slf4j
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    /**
+     * 业务异常
+     */
+    @ExceptionHandler(BusinessException.class)
+    public Result<Void> handleBusinessException(BusinessException e) {
+        log.warn("业务异常: code={}, message={}", e.getResultCode().getCode(), e.getMessage());
+        return Result.error(e.getResultCode().getCode(), e.getMessage());
+    }
+}
@@ -0,0 +1,210 @@
+package com.pregnancyapp.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.pregnancyapp.mapper.DataExportMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 用户数据流式导出
+ * 通过MyBatis游标逐行读取并直接写入输出流，内存占用与历史数据量无关
+ * 
+ * @author PregnancyApp Team
+ */
+@Slf4j
+@Component
+public class DataExportWriter {
+
+    private static final String UPLOAD_SEGMENT = "/uploads/";
+
+    /**
+     * 每页读取的照片数，只有一页照片路径驻留内存
+     */
+    private static final int PHOTO_PAGE_SIZE = 200;
+
+    private final DataExportMapper dataExportMapper;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter rowWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final Path uploadRoot;
+
+    public DataExportWriter(DataExportMapper dataExportMapper,
+                            ObjectMapper objectMapper,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${app.upload.path}") String uploadPath) {
+        this.dataExportMapper = dataExportMapper;
+        this.objectMapper = objectMapper;
+        // 逐行写入时不在每条记录后刷新，由底层缓冲决定刷新时机
+        this.rowWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        // 只读事务：游标需要在事务内消费，同时保证各分类数据来自同一快照
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.uploadRoot = Paths.get(uploadPath).toAbsolutePath().normalize();
+    }
+
+    /**
+     * 导出全部分类为单个NDJSON流，每行格式为 {"section": 表名, "data": 记录}
+     */
+    public void writeNdjson(Long userId, OutputStream out) {
+        transactionTemplate.executeWithoutResult(status -> {
+            try (JsonGenerator generator = createGenerator(out)) {
+                for (ExportSection section : ExportSection.values()) {
+                    writeSection(userId, section, generator, true);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * 导出ZIP：每个分类一个NDJSON文件，相册照片放在 photos/ 目录下
+     * 分类数据在只读事务内通过游标写出；照片在事务结束、连接归还之后按主键分页读取，每读一页即复制该页文件
+     */
+    public void writeZip(Long userId, OutputStream out) {
+        try (ZipOutputStream zip = new ZipOutputStream(StreamUtils.nonClosing(out))) {
+            transactionTemplate.executeWithoutResult(status -> {
+                try {
+                    for (ExportSection section : ExportSection.values()) {
+                        zip.setLevel(Deflater.DEFAULT_COMPRESSION);
+                        zip.putNextEntry(new ZipEntry(section.getTable() + ".ndjson"));
+                        try (JsonGenerator generator = createGenerator(zip)) {
+                            writeSection(userId, section, generator, false);
+                        }
+                        zip.closeEntry();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writePhotos(userId, zip);
+            zip.finish();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private JsonGenerator createGenerator(OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+        return generator;
+    }
+
+    private void writeSection(Long userId, ExportSection section, JsonGenerator generator, boolean wrap) throws IOException {
+        try (Cursor<Map<String, Object>> cursor = dataExportMapper.streamUserRows(section.getTable(), section.getOwnerColumn(), userId)) {
+            for (Map<String, Object> row : cursor) {
+                for (String column : section.getJsonColumns()) {
+                    row.computeIfPresent(column, (key, value) -> parseJson(value));
+                }
+                if (wrap) {
+                    Map<String, Object> line = new LinkedHashMap<>(4);
+                    line.put("section", section.getTable());
+                    line.put("data", row);
+                    rowWriter.writeValue(generator, line);
+                } else {
+                    rowWriter.writeValue(generator, row);
+                }
+            }
+        }
+        generator.flush();
+    }
+
+    /**
+     * JSON列原样嵌入，非法内容按字符串导出
+     */
+    private Object parseJson(Object value) {
+        if (!(value instanceof String text)) {
+            return value;
+        }
+        try {
+            return objectMapper.readTree(text);
+        } catch (IOException e) {
+            return text;
+        }
+    }
+
+    /**
+     * 复制相册照片，照片本身已压缩，使用不压缩级别并通过文件通道传输
+     * 每页查询单独借还连接，复制文件期间不占用连接
+     */
+    private void writePhotos(Long userId, ZipOutputStream zip) throws IOException {
+        zip.setLevel(Deflater.NO_COMPRESSION);
+        WritableByteChannel target = Channels.newChannel(zip);
+        long afterId = 0;
+        List<Map<String, Object>> page;
+        do {
+            page = dataExportMapper.selectAlbumPhotoPage(userId, afterId, PHOTO_PAGE_SIZE);
+            for (Map<String, Object> row : page) {
+                afterId = ((Number) row.get("id")).longValue();
+                Path file = resolvePhoto((String) row.get("photo_url"));
+                if (file == null) {
+                    log.warn("导出时照片路径无效: userId={}, albumId={}", userId, afterId);
+                    continue;
+                }
+                if (!Files.isRegularFile(file)) {
+                    log.warn("导出时照片不存在: userId={}, albumId={}", userId, afterId);
+                    continue;
+                }
+                zip.putNextEntry(new ZipEntry("photos/" + afterId + "_" + file.getFileName()));
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                    long size = channel.size();
+                    long position = 0;
+                    while (position < size) {
+                        position += channel.transferTo(position, size - position, target);
+                    }
+                }
+                zip.closeEntry();
+            }
+        } while (page.size() == PHOTO_PAGE_SIZE);
+    }
+
+    /**
+     * 将照片URL解析为上传目录下的文件，越出上传目录的路径一律拒绝
+     */
+    private Path resolvePhoto(String photoUrl) {
+        if (photoUrl == null || photoUrl.isBlank()) {
+            return null;
+        }
+        String path;
+        try {
+            path = URI.create(photoUrl).getPath();
+        } catch (IllegalArgumentException e) {
+            path = photoUrl;
+        }
+        if (path == null) {
+            return null;
+        }
+        int index = path.indexOf(UPLOAD_SEGMENT);
+        String relative = index >= 0 ? path.substring(index + UPLOAD_SEGMENT.length()) : path.replaceFirst("^/+", "");
+        Path file = uploadRoot.resolve(relative).normalize();
+        return file.startsWith(uploadRoot) ? file : null;
+    }
+}
@@ -0,0 +1,17 @@
+package com.pregnancyapp.export;
+
+/**
+ * 导出格式
+ * 
+ * @author PregnancyApp Team
+ */
+public enum ExportFormat {
+    /**
+     * 每行一条JSON记录，不含照片
+     */
+    NDJSON,
+    /**
+     * 按分类拆分的NDJSON文件加相册照片
+     */
+    ZIP
+}
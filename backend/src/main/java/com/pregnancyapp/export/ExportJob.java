@@ -0,0 +1,42 @@
+package com.pregnancyapp.export;
+
+import com.pregnancyapp.dto.response.ExportJobResponse;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * 后台导出任务状态
+ * 不可变快照，状态变化时整体替换后写回 {@link ExportJobStore}，并发读取方不会看到写了一半的任务
+ * 
+ * @author PregnancyApp Team
+ */
+public record ExportJob(String jobId, Long userId, String status, Long fileSize, String errorMessage,
+                        LocalDateTime createdAt, LocalDateTime finishedAt, LocalDateTime expiresAt) {
+
+    public static ExportJob running(Long userId, String jobId) {
+        return new ExportJob(jobId, userId, ExportJobResponse.STATUS_RUNNING, null, null, LocalDateTime.now(), null, null);
+    }
+
+    public ExportJob completed(long fileSize, Duration retention) {
+        LocalDateTime now = LocalDateTime.now();
+        return new ExportJob(jobId, userId, ExportJobResponse.STATUS_COMPLETED, fileSize, null, createdAt, now, now.plus(retention));
+    }
+
+    public ExportJob failed(String errorMessage, Duration retention) {
+        LocalDateTime now = LocalDateTime.now();
+        return new ExportJob(jobId, userId, ExportJobResponse.STATUS_FAILED, null, errorMessage, createdAt, now, now.plus(retention));
+    }
+
+    public ExportJobResponse toResponse() {
+        ExportJobResponse response = new ExportJobResponse();
+        response.setJobId(jobId);
+        response.setStatus(status);
+        response.setFileSize(fileSize);
+        response.setErrorMessage(errorMessage);
+        response.setCreatedAt(createdAt);
+        response.setFinishedAt(finishedAt);
+        response.setExpiresAt(expiresAt);
+        return response;
+    }
+}
@@ -0,0 +1,29 @@
+package com.pregnancyapp.export;
+
+import java.time.Duration;
+
+/**
+ * 后台导出任务状态存储
+ * 
+ * @author PregnancyApp Team
+ */
+public interface ExportJobStore {
+
+    /**
+     * 保存任务快照，覆盖同一任务的旧快照
+     *
+     * @param ttl 快照保留时长，到期自动删除
+     */
+    void save(ExportJob job, Duration ttl);
+
+    /**
+     * 查询任务快照，不存在或已过期返回null
+     */
+    ExportJob get(Long userId, String jobId);
+
+    void remove(Long userId, String jobId);
+
+    static String key(Long userId, String jobId) {
+        return "export_job:" + userId + ":" + jobId;
+    }
+}
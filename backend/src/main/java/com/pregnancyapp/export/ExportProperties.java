@@ -0,0 +1,34 @@
+package com.pregnancyapp.export;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 数据导出配置
+ * 
+ * @author PregnancyApp Team
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.export")
+public class ExportProperties {
+
+    /**
+     * 后台导出任务文件目录
+     * 多节点部署时须为各节点共享的存储（如NFS挂载），否则只有生成文件的节点能提供下载
+     */
+    private String path;
+
+    /**
+     * 全局同时进行的导出数（流式导出与后台任务合计），每个导出在读取期间占用一个数据库连接
+     */
+    private int maxConcurrent = 2;
+
+    /**
+     * 导出文件与任务状态的保留时长，过期后删除
+     */
+    private Duration retention = Duration.ofHours(24);
+}
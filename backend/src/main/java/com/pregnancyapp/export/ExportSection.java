@@ -0,0 +1,38 @@
+package com.pregnancyapp.export;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Set;
+
+/**
+ * 导出数据分类
+ * 
+ * @author PregnancyApp Team
+ */
+@Getter
+@AllArgsConstructor
+public enum ExportSection {
+
+    PREGNANCY_INFO("pregnancy_info", "user_id", Set.of()),
+    CHECKUP_RECORDS("checkup_records", "user_id", Set.of("results", "attachments")),
+    HEALTH_DATA("health_data", "user_id", Set.of("value")),
+    DIET_RECORDS("user_diet_records", "user_id", Set.of()),
+    MOOD_DIARIES("mood_diaries", "user_id", Set.of("mood_tags", "photos")),
+    FAMILY_ALBUMS("family_albums", "uploader_id", Set.of("tags"));
+
+    /**
+     * 表名
+     */
+    private final String table;
+
+    /**
+     * 归属用户列
+     */
+    private final String ownerColumn;
+
+    /**
+     * JSON类型列，导出时原样嵌入而非作为字符串转义
+     */
+    private final Set<String> jsonColumns;
+}
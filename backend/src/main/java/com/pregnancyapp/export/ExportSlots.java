@@ -0,0 +1,57 @@
+package com.pregnancyapp.export;
+
+import com.pregnancyapp.common.ResultCode;
+import com.pregnancyapp.exception.BusinessException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 全局导出名额
+ * 导出读取期间独占一个数据库连接并持有只读事务，名额用尽时直接拒绝而不排队，
+ * 避免导出挤占业务请求的连接池
+ *
+ * @author PregnancyApp Team
+ */
+@Component
+public class ExportSlots {
+
+    private final Semaphore semaphore;
+
+    public ExportSlots(ExportProperties properties) {
+        this.semaphore = new Semaphore(Math.max(1, properties.getMaxConcurrent()));
+    }
+
+    /**
+     * 占用一个名额，用尽时抛出 {@link ResultCode#EXPORT_BUSY}
+     */
+    public Permit acquire() {
+        if (!semaphore.tryAcquire()) {
+            throw new BusinessException(ResultCode.EXPORT_BUSY);
+        }
+        return new Permit();
+    }
+
+    public int available() {
+        return semaphore.availablePermits();
+    }
+
+    /**
+     * 导出名额，重复关闭只归还一次
+     */
+    public final class Permit implements AutoCloseable {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit() {
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                semaphore.release();
+            }
+        }
+    }
+}
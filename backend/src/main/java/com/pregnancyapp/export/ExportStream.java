@@ -0,0 +1,15 @@
+package com.pregnancyapp.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 已占用导出名额的写出动作，写出结束（无论成功与否）后归还名额
+ * 
+ * @author PregnancyApp Team
+ */
+@FunctionalInterface
+public interface ExportStream {
+
+    void writeTo(OutputStream out) throws IOException;
+}
@@ -0,0 +1,47 @@
+package com.pregnancyapp.export;
+
+import cn.hutool.cache.CacheUtil;
+import cn.hutool.cache.impl.TimedCache;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 进程内导出任务状态存储，用于嵌入式单节点模式
+ * 
+ * @author PregnancyApp Team
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.embedded", name = "enabled", havingValue = "true")
+public class LocalExportJobStore implements ExportJobStore {
+
+    /**
+     * 默认有效期仅作兜底，保存时总是指定有效期
+     */
+    private final TimedCache<String, ExportJob> cache = CacheUtil.newTimedCache(Duration.ofHours(24).toMillis());
+
+    @Override
+    public void save(ExportJob job, Duration ttl) {
+        cache.put(ExportJobStore.key(job.userId(), job.jobId()), job, ttl.toMillis());
+    }
+
+    @Override
+    public ExportJob get(Long userId, String jobId) {
+        return cache.get(ExportJobStore.key(userId, jobId), false);
+    }
+
+    @Override
+    public void remove(Long userId, String jobId) {
+        cache.remove(ExportJobStore.key(userId, jobId));
+    }
+
+    /**
+     * 每分钟清理一次过期任务；不使用 TimedCache.schedulePrune，其全局定时线程为非守护线程，会阻止进程退出
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void prune() {
+        cache.prune();
+    }
+}
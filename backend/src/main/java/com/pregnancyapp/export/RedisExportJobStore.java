@@ -0,0 +1,38 @@
+package com.pregnancyapp.export;
+
+import com.alibaba.fastjson2.JSON;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 基于Redis的导出任务状态存储，任一节点均可查询其他节点创建的任务
+ * 
+ * @author PregnancyApp Team
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.embedded", name = "enabled", havingValue = "false", matchIfMissing = true)
+public class RedisExportJobStore implements ExportJobStore {
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    @Override
+    public void save(ExportJob job, Duration ttl) {
+        stringRedisTemplate.opsForValue().set(ExportJobStore.key(job.userId(), job.jobId()), JSON.toJSONString(job), ttl);
+    }
+
+    @Override
+    public ExportJob get(Long userId, String jobId) {
+        String json = stringRedisTemplate.opsForValue().get(ExportJobStore.key(userId, jobId));
+        return json == null ? null : JSON.parseObject(json, ExportJob.class);
+    }
+
+    @Override
+    public void remove(Long userId, String jobId) {
+        stringRedisTemplate.delete(ExportJobStore.key(userId, jobId));
+    }
+}
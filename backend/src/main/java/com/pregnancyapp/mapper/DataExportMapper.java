@@ -0,0 +1,42 @@
+package com.pregnancyapp.mapper;
+
+import com.pregnancyapp.config.MybatisConfig;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.ResultSetType;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 数据导出Mapper
+ * 分类数据以游标流式返回，调用方需在事务内消费；照片路径按主键分页读取，便于在事务外复制文件
+ * 
+ * @author PregnancyApp Team
+ */
+@Mapper
+public interface DataExportMapper {
+
+    /**
+     * 流式读取用户在指定表中的全部记录
+     * 表名和列名只能来自 {@link com.pregnancyapp.export.ExportSection}，不接受外部输入
+     */
+    @Select("SELECT * FROM ${table} WHERE ${ownerColumn} = #{userId} ORDER BY id")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = 1000)
+    @Options(databaseId = MybatisConfig.MYSQL, resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = Integer.MIN_VALUE)
+    Cursor<Map<String, Object>> streamUserRows(@Param("table") String table,
+                                               @Param("ownerColumn") String ownerColumn,
+                                               @Param("userId") Long userId);
+
+    /**
+     * 按主键分页读取用户上传的相册照片路径，从 afterId 之后开始
+     */
+    @Select("SELECT id, photo_url FROM family_albums WHERE uploader_id = #{userId} AND id > #{afterId} "
+            + "ORDER BY id LIMIT #{limit}")
+    List<Map<String, Object>> selectAlbumPhotoPage(@Param("userId") Long userId,
+                                                   @Param("afterId") long afterId,
+                                                   @Param("limit") int limit);
+}
@@ -0,0 +1,54 @@
+package com.pregnancyapp.mapper;
+
+import com.pregnancyapp.dto.response.LoginResponse;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+/**
+ * 家庭Mapper
+ * 孕妇注册时的建家庭由数据库触发器 tr_users_after_insert 完成，这里只负责查询和邀请加入
+ * 
+ * @author PregnancyApp Team
+ */
+@Mapper
+public interface FamilyMapper {
+
+    /**
+     * 查询用户当前所在家庭，未加入任何家庭返回null
+     */
+    @Select("SELECT f.id AS family_id, f.name AS family_name, fr.role AS family_role, f.invite_code, fr.joined_at, "
+            + "(SELECT COUNT(*) FROM family_relations m WHERE m.family_id = f.id AND m.status = 1) AS member_count "
+            + "FROM family_relations fr JOIN families f ON f.id = fr.family_id "
+            + "WHERE fr.user_id = #{userId} AND fr.status = 1 AND f.status = 1 "
+            + "ORDER BY fr.joined_at DESC LIMIT 1")
+    LoginResponse.FamilyInfo selectFamilyInfo(@Param("userId") Long userId);
+
+    /**
+     * 查询用户当前所在的有效家庭ID，未加入任何家庭返回null
+     */
+    @Select("SELECT fr.family_id FROM family_relations fr JOIN families f ON f.id = fr.family_id "
+            + "WHERE fr.user_id = #{userId} AND fr.status = 1 AND f.status = 1 "
+            + "ORDER BY fr.joined_at DESC LIMIT 1")
+    Long selectFamilyIdByUser(@Param("userId") Long userId);
+
+    /**
+     * 按邀请码查询有效家庭ID
+     */
+    @Select("SELECT id FROM families WHERE invite_code = #{inviteCode} AND status = 1")
+    Long selectIdByInviteCode(@Param("inviteCode") String inviteCode);
+
+    /**
+     * 统计家庭有效成员数
+     */
+    @Select("SELECT COUNT(*) FROM family_relations WHERE family_id = #{familyId} AND status = 1")
+    int countMembers(@Param("familyId") Long familyId);
+
+    /**
+     * 以家庭创建者为邀请人加入家庭
+     */
+    @Insert("INSERT INTO family_relations (family_id, user_id, role, invited_by) "
+            + "SELECT id, #{userId}, #{role}, creator_id FROM families WHERE id = #{familyId}")
+    int insertMember(@Param("familyId") Long familyId, @Param("userId") Long userId, @Param("role") String role);
+}
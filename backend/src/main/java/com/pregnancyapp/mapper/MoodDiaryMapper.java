@@ -0,0 +1,55 @@
+package com.pregnancyapp.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.pregnancyapp.config.MybatisConfig;
+import com.pregnancyapp.entity.MoodDiary;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.ResultSetType;
+
+import java.util.List;
+
+/**
+ * 心情日记Mapper
+ * 
+ * @author PregnancyApp Team
+ */
+@Mapper
+public interface MoodDiaryMapper extends BaseMapper<MoodDiary> {
+
+    /**
+     * 按用户ID区间流式读取心情评分，用于趋势统计重建
+     * 走 (user_id, diary_date) 唯一索引的范围扫描，结果按用户、日期排序，调用方需在事务内消费游标
+     *
+     * @param fromUserId 起始用户ID（含）
+     * @param toUserId   结束用户ID（含）
+     */
+    @Select("SELECT user_id, diary_date, mood_score FROM mood_diaries "
+            + "WHERE user_id BETWEEN #{fromUserId} AND #{toUserId} "
+            + "ORDER BY user_id, diary_date")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = 1000)
+    @Options(databaseId = MybatisConfig.MYSQL, resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = Integer.MIN_VALUE)
+    Cursor<MoodDiary> streamScoresByUserRange(@Param("fromUserId") long fromUserId, @Param("toUserId") long toUserId);
+
+    /**
+     * 查询用户最近的心情评分（按日期倒序），用于趋势窗口回填
+     */
+    @Select("SELECT diary_date, mood_score FROM mood_diaries WHERE user_id = #{userId} "
+            + "ORDER BY diary_date DESC LIMIT #{limit}")
+    List<MoodDiary> selectRecentScores(@Param("userId") Long userId, @Param("limit") int limit);
+
+    /**
+     * 有日记的最小用户ID，无数据返回null
+     */
+    @Select("SELECT MIN(user_id) FROM mood_diaries")
+    Long selectMinUserId();
+
+    /**
+     * 有日记的最大用户ID，无数据返回null
+     */
+    @Select("SELECT MAX(user_id) FROM mood_diaries")
+    Long selectMaxUserId();
+}
@@ -0,0 +1,29 @@
+package com.pregnancyapp.mapper;
+
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * 通知Mapper
+ * 
+ * @author PregnancyApp Team
+ */
+@Mapper
+public interface NotificationMapper {
+
+    /**
+     * 向发送者所在家庭的其他有效成员各写入一条通知
+     *
+     * @return 写入条数
+     */
+    @Insert("INSERT INTO notifications (sender_id, receiver_id, type, title, content, extra_data) "
+            + "SELECT DISTINCT #{senderId}, m.user_id, #{type}, #{title}, #{content}, #{extraData} "
+            + "FROM family_relations s JOIN family_relations m ON m.family_id = s.family_id "
+            + "WHERE s.user_id = #{senderId} AND s.status = 1 AND m.status = 1 AND m.user_id <> #{senderId}")
+    int insertForFamilyMembers(@Param("senderId") Long senderId,
+                               @Param("type") String type,
+                               @Param("title") String title,
+                               @Param("content") String content,
+                               @Param("extraData") String extraData);
+}
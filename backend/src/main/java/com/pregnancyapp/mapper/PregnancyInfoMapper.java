@@ -0,0 +1,26 @@
+package com.pregnancyapp.mapper;
+
+import com.pregnancyapp.dto.response.LoginResponse;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+/**
+ * 孕期信息Mapper
+ * 
+ * @author PregnancyApp Team
+ */
+@Mapper
+public interface PregnancyInfoMapper {
+
+    /**
+     * 查询用户所在家庭的孕期信息（家庭创建者即孕妇本人），未登记返回null
+     */
+    @Select("SELECT pi.due_date, pi.current_week, pi.current_day, pi.pregnancy_status, pi.baby_gender, pi.baby_name "
+            + "FROM family_relations fr "
+            + "JOIN families f ON f.id = fr.family_id AND f.status = 1 "
+            + "JOIN pregnancy_info pi ON pi.user_id = f.creator_id "
+            + "WHERE fr.user_id = #{userId} AND fr.status = 1 "
+            + "ORDER BY fr.joined_at DESC LIMIT 1")
+    LoginResponse.PregnancyInfo selectByFamilyMember(@Param("userId") Long userId);
+}
@@ -0,0 +1,27 @@
+package com.pregnancyapp.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.pregnancyapp.config.MybatisConfig;
+import com.pregnancyapp.entity.User;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.ResultSetType;
+
+/**
+ * 用户Mapper
+ * 
+ * @author PregnancyApp Team
+ */
+@Mapper
+public interface UserMapper extends BaseMapper<User> {
+
+    /**
+     * 流式读取全部已注册手机号，用于批量重建手机号布隆过滤器
+     */
+    @Select("SELECT phone FROM users")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = 1000)
+    @Options(databaseId = MybatisConfig.MYSQL, resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = Integer.MIN_VALUE)
+    Cursor<String> streamPhones();
+}
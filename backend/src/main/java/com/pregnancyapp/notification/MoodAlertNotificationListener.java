@@ -0,0 +1,55 @@
+package com.pregnancyapp.notification;
+
+import com.alibaba.fastjson2.JSON;
+import com.pregnancyapp.analytics.MoodAlertEvent;
+import com.pregnancyapp.analytics.MoodTrendSnapshot;
+import com.pregnancyapp.entity.User;
+import com.pregnancyapp.mapper.NotificationMapper;
+import com.pregnancyapp.mapper.UserMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 心情预警通知
+ * 收到 {@link MoodAlertEvent} 后给孕妇所在家庭的其他成员写入站内通知，
+ * 与预警发布处于同一事务，推送等外部调用应另行监听提交后事件
+ * 
+ * @author PregnancyApp Team
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MoodAlertNotificationListener {
+
+    public static final String NOTIFICATION_TYPE = "mood_alert";
+
+    private final NotificationMapper notificationMapper;
+    private final UserMapper userMapper;
+
+    @EventListener
+    public void onMoodAlert(MoodAlertEvent event) {
+        MoodTrendSnapshot snapshot = event.getSnapshot();
+        User user = userMapper.selectById(snapshot.getUserId());
+        if (user == null) {
+            return;
+        }
+        String name = user.getNickname() != null ? user.getNickname() : "家人";
+        Map<String, Object> extra = new LinkedHashMap<>();
+        extra.put("alertType", event.getType().getCode());
+        extra.put("lastDate", String.valueOf(snapshot.getLastDate()));
+        extra.put("lastScore", snapshot.getLastScore());
+        extra.put("ewma", snapshot.getEwma());
+        extra.put("declineDays", snapshot.getDeclineDays());
+
+        int sent = notificationMapper.insertForFamilyMembers(snapshot.getUserId(), NOTIFICATION_TYPE,
+                "心情提醒：" + event.getType().getName(),
+                name + "最近" + event.getType().getName() + "，请多陪伴关心",
+                JSON.toJSONString(extra));
+        log.info("心情预警通知已发送: userId={}, type={}, receivers={}", snapshot.getUserId(), event.getType().getCode(), sent);
+    }
+}
@@ -0,0 +1,47 @@
+package com.pregnancyapp.ratelimit;
+
+import cn.hutool.cache.CacheUtil;
+import cn.hutool.cache.impl.TimedCache;
+import com.pregnancyapp.mapper.FamilyMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * 按登录用户查询其所在家庭，供 {@link RateLimitKeyType#FAMILY_ID} 限流使用
+ * 家庭一律由服务端按调用者查询，不采信客户端传入的 familyId，避免伪造他人家庭消耗其额度或绕过限流；
+ * 结果在本地短时缓存，加入或退出家庭后最多延迟一个缓存周期生效
+ * 
+ * @author PregnancyApp Team
+ */
+public class CallerFamilyResolver {
+
+    private final FamilyMapper familyMapper;
+    private final TimedCache<Long, Optional<Long>> cache;
+
+    public CallerFamilyResolver(FamilyMapper familyMapper, Duration ttl) {
+        this.familyMapper = familyMapper;
+        this.cache = CacheUtil.newTimedCache(ttl.toMillis());
+    }
+
+    /**
+     * 返回用户所在家庭ID，未加入家庭返回null
+     */
+    public Long resolve(Long userId) {
+        Optional<Long> familyId = cache.get(userId, false);
+        if (familyId == null) {
+            familyId = Optional.ofNullable(familyMapper.selectFamilyIdByUser(userId));
+            cache.put(userId, familyId);
+        }
+        return familyId.orElse(null);
+    }
+
+    /**
+     * 定期清理过期的缓存项
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void evictExpired() {
+        cache.prune();
+    }
+}
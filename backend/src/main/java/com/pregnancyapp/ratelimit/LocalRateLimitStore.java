@@ -0,0 +1,82 @@
+package com.pregnancyapp.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 进程内限流额度存储
+ * 无Redis（嵌入式模式）或Redis不可用时使用，仅在单节点内生效
+ * 
+ * @author PregnancyApp Team
+ */
+public class LocalRateLimitStore implements RateLimitStore {
+
+    private final Map<String, State> states = new ConcurrentHashMap<>();
+
+    @Override
+    public long acquire(String key, RateLimitRule rule, long now, long requested) {
+        State state = states.computeIfAbsent(key, k -> new State(rule, now));
+        synchronized (state) {
+            state.lastAccess = now;
+            return rule.getAlgorithm() == RateLimitAlgorithm.SLIDING_WINDOW
+                    ? state.acquireWindow(rule, now, requested)
+                    : state.acquireBucket(rule, now, requested);
+        }
+    }
+
+    /**
+     * 清理超过两个周期未访问的状态，此时状态已与初始状态等价
+     */
+    public void evictIdle(long now) {
+        states.values().removeIf(state -> now - state.lastAccess > state.periodMillis * 2);
+    }
+
+    private static class State {
+
+        private final long periodMillis;
+        private long lastAccess;
+
+        // 令牌桶
+        private double tokens;
+        private long refilledAt;
+
+        // 滑动窗口
+        private long windowStart;
+        private long current;
+        private long previous;
+
+        State(RateLimitRule rule, long now) {
+            this.periodMillis = rule.getPeriodMillis();
+            this.tokens = rule.getPermits();
+            this.refilledAt = now;
+            this.windowStart = now - now % rule.getPeriodMillis();
+            this.lastAccess = now;
+        }
+
+        long acquireBucket(RateLimitRule rule, long now, long requested) {
+            if (now > refilledAt) {
+                double rate = (double) rule.getPermits() / rule.getPeriodMillis();
+                tokens = Math.min(rule.getPermits(), tokens + (now - refilledAt) * rate);
+                refilledAt = now;
+            }
+            long granted = Math.min(requested, (long) tokens);
+            tokens -= granted;
+            return granted;
+        }
+
+        long acquireWindow(RateLimitRule rule, long now, long requested) {
+            long period = rule.getPeriodMillis();
+            long start = now - now % period;
+            if (start != windowStart) {
+                previous = start - windowStart == period ? current : 0;
+                current = 0;
+                windowStart = start;
+            }
+            double weight = 1 - (double) (now - windowStart) / period;
+            long available = (long) Math.floor(rule.getPermits() - previous * weight - current);
+            long granted = Math.max(Math.min(requested, available), 0);
+            current += granted;
+            return granted;
+        }
+    }
+}
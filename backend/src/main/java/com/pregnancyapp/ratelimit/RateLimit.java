@@ -0,0 +1,51 @@
+package com.pregnancyapp.ratelimit;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 接口限流注解
+ * 例如 @RateLimit(permits = 10, period = 1, unit = TimeUnit.MINUTES, keyType = RateLimitKeyType.FAMILY_ID)
+ * 表示每个家庭每分钟最多调用10次，超限返回 {@link com.pregnancyapp.common.ResultCode#RATE_LIMIT_EXCEEDED}
+ * 
+ * @author PregnancyApp Team
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimit {
+
+    /**
+     * 限流名称，默认使用 类名.方法名
+     */
+    String name() default "";
+
+    /**
+     * 限流维度
+     */
+    RateLimitKeyType keyType() default RateLimitKeyType.LOGIN_ID;
+
+    /**
+     * 限流算法
+     */
+    RateLimitAlgorithm algorithm() default RateLimitAlgorithm.TOKEN_BUCKET;
+
+    /**
+     * 周期内允许的请求数（令牌桶容量）
+     */
+    long permits();
+
+    /**
+     * 周期
+     */
+    long period() default 1;
+
+    /**
+     * 周期单位
+     */
+    TimeUnit unit() default TimeUnit.SECONDS;
+}
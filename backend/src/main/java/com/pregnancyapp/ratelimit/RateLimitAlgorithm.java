@@ -0,0 +1,17 @@
+package com.pregnancyapp.ratelimit;
+
+/**
+ * 限流算法
+ * 
+ * @author PregnancyApp Team
+ */
+public enum RateLimitAlgorithm {
+    /**
+     * 令牌桶：允许不超过容量的突发，按周期匀速补充
+     */
+    TOKEN_BUCKET,
+    /**
+     * 滑动窗口：按当前与上一固定窗口加权估算最近一个周期内的请求数
+     */
+    SLIDING_WINDOW
+}
@@ -0,0 +1,84 @@
+package com.pregnancyapp.ratelimit;
+
+import com.pregnancyapp.common.ResultCode;
+import com.pregnancyapp.exception.BusinessException;
+import com.pregnancyapp.security.ClientIpResolver;
+import com.pregnancyapp.security.RequestLoginId;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link RateLimit} 切面
+ * 登录ID复用鉴权拦截器已解析的结果（{@link RequestLoginId}），放行路径不再访问会话存储
+ * 
+ * @author PregnancyApp Team
+ */
+@Aspect
+@RequiredArgsConstructor
+public class RateLimitAspect {
+
+    private final RateLimiter rateLimiter;
+    private final RateLimitProperties properties;
+    private final ClientIpResolver clientIpResolver;
+    private final CallerFamilyResolver callerFamilyResolver;
+    private final Map<Method, RateLimitRule> rules = new ConcurrentHashMap<>();
+
+    @Around("@annotation(rateLimit)")
+    public Object around(ProceedingJoinPoint joinPoint, RateLimit rateLimit) throws Throwable {
+        if (!properties.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        RateLimitRule rule = rules.computeIfAbsent(signature.getMethod(), method -> createRule(method, rateLimit));
+        String key = rule.getName() + ":" + rule.getKeyType().name() + ":" + resolveKey(rule);
+        if (!rateLimiter.tryAcquire(key, rule)) {
+            throw new BusinessException(ResultCode.RATE_LIMIT_EXCEEDED);
+        }
+        return joinPoint.proceed();
+    }
+
+    private RateLimitRule createRule(Method method, RateLimit rateLimit) {
+        String name = rateLimit.name().isEmpty()
+                ? method.getDeclaringClass().getSimpleName() + "." + method.getName()
+                : rateLimit.name();
+        long permits = properties.getPermitOverrides().getOrDefault(name, rateLimit.permits());
+        return new RateLimitRule(name, rateLimit.keyType(), rateLimit.algorithm(), permits,
+                rateLimit.unit().toMillis(rateLimit.period()));
+    }
+
+    private String resolveKey(RateLimitRule rule) {
+        switch (rule.getKeyType()) {
+            case IP:
+                return clientIp();
+            case FAMILY_ID:
+                Object loginId = RequestLoginId.get();
+                if (loginId == null) {
+                    return clientIp();
+                }
+                Long familyId = callerFamilyResolver.resolve(Long.valueOf(loginId.toString()));
+                // 未加入家庭时按用户计，加前缀与家庭ID区分
+                return familyId != null ? familyId.toString() : "user-" + loginId;
+            default:
+                Object userId = RequestLoginId.get();
+                return userId != null ? userId.toString() : clientIp();
+        }
+    }
+
+    private String clientIp() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        HttpServletRequest request = attributes instanceof ServletRequestAttributes servletAttributes
+                ? servletAttributes.getRequest() : null;
+        return request != null ? clientIpResolver.resolve(request) : "unknown";
+    }
+}
@@ -0,0 +1,21 @@
+package com.pregnancyapp.ratelimit;
+
+/**
+ * 限流维度
+ * 
+ * @author PregnancyApp Team
+ */
+public enum RateLimitKeyType {
+    /**
+     * 按Sa-Token登录用户，未登录时按客户端IP
+     */
+    LOGIN_ID,
+    /**
+     * 按调用者所在家庭（服务端查询，不采信客户端参数），未加入家庭时按登录用户，未登录时按客户端IP
+     */
+    FAMILY_ID,
+    /**
+     * 按客户端IP，仅受信任代理转发的 X-Forwarded-For 才被采信
+     */
+    IP
+}
@@ -0,0 +1,45 @@
+package com.pregnancyapp.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 限流配置
+ * 
+ * @author PregnancyApp Team
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    /**
+     * 是否启用限流
+     */
+    private boolean enabled = true;
+
+    /**
+     * 每次从集群额度中预取的许可占周期额度的比例，越大Redis访问越少，节点间分配越不均匀
+     */
+    private double leaseRatio = 0.1;
+
+    /**
+     * 本地预取额度的最长有效期（毫秒），过期未用完的许可作废
+     */
+    private long leaseTtlMillis = 1000;
+
+    /**
+     * 按家庭限流时缓存“用户所在家庭”的时长（毫秒）
+     */
+    private long familyCacheTtlMillis = 60_000;
+
+    /**
+     * 按限流名称覆盖注解中的周期额度，名称默认为 类名.方法名，
+     * 如 permit-overrides."[AuthController.sendCode]": 100000
+     */
+    private Map<String, Long> permitOverrides = new HashMap<>();
+}
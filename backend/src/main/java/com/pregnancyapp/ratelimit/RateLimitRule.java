@@ -0,0 +1,37 @@
+package com.pregnancyapp.ratelimit;
+
+import lombok.Getter;
+
+/**
+ * 解析后的限流规则，按方法缓存
+ * 
+ * @author PregnancyApp Team
+ */
+@Getter
+public class RateLimitRule {
+
+    private final String name;
+    private final RateLimitKeyType keyType;
+    private final RateLimitAlgorithm algorithm;
+    private final long permits;
+    private final long periodMillis;
+
+    public RateLimitRule(String name, RateLimitKeyType keyType, RateLimitAlgorithm algorithm,
+                         long permits, long periodMillis) {
+        if (permits <= 0 || periodMillis <= 0) {
+            throw new IllegalArgumentException("限流配置无效: " + name);
+        }
+        this.name = name;
+        this.keyType = keyType;
+        this.algorithm = algorithm;
+        this.permits = permits;
+        this.periodMillis = periodMillis;
+    }
+
+    /**
+     * 补充一个令牌所需毫秒数
+     */
+    public long millisPerPermit() {
+        return Math.max(periodMillis / permits, 1);
+    }
+}
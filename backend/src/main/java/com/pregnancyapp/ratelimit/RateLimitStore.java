@@ -0,0 +1,20 @@
+package com.pregnancyapp.ratelimit;
+
+/**
+ * 限流额度存储
+ * 
+ * @author PregnancyApp Team
+ */
+public interface RateLimitStore {
+
+    /**
+     * 尝试一次性获取多个许可
+     *
+     * @param key       限流键
+     * @param rule      限流规则
+     * @param now       当前时间（毫秒）
+     * @param requested 期望获取的许可数
+     * @return 实际获得的许可数，0表示已被限流
+     */
+    long acquire(String key, RateLimitRule rule, long now, long requested);
+}
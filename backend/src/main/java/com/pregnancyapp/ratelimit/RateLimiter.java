@@ -0,0 +1,128 @@
+package com.pregnancyapp.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 两级限流器
+ * 本地按键持有从集群额度中预取的一批许可，放行路径只做一次Map查找和一次CAS；
+ * 本地许可用完或过期时在分段锁内向 {@link RateLimitStore} 批量申请，被拒绝后短时间内直接在本地拒绝
+ * 
+ * @author PregnancyApp Team
+ */
+@Slf4j
+public class RateLimiter {
+
+    private static final int STRIPES = 64;
+
+    private final RateLimitStore store;
+    private final LocalRateLimitStore fallbackStore;
+    private final RateLimitProperties properties;
+    private final Map<String, Lease> leases = new ConcurrentHashMap<>();
+    private final Object[] locks = new Object[STRIPES];
+
+    public RateLimiter(RateLimitStore store, LocalRateLimitStore fallbackStore, RateLimitProperties properties) {
+        this.store = store;
+        this.fallbackStore = fallbackStore;
+        this.properties = properties;
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * 尝试获取一个许可
+     */
+    public boolean tryAcquire(String key, RateLimitRule rule) {
+        long now = System.currentTimeMillis();
+        Lease lease = leases.get(key);
+        if (lease != null && now < lease.expiresAt) {
+            if (lease.tryTake()) {
+                return true;
+            }
+            if (lease.denied) {
+                return false;
+            }
+        }
+        return refill(key, rule, now);
+    }
+
+    private boolean refill(String key, RateLimitRule rule, long now) {
+        synchronized (locks[(key.hashCode() & Integer.MAX_VALUE) % STRIPES]) {
+            // 其他线程可能已完成预取
+            Lease lease = leases.get(key);
+            if (lease != null && now < lease.expiresAt) {
+                if (lease.tryTake()) {
+                    return true;
+                }
+                if (lease.denied) {
+                    return false;
+                }
+            }
+            long ttl = Math.min(rule.getPeriodMillis(), properties.getLeaseTtlMillis());
+            // 预取许可过期未用即作废，单批不超过有效期内按速率应得的额度，否则低流量下作废的许可会耗尽周期额度
+            double batchLimit = Math.min(rule.getPermits() * properties.getLeaseRatio(),
+                    (double) rule.getPermits() * ttl / rule.getPeriodMillis());
+            long batch = Math.max(1, (long) batchLimit);
+            long granted = acquire(key, rule, now, batch);
+            if (granted <= 0) {
+                // 等待约补充一个许可的时间再访问集群额度，避免被拒请求持续打到Redis
+                long backoff = Math.min(rule.millisPerPermit(), properties.getLeaseTtlMillis());
+                leases.put(key, new Lease(0, now + backoff, true));
+                return false;
+            }
+            leases.put(key, new Lease(granted - 1, now + ttl, false));
+            return true;
+        }
+    }
+
+    private long acquire(String key, RateLimitRule rule, long now, long batch) {
+        try {
+            return store.acquire(key, rule, now, batch);
+        } catch (Exception e) {
+            log.warn("集群限流额度获取失败，降级为本地限流: {}", e.getMessage());
+            return fallbackStore.acquire(key, rule, now, batch);
+        }
+    }
+
+    /**
+     * 定期清理过期的本地额度和闲置的本地计数
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void evictExpired() {
+        evictExpired(System.currentTimeMillis());
+    }
+
+    void evictExpired(long now) {
+        leases.values().removeIf(lease -> now >= lease.expiresAt);
+        fallbackStore.evictIdle(now);
+    }
+
+    private static class Lease {
+
+        private final AtomicLong remaining;
+        private final long expiresAt;
+        private final boolean denied;
+
+        Lease(long remaining, long expiresAt, boolean denied) {
+            this.remaining = new AtomicLong(remaining);
+            this.expiresAt = expiresAt;
+            this.denied = denied;
+        }
+
+        boolean tryTake() {
+            long current;
+            do {
+                current = remaining.get();
+                if (current <= 0) {
+                    return false;
+                }
+            } while (!remaining.compareAndSet(current, current - 1));
+            return true;
+        }
+    }
+}
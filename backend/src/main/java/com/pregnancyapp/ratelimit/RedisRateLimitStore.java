@@ -0,0 +1,77 @@
+package com.pregnancyapp.ratelimit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+/**
+ * 基于Redis Lua的集群限流额度存储
+ * 键使用 {} 哈希标签，保证滑动窗口的两个键落在同一槽位
+ * 
+ * @author PregnancyApp Team
+ */
+@RequiredArgsConstructor
+public class RedisRateLimitStore implements RateLimitStore {
+
+    private static final String KEY_PREFIX = "rate_limit:";
+
+    /**
+     * 令牌桶：KEYS[1]=桶；ARGV=容量, 每毫秒补充数, 当前时间, 请求数, 过期毫秒
+     */
+    private static final RedisScript<Long> TOKEN_BUCKET_SCRIPT = new DefaultRedisScript<>(
+            "local capacity = tonumber(ARGV[1]) "
+                    + "local rate = tonumber(ARGV[2]) "
+                    + "local now = tonumber(ARGV[3]) "
+                    + "local requested = tonumber(ARGV[4]) "
+                    + "local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts') "
+                    + "local tokens = tonumber(state[1]) or capacity "
+                    + "local ts = tonumber(state[2]) or now "
+                    + "if now > ts then tokens = math.min(capacity, tokens + (now - ts) * rate) ts = now end "
+                    + "local granted = math.max(math.min(requested, math.floor(tokens)), 0) "
+                    + "redis.call('HSET', KEYS[1], 'tokens', tostring(tokens - granted), 'ts', tostring(ts)) "
+                    + "redis.call('PEXPIRE', KEYS[1], ARGV[5]) "
+                    + "return granted", Long.class);
+
+    /**
+     * 滑动窗口：KEYS[1]=当前窗口, KEYS[2]=上一窗口；ARGV=上限, 周期毫秒, 当前时间, 请求数, 当前窗口起点
+     */
+    private static final RedisScript<Long> SLIDING_WINDOW_SCRIPT = new DefaultRedisScript<>(
+            "local limit = tonumber(ARGV[1]) "
+                    + "local period = tonumber(ARGV[2]) "
+                    + "local now = tonumber(ARGV[3]) "
+                    + "local requested = tonumber(ARGV[4]) "
+                    + "local windowStart = tonumber(ARGV[5]) "
+                    + "local current = tonumber(redis.call('GET', KEYS[1]) or '0') "
+                    + "local previous = tonumber(redis.call('GET', KEYS[2]) or '0') "
+                    + "local weight = 1 - (now - windowStart) / period "
+                    + "local granted = math.min(requested, math.floor(limit - previous * weight - current)) "
+                    + "if granted <= 0 then return 0 end "
+                    + "redis.call('INCRBY', KEYS[1], granted) "
+                    + "redis.call('PEXPIRE', KEYS[1], period * 2) "
+                    + "return granted", Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    @Override
+    public long acquire(String key, RateLimitRule rule, long now, long requested) {
+        long period = rule.getPeriodMillis();
+        Long granted;
+        if (rule.getAlgorithm() == RateLimitAlgorithm.SLIDING_WINDOW) {
+            long windowStart = now - now % period;
+            String base = KEY_PREFIX + "{" + key + "}:";
+            granted = stringRedisTemplate.execute(SLIDING_WINDOW_SCRIPT,
+                    List.of(base + windowStart, base + (windowStart - period)),
+                    String.valueOf(rule.getPermits()), String.valueOf(period), String.valueOf(now),
+                    String.valueOf(requested), String.valueOf(windowStart));
+        } else {
+            double rate = (double) rule.getPermits() / period;
+            granted = stringRedisTemplate.execute(TOKEN_BUCKET_SCRIPT, List.of(KEY_PREFIX + key),
+                    String.valueOf(rule.getPermits()), String.valueOf(rate), String.valueOf(now),
+                    String.valueOf(requested), String.valueOf(period * 2));
+        }
+        return granted != null ? granted : 0;
+    }
+}
@@ -0,0 +1,78 @@
+package com.pregnancyapp.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 登录注册防护配置
+ * 
+ * @author PregnancyApp Team
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.security")
+public class AuthGuardProperties {
+
+    private PhoneBloom phoneBloom = new PhoneBloom();
+
+    private VerifyGuard verifyGuard = new VerifyGuard();
+
+    /**
+     * 受信任的反向代理地址（IP或CIDR），仅当请求直接来自这些地址时才采信 X-Forwarded-For；
+     * 为空时一律以连接的对端地址为客户端IP
+     */
+    private List<String> trustedProxies = new ArrayList<>();
+
+    /**
+     * 手机号布隆过滤器配置
+     */
+    @Data
+    public static class PhoneBloom {
+
+        /**
+         * 预计注册手机号数量
+         */
+        private long expectedInsertions = 1_000_000;
+
+        /**
+         * 期望误判率
+         */
+        private double falsePositiveRate = 0.01;
+
+        /**
+         * 从Redis同步本地副本的间隔（毫秒）
+         */
+        private long syncInterval = 300_000;
+    }
+
+    /**
+     * 验证码防暴力破解配置
+     */
+    @Data
+    public static class VerifyGuard {
+
+        /**
+         * 滑动窗口时长（秒）
+         */
+        private long windowSeconds = 900;
+
+        /**
+         * 窗口内单个手机号允许的失败次数
+         */
+        private int phoneMaxFailures = 5;
+
+        /**
+         * 窗口内单个IP允许的失败次数
+         */
+        private int ipMaxFailures = 20;
+
+        /**
+         * 被拒绝后在本地缓存拒绝结果的时长（秒），期间直接拒绝且不访问Redis
+         */
+        private long localBlockSeconds = 60;
+    }
+}
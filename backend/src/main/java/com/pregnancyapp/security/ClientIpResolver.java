@@ -0,0 +1,129 @@
+package com.pregnancyapp.security;
+
+import cn.hutool.core.util.StrUtil;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * 客户端IP解析
+ * 默认取连接的对端地址；只有对端是配置的受信任代理时，才从 X-Forwarded-For 由右向左
+ * 跳过受信任代理，取第一个不受信任的地址。客户端自行伪造的转发头因此不会被采信
+ *
+ * @author PregnancyApp Team
+ */
+@Slf4j
+@Component
+public class ClientIpResolver {
+
+    private static final String FORWARDED_FOR = "X-Forwarded-For";
+
+    /**
+     * 只解析IP字面量，避免对任意字符串触发DNS查询
+     */
+    private static final Pattern IP_LITERAL = Pattern.compile("^[0-9a-fA-F:.]+$");
+
+    private final List<Cidr> trustedProxies = new ArrayList<>();
+
+    public ClientIpResolver(AuthGuardProperties properties) {
+        for (String proxy : properties.getTrustedProxies()) {
+            Cidr cidr = Cidr.parse(proxy);
+            if (cidr == null) {
+                throw new IllegalArgumentException("无效的受信任代理地址: " + proxy);
+            }
+            trustedProxies.add(cidr);
+        }
+    }
+
+    public String resolve(HttpServletRequest request) {
+        String remoteAddr = request.getRemoteAddr();
+        if (trustedProxies.isEmpty() || !isTrusted(remoteAddr)) {
+            return remoteAddr;
+        }
+        List<String> hops = StrUtil.splitTrim(request.getHeader(FORWARDED_FOR), ',');
+        for (int i = hops.size() - 1; i >= 0; i--) {
+            String hop = hops.get(i);
+            if (!isTrusted(hop)) {
+                return toAddress(hop) != null ? hop : remoteAddr;
+            }
+        }
+        // 整条链都是受信任代理时取最左侧地址
+        return hops.isEmpty() ? remoteAddr : hops.get(0);
+    }
+
+    private boolean isTrusted(String ip) {
+        InetAddress address = toAddress(ip);
+        if (address == null) {
+            return false;
+        }
+        for (Cidr cidr : trustedProxies) {
+            if (cidr.contains(address)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static InetAddress toAddress(String ip) {
+        if (ip == null || !IP_LITERAL.matcher(ip).matches()) {
+            return null;
+        }
+        try {
+            return InetAddress.getByName(ip);
+        } catch (UnknownHostException e) {
+            return null;
+        }
+    }
+
+    /**
+     * IP网段，单个地址视为全长前缀
+     */
+    private record Cidr(byte[] network, int prefixLength) {
+
+        static Cidr parse(String value) {
+            String[] parts = value.trim().split("/", 2);
+            InetAddress address = toAddress(parts[0]);
+            if (address == null) {
+                return null;
+            }
+            byte[] network = address.getAddress();
+            int prefixLength = network.length * 8;
+            if (parts.length == 2) {
+                try {
+                    prefixLength = Integer.parseInt(parts[1]);
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+                if (prefixLength < 0 || prefixLength > network.length * 8) {
+                    return null;
+                }
+            }
+            return new Cidr(network, prefixLength);
+        }
+
+        boolean contains(InetAddress address) {
+            byte[] bytes = address.getAddress();
+            if (bytes.length != network.length) {
+                return false;
+            }
+            int fullBytes = prefixLength / 8;
+            for (int i = 0; i < fullBytes; i++) {
+                if (bytes[i] != network[i]) {
+                    return false;
+                }
+            }
+            int remainingBits = prefixLength % 8;
+            if (remainingBits == 0) {
+                return true;
+            }
+            int mask = (0xFF << (8 - remainingBits)) & 0xFF;
+            return (bytes[fullBytes] & mask) == (network[fullBytes] & mask);
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.pregnancyapp.security;
+
+import cn.hutool.core.lang.hash.MurmurHash;
+import com.pregnancyapp.mapper.UserMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 已注册手机号布隆过滤器
+ * Redis位图为集群共享副本，本地保存一份用于无网络开销的判断；
+ * 本地判定不存在时再查询Redis确认，Redis不可用或过滤器未就绪时一律按“可能存在”处理，交由数据库判断
+ * 
+ * @author PregnancyApp Team
+ */
+@Slf4j
+@Component
+public class PhoneBloomFilter {
+
+    private static final String REDIS_KEY = "bloom:phone";
+
+    private final UserMapper userMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectProvider<StringRedisTemplate> redisTemplateProvider;
+    private final int numBits;
+    private final int numHashes;
+
+    private volatile AtomicLongArray bits;
+    private volatile boolean ready;
+
+    public PhoneBloomFilter(UserMapper userMapper,
+                            PlatformTransactionManager transactionManager,
+                            ObjectProvider<StringRedisTemplate> redisTemplateProvider,
+                            AuthGuardProperties properties) {
+        this.userMapper = userMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.redisTemplateProvider = redisTemplateProvider;
+        long n = Math.max(properties.getPhoneBloom().getExpectedInsertions(), 1);
+        double p = properties.getPhoneBloom().getFalsePositiveRate();
+        long m = (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2)));
+        // 位数取64的整数倍，便于本地按long存储
+        this.numBits = (int) Math.min(((m + 63) / 64) * 64, Integer.MAX_VALUE - 63);
+        this.numHashes = Math.max(1, (int) Math.round((double) numBits / n * Math.log(2)));
+        this.bits = new AtomicLongArray(numBits / 64);
+    }
+
+    /**
+     * 判断手机号是否可能已注册，返回false时一定未注册
+     */
+    public boolean mightContain(String phone) {
+        if (!ready) {
+            return true;
+        }
+        long[] offsets = offsets(phone);
+        if (containsLocally(bits, offsets)) {
+            return true;
+        }
+        StringRedisTemplate redisTemplate = redisTemplateProvider.getIfAvailable();
+        if (redisTemplate == null) {
+            return false;
+        }
+        try {
+            // 其他节点新注册的手机号可能尚未同步到本地
+            byte[] key = REDIS_KEY.getBytes(StandardCharsets.UTF_8);
+            List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (long offset : offsets) {
+                    connection.stringCommands().getBit(key, offset);
+                }
+                return null;
+            });
+            for (Object result : results) {
+                if (!Boolean.TRUE.equals(result)) {
+                    return false;
+                }
+            }
+            setLocally(bits, offsets);
+            return true;
+        } catch (Exception e) {
+            log.warn("查询手机号布隆过滤器失败: {}", e.getMessage());
+            return true;
+        }
+    }
+
+    /**
+     * 注册成功后加入手机号
+     */
+    public void put(String phone) {
+        long[] offsets = offsets(phone);
+        setLocally(bits, offsets);
+        StringRedisTemplate redisTemplate = redisTemplateProvider.getIfAvailable();
+        if (redisTemplate == null) {
+            return;
+        }
+        try {
+            byte[] key = REDIS_KEY.getBytes(StandardCharsets.UTF_8);
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (long offset : offsets) {
+                    connection.stringCommands().setBit(key, offset, true);
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("写入手机号布隆过滤器失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 启动后从users表流式批量重建，并合并到Redis共享副本
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        AtomicLongArray rebuilt = new AtomicLongArray(numBits / 64);
+        long count = transactionTemplate.execute(status -> {
+            long total = 0;
+            try (Cursor<String> cursor = userMapper.streamPhones()) {
+                for (String phone : cursor) {
+                    setLocally(rebuilt, offsets(phone));
+                    total++;
+                }
+            } catch (Exception e) {
+                throw new IllegalStateException("手机号布隆过滤器重建失败", e);
+            }
+            return total;
+        });
+        // 合并重建期间本地新增的手机号
+        AtomicLongArray current = bits;
+        for (int i = 0; i < rebuilt.length(); i++) {
+            rebuilt.getAndAccumulate(i, current.get(i), (a, b) -> a | b);
+        }
+        bits = rebuilt;
+        mergeToRedis();
+        ready = true;
+        log.info("手机号布隆过滤器重建完成: 手机号数={}, 位数={}, 哈希数={}, 耗时={}ms",
+                count, numBits, numHashes, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 定期从Redis同步其他节点写入的位
+     */
+    @Scheduled(fixedDelayString = "${app.security.phone-bloom.sync-interval:300000}")
+    public void syncFromRedis() {
+        StringRedisTemplate redisTemplate = redisTemplateProvider.getIfAvailable();
+        if (!ready || redisTemplate == null) {
+            return;
+        }
+        try {
+            byte[] remote = redisTemplate.execute((RedisCallback<byte[]>) connection ->
+                    connection.stringCommands().get(REDIS_KEY.getBytes(StandardCharsets.UTF_8)));
+            if (remote == null) {
+                return;
+            }
+            orFromRedisBitmap(bits, remote);
+        } catch (Exception e) {
+            log.warn("同步手机号布隆过滤器失败: {}", e.getMessage());
+        }
+    }
+
+    private void mergeToRedis() {
+        StringRedisTemplate redisTemplate = redisTemplateProvider.getIfAvailable();
+        if (redisTemplate == null) {
+            return;
+        }
+        byte[] bitmap = toRedisBitmap(bits);
+        byte[] key = REDIS_KEY.getBytes(StandardCharsets.UTF_8);
+        byte[] tmpKey = (REDIS_KEY + ":rebuild:" + System.nanoTime()).getBytes(StandardCharsets.UTF_8);
+        try {
+            // 先写临时键再按位或合并，不覆盖其他节点已写入的位
+            redisTemplate.execute((RedisCallback<Object>) connection -> {
+                connection.stringCommands().set(tmpKey, bitmap);
+                connection.stringCommands().bitOp(RedisStringCommands.BitOperation.OR, key, key, tmpKey);
+                connection.keyCommands().del(tmpKey);
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("合并手机号布隆过滤器到Redis失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 本地位数组转换为Redis位图：本地第 k 位在第 k/64 个long的低位起第 k%64 位，
+     * Redis的第 k 位在第 k/8 个字节的高位起第 k%8 位，逐字节取出后需按位反转
+     */
+    static byte[] toRedisBitmap(AtomicLongArray local) {
+        byte[] bitmap = new byte[local.length() * 8];
+        for (int i = 0; i < bitmap.length; i++) {
+            int bitIndex = i * 8;
+            int value = (int) (local.get(bitIndex >>> 6) >>> (bitIndex & 63)) & 0xFF;
+            bitmap[i] = (byte) (Integer.reverse(value) >>> 24);
+        }
+        return bitmap;
+    }
+
+    /**
+     * 将Redis位图按位或合并到本地位数组，超出本地长度的字节忽略
+     */
+    static void orFromRedisBitmap(AtomicLongArray local, byte[] remote) {
+        int length = Math.min(remote.length, local.length() * 8);
+        for (int i = 0; i < length; i++) {
+            // Redis位图每个字节高位在前
+            long word = Integer.reverse(remote[i] & 0xFF) >>> 24;
+            if (word != 0) {
+                int bitIndex = i * 8;
+                long mask = word << (bitIndex & 63);
+                local.getAndAccumulate(bitIndex >>> 6, mask, (a, b) -> a | b);
+            }
+        }
+    }
+
+    /**
+     * 双重哈希生成位偏移
+     */
+    private long[] offsets(String phone) {
+        long[] hash = MurmurHash.hash128(phone.getBytes(StandardCharsets.UTF_8));
+        long[] offsets = new long[numHashes];
+        long combined = hash[0];
+        for (int i = 0; i < numHashes; i++) {
+            offsets[i] = (combined & Long.MAX_VALUE) % numBits;
+            combined += hash[1];
+        }
+        return offsets;
+    }
+
+    static boolean containsLocally(AtomicLongArray array, long[] offsets) {
+        for (long offset : offsets) {
+            if ((array.get((int) (offset >>> 6)) & (1L << (offset & 63))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static void setLocally(AtomicLongArray array, long[] offsets) {
+        for (long offset : offsets) {
+            long mask = 1L << (offset & 63);
+            array.getAndAccumulate((int) (offset >>> 6), mask, (a, b) -> a | b);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.pregnancyapp.security;
+
+import cn.dev33.satoken.stp.StpUtil;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * 当前请求的登录用户ID
+ * Sa-Token每次查询登录ID都要按Token读取一次会话存储（生产为Redis），拦截器、限流切面等在同一请求内
+ * 多次需要登录ID，这里在首次查询后缓存到请求属性中，其余调用方直接复用。
+ * 仅用于处理器执行前的环节；登录、注册、退出接口在处理器内改变登录状态，不应依赖此缓存
+ * 
+ * @author PregnancyApp Team
+ */
+public final class RequestLoginId {
+
+    public static final String ATTRIBUTE = RequestLoginId.class.getName();
+
+    /**
+     * 已查询但未登录的占位
+     */
+    private static final Object ANONYMOUS = new Object();
+
+    private RequestLoginId() {
+    }
+
+    /**
+     * 获取当前请求的登录ID，未登录返回null；不在请求线程中时直接查询Sa-Token
+     */
+    public static Object get() {
+        HttpServletRequest request = currentRequest();
+        if (request == null) {
+            return StpUtil.getLoginIdDefaultNull();
+        }
+        Object cached = request.getAttribute(ATTRIBUTE);
+        if (cached == null) {
+            Object loginId = StpUtil.getLoginIdDefaultNull();
+            request.setAttribute(ATTRIBUTE, loginId != null ? loginId : ANONYMOUS);
+            return loginId;
+        }
+        return cached == ANONYMOUS ? null : cached;
+    }
+
+    /**
+     * 校验已登录并返回登录ID；未登录时交给Sa-Token抛出对应的 NotLoginException
+     */
+    public static Object require() {
+        Object loginId = get();
+        if (loginId == null) {
+            StpUtil.checkLogin();
+            // 校验通过说明缓存之后刚完成登录，以Sa-Token为准
+            loginId = StpUtil.getLoginId();
+            HttpServletRequest request = currentRequest();
+            if (request != null) {
+                request.setAttribute(ATTRIBUTE, loginId);
+            }
+        }
+        return loginId;
+    }
+
+    private static HttpServletRequest currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes servletAttributes ? servletAttributes.getRequest() : null;
+    }
+}
@@ -0,0 +1,215 @@
+package com.pregnancyapp.security;
+
+import cn.hutool.cache.CacheUtil;
+import cn.hutool.cache.impl.TimedCache;
+import cn.hutool.core.util.RandomUtil;
+import com.pregnancyapp.common.ResultCode;
+import com.pregnancyapp.exception.BusinessException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * 验证码防暴力破解
+ * 按手机号和IP维护滑动窗口失败计数，超过阈值后在访问数据库和Sa-Token之前直接拒绝；
+ * 计数存放在Redis有序集合中供集群共享，无Redis时（嵌入式模式）使用进程内计数
+ * 
+ * @author PregnancyApp Team
+ */
+@Slf4j
+@Component
+public class VerifyCodeGuard {
+
+    private static final String PHONE_KEY_PREFIX = "auth:fail:phone:";
+    private static final String IP_KEY_PREFIX = "auth:fail:ip:";
+
+    /**
+     * 计为失败的业务错误
+     */
+    private static final Set<ResultCode> FAILURE_CODES = EnumSet.of(
+            ResultCode.VERIFY_CODE_ERROR, ResultCode.VERIFY_CODE_EXPIRED, ResultCode.USER_NOT_FOUND);
+
+    /**
+     * 清理窗口外的失败记录并返回各键的失败次数
+     */
+    private static final RedisScript<List> COUNT_SCRIPT = new DefaultRedisScript<>(
+            "local result = {} "
+                    + "for i, key in ipairs(KEYS) do "
+                    + "redis.call('ZREMRANGEBYSCORE', key, 0, tonumber(ARGV[1]) - tonumber(ARGV[2])) "
+                    + "result[i] = redis.call('ZCARD', key) "
+                    + "end "
+                    + "return result", List.class);
+
+    /**
+     * 为各键记录一次失败
+     */
+    private static final RedisScript<Long> RECORD_SCRIPT = new DefaultRedisScript<>(
+            "for i, key in ipairs(KEYS) do "
+                    + "redis.call('ZADD', key, ARGV[1], ARGV[3]) "
+                    + "redis.call('PEXPIRE', key, ARGV[2]) "
+                    + "end "
+                    + "return 1", Long.class);
+
+    private final ObjectProvider<StringRedisTemplate> redisTemplateProvider;
+    private final AuthGuardProperties.VerifyGuard properties;
+    private final TimedCache<String, Boolean> blocked;
+    private final TimedCache<String, Deque<Long>> localFailures;
+
+    public VerifyCodeGuard(ObjectProvider<StringRedisTemplate> redisTemplateProvider, AuthGuardProperties properties) {
+        this.redisTemplateProvider = redisTemplateProvider;
+        this.properties = properties.getVerifyGuard();
+        this.blocked = CacheUtil.newTimedCache(Duration.ofSeconds(this.properties.getLocalBlockSeconds()).toMillis());
+        this.localFailures = CacheUtil.newTimedCache(Duration.ofSeconds(this.properties.getWindowSeconds()).toMillis());
+    }
+
+    /**
+     * 在校验验证码前检查，失败次数超限时抛出异常
+     */
+    public void checkAllowed(String phone, String ip) {
+        String phoneKey = PHONE_KEY_PREFIX + phone;
+        String ipKey = IP_KEY_PREFIX + ip;
+        if (blocked.containsKey(phoneKey) || blocked.containsKey(ipKey)) {
+            throw new BusinessException(ResultCode.VERIFY_CODE_ATTEMPTS_EXCEEDED);
+        }
+        long[] counts = countFailures(phoneKey, ipKey);
+        boolean phoneBlocked = counts[0] >= properties.getPhoneMaxFailures();
+        boolean ipBlocked = counts[1] >= properties.getIpMaxFailures();
+        if (phoneBlocked || ipBlocked) {
+            if (phoneBlocked) {
+                blocked.put(phoneKey, Boolean.TRUE);
+            }
+            if (ipBlocked) {
+                blocked.put(ipKey, Boolean.TRUE);
+            }
+            log.warn("验证码失败次数超限: phone={}, ip={}, phoneFailures={}, ipFailures={}", phone, ip, counts[0], counts[1]);
+            throw new BusinessException(ResultCode.VERIFY_CODE_ATTEMPTS_EXCEEDED);
+        }
+    }
+
+    /**
+     * 记录一次失败
+     */
+    public void recordFailure(String phone, String ip) {
+        String phoneKey = PHONE_KEY_PREFIX + phone;
+        String ipKey = IP_KEY_PREFIX + ip;
+        long now = System.currentTimeMillis();
+        StringRedisTemplate redisTemplate = redisTemplateProvider.getIfAvailable();
+        if (redisTemplate == null) {
+            recordLocally(phoneKey, now);
+            recordLocally(ipKey, now);
+            return;
+        }
+        try {
+            redisTemplate.execute(RECORD_SCRIPT, List.of(phoneKey, ipKey),
+                    String.valueOf(now), String.valueOf(windowMillis()), now + ":" + RandomUtil.randomString(8));
+        } catch (Exception e) {
+            log.warn("记录验证码失败次数失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 验证成功后清除该手机号的失败记录，IP计数保留
+     */
+    public void reset(String phone) {
+        String phoneKey = PHONE_KEY_PREFIX + phone;
+        blocked.remove(phoneKey);
+        localFailures.remove(phoneKey);
+        StringRedisTemplate redisTemplate = redisTemplateProvider.getIfAvailable();
+        if (redisTemplate == null) {
+            return;
+        }
+        try {
+            redisTemplate.delete(phoneKey);
+        } catch (Exception e) {
+            log.warn("清除验证码失败次数失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 在防护下执行登录/注册：先检查失败次数，验证码错误等失败计数，成功后清零
+     */
+    public <T> T guard(String phone, String ip, Supplier<T> action) {
+        checkAllowed(phone, ip);
+        T result;
+        try {
+            result = action.get();
+        } catch (BusinessException e) {
+            if (FAILURE_CODES.contains(e.getResultCode())) {
+                recordFailure(phone, ip);
+            }
+            throw e;
+        }
+        reset(phone);
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private long[] countFailures(String phoneKey, String ipKey) {
+        StringRedisTemplate redisTemplate = redisTemplateProvider.getIfAvailable();
+        if (redisTemplate == null) {
+            long now = System.currentTimeMillis();
+            return new long[]{countLocally(phoneKey, now), countLocally(ipKey, now)};
+        }
+        try {
+            List<Long> counts = redisTemplate.execute(COUNT_SCRIPT, List.of(phoneKey, ipKey),
+                    String.valueOf(System.currentTimeMillis()), String.valueOf(windowMillis()));
+            return new long[]{counts.get(0), counts.get(1)};
+        } catch (Exception e) {
+            // Redis不可用时放行，由验证码本身校验兜底
+            log.warn("查询验证码失败次数失败: {}", e.getMessage());
+            return new long[]{0, 0};
+        }
+    }
+
+    private long countLocally(String key, long now) {
+        Deque<Long> failures = localFailures.get(key, false);
+        if (failures == null) {
+            return 0;
+        }
+        synchronized (failures) {
+            while (!failures.isEmpty() && failures.peekFirst() <= now - windowMillis()) {
+                failures.pollFirst();
+            }
+            return failures.size();
+        }
+    }
+
+    private void recordLocally(String key, long now) {
+        Deque<Long> failures;
+        synchronized (localFailures) {
+            failures = localFailures.get(key, false);
+            if (failures == null) {
+                failures = new ArrayDeque<>();
+            }
+            localFailures.put(key, failures);
+        }
+        synchronized (failures) {
+            failures.addLast(now);
+        }
+    }
+
+    private long windowMillis() {
+        return Duration.ofSeconds(properties.getWindowSeconds()).toMillis();
+    }
+
+    /**
+     * 定期清理过期的本地拒绝与失败记录；不使用 TimedCache.schedulePrune，其全局定时线程为非守护线程，会阻止进程退出
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void prune() {
+        blocked.prune();
+        localFailures.prune();
+    }
+}
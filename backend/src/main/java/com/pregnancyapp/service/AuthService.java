@@ -0,0 +1,46 @@
+package com.pregnancyapp.service;
+
+import com.pregnancyapp.dto.request.LoginRequest;
+import com.pregnancyapp.dto.request.RegisterRequest;
+import com.pregnancyapp.dto.response.LoginResponse;
+
+/**
+ * 认证服务
+ * 验证码校验失败统一抛出 VERIFY_CODE_ERROR / VERIFY_CODE_EXPIRED，供 VerifyCodeGuard 计数
+ * 
+ * @author PregnancyApp Team
+ */
+public interface AuthService {
+
+    /**
+     * 生成并下发短信验证码
+     *
+     * @param type register-注册，login-登录
+     */
+    void sendVerifyCode(String phone, String type);
+
+    /**
+     * 校验验证码后注册并登录，带邀请码时加入对应家庭
+     */
+    LoginResponse register(RegisterRequest request);
+
+    /**
+     * 校验验证码后登录
+     */
+    LoginResponse login(LoginRequest request);
+
+    /**
+     * 退出当前会话
+     */
+    void logout(Long userId);
+
+    /**
+     * 获取用户信息
+     */
+    LoginResponse getUserInfo(Long userId);
+
+    /**
+     * 续期当前Token
+     */
+    LoginResponse refreshToken(Long userId);
+}
@@ -0,0 +1,35 @@
+package com.pregnancyapp.service;
+
+import com.pregnancyapp.dto.response.ExportJobResponse;
+import com.pregnancyapp.export.ExportFormat;
+import com.pregnancyapp.export.ExportStream;
+
+import java.nio.file.Path;
+
+/**
+ * 数据导出服务
+ * 
+ * @author PregnancyApp Team
+ */
+public interface DataExportService {
+
+    /**
+     * 占用导出名额并返回写出动作，名额在写出结束后归还；名额用尽时抛出业务异常
+     */
+    ExportStream openExport(Long userId, ExportFormat format);
+
+    /**
+     * 创建后台导出任务，生成ZIP文件供断点续传下载
+     */
+    ExportJobResponse createJob(Long userId);
+
+    /**
+     * 查询导出任务，不存在返回null
+     */
+    ExportJobResponse getJob(Long userId, String jobId);
+
+    /**
+     * 获取已完成任务的导出文件，未完成返回null
+     */
+    Path getJobFile(Long userId, String jobId);
+}
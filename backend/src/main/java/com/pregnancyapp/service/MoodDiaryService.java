@@ -0,0 +1,23 @@
+package com.pregnancyapp.service;
+
+import com.pregnancyapp.analytics.MoodTrendSnapshot;
+import com.pregnancyapp.dto.request.MoodDiaryRequest;
+import com.pregnancyapp.entity.MoodDiary;
+
+/**
+ * 心情日记服务
+ * 
+ * @author PregnancyApp Team
+ */
+public interface MoodDiaryService {
+
+    /**
+     * 保存当天日记，同一天已有日记时覆盖修改
+     */
+    MoodDiary save(Long userId, MoodDiaryRequest request);
+
+    /**
+     * 获取用户心情趋势，无记录返回null
+     */
+    MoodTrendSnapshot getTrend(Long userId);
+}
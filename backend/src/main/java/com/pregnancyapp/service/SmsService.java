@@ -0,0 +1,14 @@
+package com.pregnancyapp.service;
+
+/**
+ * 短信服务
+ * 
+ * @author PregnancyApp Team
+ */
+public interface SmsService {
+
+    /**
+     * 下发验证码短信，失败抛出 VERIFY_CODE_SEND_FAILED
+     */
+    void sendVerifyCode(String phone, String code);
+}
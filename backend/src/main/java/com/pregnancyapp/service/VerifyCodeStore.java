@@ -0,0 +1,45 @@
+package com.pregnancyapp.service;
+
+import java.time.Duration;
+
+/**
+ * 验证码存储
+ * 默认存放于Redis，嵌入式模式下使用进程内缓存
+ * 
+ * @author PregnancyApp Team
+ */
+public interface VerifyCodeStore {
+
+    /**
+     * 保存验证码
+     *
+     * @param phone 手机号
+     * @param type  验证码类型：register、login、reset
+     * @param code  验证码
+     * @param ttl   有效期
+     */
+    void save(String phone, String type, String code, Duration ttl);
+
+    /**
+     * 获取验证码，不存在或已过期返回null
+     */
+    String get(String phone, String type);
+
+    /**
+     * 删除验证码（下发失败时作废）
+     */
+    void remove(String phone, String type);
+
+    /**
+     * 验证码与给定值一致时原子地删除并返回true，否则不做修改返回false；
+     * 并发提交同一验证码时只有一个请求成功
+     */
+    boolean removeIfMatches(String phone, String type, String code);
+
+    /**
+     * 验证码缓存键
+     */
+    static String key(String phone, String type) {
+        return "verify_code:" + type + ":" + phone;
+    }
+}
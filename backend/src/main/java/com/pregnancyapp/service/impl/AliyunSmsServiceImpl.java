@@ -0,0 +1,105 @@
+package com.pregnancyapp.service.impl;
+
+import cn.hutool.core.util.IdUtil;
+import cn.hutool.crypto.digest.HMac;
+import cn.hutool.crypto.digest.HmacAlgorithm;
+import cn.hutool.http.HttpUtil;
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONObject;
+import com.pregnancyapp.common.ResultCode;
+import com.pregnancyapp.config.SmsProperties;
+import com.pregnancyapp.exception.BusinessException;
+import com.pregnancyapp.service.SmsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * 阿里云短信服务实现
+ * 直接调用 SendSms 开放接口（RPC风格，HMAC-SHA1签名），不引入阿里云SDK
+ * 
+ * @author PregnancyApp Team
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.sms", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AliyunSmsServiceImpl implements SmsService {
+
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'");
+
+    private final SmsProperties smsProperties;
+
+    @Override
+    public void sendVerifyCode(String phone, String code) {
+        Map<String, String> params = new TreeMap<>();
+        params.put("AccessKeyId", smsProperties.getAccessKey());
+        params.put("Action", "SendSms");
+        params.put("Format", "JSON");
+        params.put("PhoneNumbers", phone);
+        params.put("RegionId", "cn-hangzhou");
+        params.put("SignName", smsProperties.getSignName());
+        params.put("SignatureMethod", "HMAC-SHA1");
+        params.put("SignatureNonce", IdUtil.simpleUUID());
+        params.put("SignatureVersion", "1.0");
+        params.put("TemplateCode", smsProperties.getTemplateCode());
+        params.put("TemplateParam", JSON.toJSONString(Map.of("code", code)));
+        params.put("Timestamp", ZonedDateTime.now(ZoneOffset.UTC).format(TIMESTAMP_FORMAT));
+        params.put("Version", "2017-05-25");
+
+        String query = canonicalQuery(params);
+        String signature = sign(smsProperties.getSecretKey(), query);
+        String url = smsProperties.getEndpoint() + "?Signature=" + percentEncode(signature) + "&" + query;
+
+        JSONObject body;
+        try {
+            body = JSON.parseObject(HttpUtil.get(url, smsProperties.getTimeoutMillis()));
+        } catch (RuntimeException e) {
+            log.error("短信下发请求失败: phone={}", phone, e);
+            throw new BusinessException(ResultCode.VERIFY_CODE_SEND_FAILED);
+        }
+        if (body == null || !"OK".equals(body.getString("Code"))) {
+            log.error("短信下发失败: phone={}, response={}", phone, body);
+            throw new BusinessException(ResultCode.VERIFY_CODE_SEND_FAILED);
+        }
+    }
+
+    /**
+     * 按参数名排序后拼接的规范化查询串
+     */
+    static String canonicalQuery(Map<String, String> sortedParams) {
+        return sortedParams.entrySet().stream()
+                .map(entry -> percentEncode(entry.getKey()) + "=" + percentEncode(entry.getValue()))
+                .collect(Collectors.joining("&"));
+    }
+
+    /**
+     * 签名：Base64(HMAC-SHA1(secret + "&", "GET&%2F&" + percentEncode(query)))
+     */
+    static String sign(String secretKey, String canonicalQuery) {
+        String stringToSign = "GET&" + percentEncode("/") + "&" + percentEncode(canonicalQuery);
+        HMac hmac = new HMac(HmacAlgorithm.HmacSHA1, (secretKey + "&").getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(hmac.digest(stringToSign));
+    }
+
+    /**
+     * RFC3986编码：在URLEncoder基础上将 + 改为 %20、* 改为 %2A、%7E 还原为 ~
+     */
+    static String percentEncode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8)
+                .replace("+", "%20")
+                .replace("*", "%2A")
+                .replace("%7E", "~");
+    }
+}
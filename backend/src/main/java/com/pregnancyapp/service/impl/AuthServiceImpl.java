@@ -0,0 +1,263 @@
+package com.pregnancyapp.service.impl;
+
+import cn.dev33.satoken.session.SaSession;
+import cn.dev33.satoken.stp.StpUtil;
+import cn.hutool.core.util.RandomUtil;
+import cn.hutool.core.util.StrUtil;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.pregnancyapp.common.ResultCode;
+import com.pregnancyapp.dto.request.LoginRequest;
+import com.pregnancyapp.dto.request.RegisterRequest;
+import com.pregnancyapp.dto.response.LoginResponse;
+import com.pregnancyapp.entity.User;
+import com.pregnancyapp.exception.BusinessException;
+import com.pregnancyapp.mapper.FamilyMapper;
+import com.pregnancyapp.mapper.PregnancyInfoMapper;
+import com.pregnancyapp.mapper.UserMapper;
+import com.pregnancyapp.security.PhoneBloomFilter;
+import com.pregnancyapp.service.AuthService;
+import com.pregnancyapp.service.SmsService;
+import com.pregnancyapp.service.VerifyCodeStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 认证服务实现
+ * 验证码由 {@link VerifyCodeStore} 保存，校验成功即删除，一码只能用一次
+ *
+ * @author PregnancyApp Team
+ */
+@Slf4j
+@Service
+public class AuthServiceImpl implements AuthService {
+
+    private static final String TYPE_REGISTER = "register";
+
+    /**
+     * Token会话中记录的令牌到期时刻（毫秒），-1表示永不过期
+     */
+    private static final String TOKEN_EXPIRES_AT = "tokenExpiresAt";
+
+    private final UserMapper userMapper;
+    private final FamilyMapper familyMapper;
+    private final PregnancyInfoMapper pregnancyInfoMapper;
+    private final VerifyCodeStore verifyCodeStore;
+    private final SmsService smsService;
+    private final PhoneBloomFilter phoneBloomFilter;
+    private final Duration verifyCodeTtl;
+    private final int maxFamilyMembers;
+
+    public AuthServiceImpl(UserMapper userMapper,
+                           FamilyMapper familyMapper,
+                           PregnancyInfoMapper pregnancyInfoMapper,
+                           VerifyCodeStore verifyCodeStore,
+                           SmsService smsService,
+                           PhoneBloomFilter phoneBloomFilter,
+                           @Value("${app.business.verify-code-expire:5}") long verifyCodeExpireMinutes,
+                           @Value("${app.business.max-family-members:10}") int maxFamilyMembers) {
+        this.userMapper = userMapper;
+        this.familyMapper = familyMapper;
+        this.pregnancyInfoMapper = pregnancyInfoMapper;
+        this.verifyCodeStore = verifyCodeStore;
+        this.smsService = smsService;
+        this.phoneBloomFilter = phoneBloomFilter;
+        this.verifyCodeTtl = Duration.ofMinutes(verifyCodeExpireMinutes);
+        this.maxFamilyMembers = maxFamilyMembers;
+    }
+
+    @Override
+    public void sendVerifyCode(String phone, String type) {
+        boolean registered = isRegistered(phone);
+        if (TYPE_REGISTER.equals(type) && registered) {
+            throw new BusinessException(ResultCode.PHONE_ALREADY_EXISTS);
+        }
+        if (!TYPE_REGISTER.equals(type) && !registered) {
+            throw new BusinessException(ResultCode.USER_NOT_FOUND);
+        }
+        String code = RandomUtil.randomNumbers(6);
+        verifyCodeStore.save(phone, type, code, verifyCodeTtl);
+        try {
+            smsService.sendVerifyCode(phone, code);
+        } catch (RuntimeException e) {
+            verifyCodeStore.remove(phone, type);
+            throw e;
+        }
+        log.info("验证码已下发: phone={}, type={}", phone, type);
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public LoginResponse register(RegisterRequest request) {
+        checkVerifyCode(request.getPhone(), TYPE_REGISTER, request.getVerifyCode());
+        // 并发注册由手机号唯一约束兜底
+        if (isRegistered(request.getPhone())) {
+            throw new BusinessException(ResultCode.PHONE_ALREADY_EXISTS);
+        }
+        Long familyId = null;
+        if (StrUtil.isNotBlank(request.getInviteCode())) {
+            familyId = familyMapper.selectIdByInviteCode(request.getInviteCode().trim().toUpperCase());
+            if (familyId == null) {
+                throw new BusinessException(ResultCode.INVALID_INVITE_CODE);
+            }
+            if (familyMapper.countMembers(familyId) >= maxFamilyMembers) {
+                throw new BusinessException(ResultCode.FAMILY_MEMBER_LIMIT_EXCEEDED);
+            }
+        }
+
+        User user = new User();
+        user.setPhone(request.getPhone());
+        user.setNickname(request.getNickname());
+        user.setGender(request.getGender());
+        user.setRoleType(request.getRoleType());
+        user.setStatus(User.Status.ENABLED.getCode());
+        user.setLastLoginTime(LocalDateTime.now());
+        try {
+            // 孕妇的家庭由触发器 tr_users_after_insert 在同一事务内创建
+            userMapper.insert(user);
+        } catch (DuplicateKeyException e) {
+            throw new BusinessException(ResultCode.PHONE_ALREADY_EXISTS);
+        }
+        if (familyId != null) {
+            User.RoleType roleType = User.RoleType.fromCode(user.getRoleType());
+            familyMapper.insertMember(familyId, user.getId(), roleType != null ? roleType.getName() : user.getRoleType());
+        }
+        log.info("用户注册成功: userId={}, roleType={}", user.getId(), user.getRoleType());
+
+        StpUtil.login(user.getId());
+        recordTokenExpiry();
+        return buildResponse(user);
+    }
+
+    @Override
+    public LoginResponse login(LoginRequest request) {
+        String type = StrUtil.blankToDefault(request.getType(), "login");
+        checkVerifyCode(request.getPhone(), type, request.getVerifyCode());
+        User user = findByPhone(request.getPhone());
+        if (user == null) {
+            throw new BusinessException(ResultCode.USER_NOT_FOUND);
+        }
+        if (User.Status.DISABLED.getCode().equals(user.getStatus())) {
+            throw new BusinessException(ResultCode.USER_DISABLED);
+        }
+
+        User update = new User();
+        update.setId(user.getId());
+        update.setLastLoginTime(LocalDateTime.now());
+        userMapper.updateById(update);
+
+        StpUtil.login(user.getId());
+        recordTokenExpiry();
+        return buildResponse(user);
+    }
+
+    @Override
+    public void logout(Long userId) {
+        StpUtil.logout();
+    }
+
+    @Override
+    public LoginResponse getUserInfo(Long userId) {
+        return buildResponse(requireUser(userId));
+    }
+
+    @Override
+    public LoginResponse refreshToken(Long userId) {
+        User user = requireUser(userId);
+        long timeout = StpUtil.getStpLogic().getConfigOrGlobal().getTimeout();
+        if (timeout > 0) {
+            StpUtil.renewTimeout(timeout);
+        }
+        recordTokenExpiry();
+        return buildResponse(user);
+    }
+
+    /**
+     * 校验并消费验证码：一致即原子删除，并发提交同一验证码只有一个成功；
+     * 失败时再区分不存在（过期）与不一致（错误）
+     */
+    private void checkVerifyCode(String phone, String type, String code) {
+        if (code != null && verifyCodeStore.removeIfMatches(phone, type, code)) {
+            return;
+        }
+        if (verifyCodeStore.get(phone, type) == null) {
+            throw new BusinessException(ResultCode.VERIFY_CODE_EXPIRED);
+        }
+        throw new BusinessException(ResultCode.VERIFY_CODE_ERROR);
+    }
+
+    /**
+     * 布隆过滤器判定不存在时即可确认未注册，不再查库
+     */
+    private boolean isRegistered(String phone) {
+        return phoneBloomFilter.mightContain(phone) && findByPhone(phone) != null;
+    }
+
+    private User findByPhone(String phone) {
+        return userMapper.selectOne(new LambdaQueryWrapper<User>().eq(User::getPhone, phone));
+    }
+
+    private User requireUser(Long userId) {
+        User user = userMapper.selectById(userId);
+        if (user == null) {
+            throw new BusinessException(ResultCode.USER_NOT_FOUND);
+        }
+        return user;
+    }
+
+    /**
+     * 登录、注册、续期后记录令牌到期时刻，之后的响应都返回同一时刻，用户信息的ETag不随时间变化
+     */
+    private long recordTokenExpiry() {
+        long tokenTimeout = StpUtil.getTokenTimeout();
+        // 剩余秒数向下取整，按整秒记录
+        long expiresAt = tokenTimeout > 0 ? (System.currentTimeMillis() / 1000 + tokenTimeout) * 1000 : -1;
+        StpUtil.getTokenSession().set(TOKEN_EXPIRES_AT, expiresAt);
+        return expiresAt;
+    }
+
+    /**
+     * 读取记录的令牌到期时刻，升级前签发的令牌没有记录时补记一次
+     */
+    private long tokenExpiresAt() {
+        SaSession tokenSession = StpUtil.getStpLogic().getTokenSessionByToken(StpUtil.getTokenValue(), false);
+        long expiresAt = tokenSession != null ? tokenSession.getLong(TOKEN_EXPIRES_AT) : 0;
+        return expiresAt != 0 ? expiresAt : recordTokenExpiry();
+    }
+
+    private LoginResponse buildResponse(User user) {
+        LoginResponse response = new LoginResponse();
+        response.setUserId(user.getId());
+        response.setPhone(user.getPhone());
+        response.setNickname(user.getNickname());
+        response.setAvatarUrl(user.getAvatarUrl());
+        response.setGender(user.getGender());
+        User.Gender gender = user.getGender() != null ? User.Gender.fromCode(user.getGender()) : null;
+        response.setGenderName(gender != null ? gender.getName() : null);
+        response.setRoleType(user.getRoleType());
+        User.RoleType roleType = User.RoleType.fromCode(user.getRoleType());
+        response.setRoleTypeName(roleType != null ? roleType.getName() : null);
+
+        response.setAccessToken(StpUtil.getTokenValue());
+        long expiresAt = tokenExpiresAt();
+        response.setExpiresAt(expiresAt > 0 ? LocalDateTime.ofInstant(Instant.ofEpochMilli(expiresAt), ZoneId.systemDefault()) : null);
+
+        response.setFamilyInfo(familyMapper.selectFamilyInfo(user.getId()));
+        LoginResponse.PregnancyInfo pregnancyInfo = pregnancyInfoMapper.selectByFamilyMember(user.getId());
+        if (pregnancyInfo != null && pregnancyInfo.getDueDate() != null) {
+            LocalDate dueDate = LocalDate.parse(pregnancyInfo.getDueDate().substring(0, 10));
+            pregnancyInfo.setDaysToDue((int) ChronoUnit.DAYS.between(LocalDate.now(), dueDate));
+        }
+        response.setPregnancyInfo(pregnancyInfo);
+        return response;
+    }
+}
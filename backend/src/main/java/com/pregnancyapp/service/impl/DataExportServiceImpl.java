@@ -0,0 +1,207 @@
+package com.pregnancyapp.service.impl;
+
+import cn.hutool.core.util.IdUtil;
+import com.pregnancyapp.dto.response.ExportJobResponse;
+import com.pregnancyapp.export.DataExportWriter;
+import com.pregnancyapp.export.ExportFormat;
+import com.pregnancyapp.export.ExportJob;
+import com.pregnancyapp.export.ExportJobStore;
+import com.pregnancyapp.export.ExportProperties;
+import com.pregnancyapp.export.ExportSlots;
+import com.pregnancyapp.export.ExportStream;
+import com.pregnancyapp.service.DataExportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * 数据导出服务实现
+ * 后台任务先写入 .part 临时文件，完成后原子重命名；任务状态以不可变快照保存在 {@link ExportJobStore}（集群部署为Redis），
+ * 导出目录需为各节点共享的存储，任一节点都能查询和下载其他节点创建的任务；状态丢失时已完成的文件仍可通过任务ID下载。
+ * 流式导出与后台任务共用全局名额，任务状态与文件超过保留时长后删除
+ * 
+ * @author PregnancyApp Team
+ */
+@Slf4j
+@Service
+public class DataExportServiceImpl implements DataExportService {
+
+    private static final Pattern JOB_ID_PATTERN = Pattern.compile("^[0-9a-f]{32}$");
+
+    private final DataExportWriter dataExportWriter;
+    private final ExportSlots exportSlots;
+    private final TaskExecutor taskExecutor;
+    private final Path exportRoot;
+    private final Duration retention;
+    private final ExportJobStore exportJobStore;
+
+    public DataExportServiceImpl(DataExportWriter dataExportWriter,
+                                 ExportSlots exportSlots,
+                                 ExportJobStore exportJobStore,
+                                 ExportProperties properties,
+                                 @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor) {
+        this.dataExportWriter = dataExportWriter;
+        this.exportSlots = exportSlots;
+        this.exportJobStore = exportJobStore;
+        this.taskExecutor = taskExecutor;
+        this.exportRoot = Paths.get(properties.getPath()).toAbsolutePath().normalize();
+        this.retention = properties.getRetention();
+    }
+
+    @Override
+    public ExportStream openExport(Long userId, ExportFormat format) {
+        ExportSlots.Permit permit = exportSlots.acquire();
+        return out -> {
+            try (permit) {
+                if (format == ExportFormat.ZIP) {
+                    dataExportWriter.writeZip(userId, out);
+                } else {
+                    dataExportWriter.writeNdjson(userId, out);
+                }
+            }
+        };
+    }
+
+    @Override
+    public ExportJobResponse createJob(Long userId) {
+        ExportSlots.Permit permit = exportSlots.acquire();
+        ExportJob job = ExportJob.running(userId, IdUtil.simpleUUID());
+        // 执行节点宕机时进行中的状态不会再更新，保留时长到期后自动删除
+        exportJobStore.save(job, retention);
+        try {
+            taskExecutor.execute(() -> {
+                try (permit) {
+                    runJob(job);
+                }
+            });
+        } catch (RuntimeException e) {
+            permit.close();
+            exportJobStore.remove(userId, job.jobId());
+            throw e;
+        }
+        log.info("创建数据导出任务: userId={}, jobId={}", userId, job.jobId());
+        return job.toResponse();
+    }
+
+    @Override
+    public ExportJobResponse getJob(Long userId, String jobId) {
+        if (!JOB_ID_PATTERN.matcher(jobId).matches()) {
+            return null;
+        }
+        ExportJob job = exportJobStore.get(userId, jobId);
+        Path file = jobFile(userId, jobId);
+        if (job != null) {
+            // 文件已被清理（可能由其他节点执行）时任务随之失效
+            if (ExportJobResponse.STATUS_COMPLETED.equals(job.status()) && !Files.isRegularFile(file)) {
+                exportJobStore.remove(userId, jobId);
+                return null;
+            }
+            return job.toResponse();
+        }
+        // 任务状态丢失时以导出目录中的完成文件为准
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        ExportJobResponse completed = new ExportJobResponse();
+        completed.setJobId(jobId);
+        completed.setStatus(ExportJobResponse.STATUS_COMPLETED);
+        try {
+            completed.setFileSize(Files.size(file));
+            LocalDateTime modifiedAt = LocalDateTime.ofInstant(Files.getLastModifiedTime(file).toInstant(), ZoneId.systemDefault());
+            completed.setFinishedAt(modifiedAt);
+            completed.setExpiresAt(modifiedAt.plus(retention));
+        } catch (IOException e) {
+            log.warn("读取导出文件信息失败: {}", file);
+        }
+        return completed;
+    }
+
+    @Override
+    public Path getJobFile(Long userId, String jobId) {
+        ExportJobResponse job = getJob(userId, jobId);
+        if (job == null || !ExportJobResponse.STATUS_COMPLETED.equals(job.getStatus())) {
+            return null;
+        }
+        return jobFile(userId, job.getJobId());
+    }
+
+    private void runJob(ExportJob job) {
+        Long userId = job.userId();
+        Path file = jobFile(userId, job.jobId());
+        Path partFile = file.resolveSibling(file.getFileName() + ".part");
+        ExportJob finished;
+        try {
+            Files.createDirectories(file.getParent());
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(partFile), 64 * 1024)) {
+                dataExportWriter.writeZip(userId, out);
+            }
+            Files.move(partFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            finished = job.completed(Files.size(file), retention);
+            log.info("数据导出任务完成: userId={}, jobId={}, size={}", userId, job.jobId(), finished.fileSize());
+        } catch (Exception e) {
+            log.error("数据导出任务失败: userId={}, jobId={}", userId, job.jobId(), e);
+            finished = job.failed("导出失败，请稍后重试", retention);
+            try {
+                Files.deleteIfExists(partFile);
+            } catch (IOException ignored) {
+                // 临时文件清理失败不影响任务状态
+            }
+        }
+        exportJobStore.save(finished, retention);
+    }
+
+    /**
+     * 清理过期的导出文件；按文件修改时间判断，重启前留下的文件同样会被清理。任务状态由存储按保留时长自动过期
+     */
+    @Scheduled(fixedDelayString = "${app.export.cleanup-interval:600000}")
+    public void cleanExpired() {
+        if (!Files.isDirectory(exportRoot)) {
+            return;
+        }
+        FileTime cutoff = FileTime.from(Instant.now().minus(retention));
+        try (Stream<Path> userDirs = Files.list(exportRoot)) {
+            userDirs.filter(Files::isDirectory).forEach(dir -> cleanUserDir(dir, cutoff));
+        } catch (IOException e) {
+            log.warn("清理导出目录失败: {}", exportRoot, e);
+        }
+    }
+
+    private void cleanUserDir(Path dir, FileTime cutoff) {
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (Files.isRegularFile(file) && Files.getLastModifiedTime(file).compareTo(cutoff) < 0) {
+                    Files.deleteIfExists(file);
+                    log.info("已删除过期导出文件: {}", file);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("清理导出文件失败: {}", dir, e);
+        }
+        try {
+            Files.deleteIfExists(dir);
+        } catch (IOException ignored) {
+            // 目录非空说明仍有未过期文件
+        }
+    }
+
+    private Path jobFile(Long userId, String jobId) {
+        return exportRoot.resolve(String.valueOf(userId)).resolve(jobId + ".zip");
+    }
+}
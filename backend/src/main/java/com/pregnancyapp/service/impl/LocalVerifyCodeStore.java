@@ -0,0 +1,60 @@
+package com.pregnancyapp.service.impl;
+
+import cn.hutool.cache.CacheUtil;
+import cn.hutool.cache.impl.TimedCache;
+import com.pregnancyapp.service.VerifyCodeStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * 进程内验证码存储，用于嵌入式单节点模式
+ * 写操作在同一把锁内完成，保证比对与删除之间验证码不会被替换或重复消费
+ * 
+ * @author PregnancyApp Team
+ */
+@Service
+@ConditionalOnProperty(prefix = "app.embedded", name = "enabled", havingValue = "true")
+public class LocalVerifyCodeStore implements VerifyCodeStore {
+
+    /**
+     * 默认有效期仅作兜底，保存时总是指定有效期
+     */
+    private final TimedCache<String, String> cache = CacheUtil.newTimedCache(Duration.ofMinutes(5).toMillis());
+
+    @Override
+    public synchronized void save(String phone, String type, String code, Duration ttl) {
+        cache.put(VerifyCodeStore.key(phone, type), code, ttl.toMillis());
+    }
+
+    @Override
+    public String get(String phone, String type) {
+        return cache.get(VerifyCodeStore.key(phone, type), false);
+    }
+
+    @Override
+    public synchronized void remove(String phone, String type) {
+        cache.remove(VerifyCodeStore.key(phone, type));
+    }
+
+    @Override
+    public synchronized boolean removeIfMatches(String phone, String type, String code) {
+        String key = VerifyCodeStore.key(phone, type);
+        String expected = cache.get(key, false);
+        if (expected == null || !expected.equals(code)) {
+            return false;
+        }
+        cache.remove(key);
+        return true;
+    }
+
+    /**
+     * 每分钟清理一次过期验证码；不使用 TimedCache.schedulePrune，其全局定时线程为非守护线程，会阻止进程退出
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void prune() {
+        cache.prune();
+    }
+}
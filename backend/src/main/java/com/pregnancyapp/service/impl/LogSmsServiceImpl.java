@@ -0,0 +1,23 @@
+package com.pregnancyapp.service.impl;
+
+import com.pregnancyapp.service.SmsService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * 日志短信服务：不真实下发，验证码输出到日志
+ * 仅用于本地开发与嵌入式部署（app.sms.enabled=false）
+ * 
+ * @author PregnancyApp Team
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "app.sms", name = "enabled", havingValue = "false")
+public class LogSmsServiceImpl implements SmsService {
+
+    @Override
+    public void sendVerifyCode(String phone, String code) {
+        log.warn("短信下发已关闭，验证码: phone={}, code={}", phone, code);
+    }
+}
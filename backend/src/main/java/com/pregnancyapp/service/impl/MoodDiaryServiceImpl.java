@@ -0,0 +1,64 @@
+package com.pregnancyapp.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.pregnancyapp.analytics.MoodDiarySavedEvent;
+import com.pregnancyapp.analytics.MoodTrendAnalyzer;
+import com.pregnancyapp.analytics.MoodTrendSnapshot;
+import com.pregnancyapp.dto.request.MoodDiaryRequest;
+import com.pregnancyapp.entity.MoodDiary;
+import com.pregnancyapp.mapper.MoodDiaryMapper;
+import com.pregnancyapp.service.MoodDiaryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 心情日记服务实现
+ * 保存后在事务内发布 {@link MoodDiarySavedEvent}，趋势统计在事务提交后更新
+ * 
+ * @author PregnancyApp Team
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MoodDiaryServiceImpl implements MoodDiaryService {
+
+    private final MoodDiaryMapper moodDiaryMapper;
+    private final MoodTrendAnalyzer moodTrendAnalyzer;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public MoodDiary save(Long userId, MoodDiaryRequest request) {
+        MoodDiary diary = moodDiaryMapper.selectOne(new LambdaQueryWrapper<MoodDiary>()
+                .eq(MoodDiary::getUserId, userId)
+                .eq(MoodDiary::getDiaryDate, request.getDiaryDate()));
+        boolean created = diary == null;
+        if (created) {
+            diary = new MoodDiary();
+            diary.setUserId(userId);
+            diary.setDiaryDate(request.getDiaryDate());
+        }
+        diary.setMoodScore(request.getMoodScore());
+        diary.setMoodTags(request.getMoodTags());
+        diary.setContent(request.getContent());
+        diary.setWeather(request.getWeather());
+        diary.setSharedWithFamily(request.getSharedWithFamily());
+        if (created) {
+            moodDiaryMapper.insert(diary);
+        } else {
+            moodDiaryMapper.updateById(diary);
+        }
+        log.info("保存心情日记: userId={}, date={}, created={}", userId, diary.getDiaryDate(), created);
+
+        eventPublisher.publishEvent(new MoodDiarySavedEvent(userId, diary.getDiaryDate(), diary.getMoodScore()));
+        return diary;
+    }
+
+    @Override
+    public MoodTrendSnapshot getTrend(Long userId) {
+        return moodTrendAnalyzer.getTrend(userId);
+    }
+}
@@ -0,0 +1,52 @@
+package com.pregnancyapp.service.impl;
+
+import com.pregnancyapp.service.VerifyCodeStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 基于Redis的验证码存储
+ * 
+ * @author PregnancyApp Team
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.embedded", name = "enabled", havingValue = "false", matchIfMissing = true)
+public class RedisVerifyCodeStore implements VerifyCodeStore {
+
+    /**
+     * 比对一致才删除，比对与删除在同一脚本内原子完成
+     */
+    private static final RedisScript<Long> REMOVE_IF_MATCHES_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end return 0", Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    @Override
+    public void save(String phone, String type, String code, Duration ttl) {
+        stringRedisTemplate.opsForValue().set(VerifyCodeStore.key(phone, type), code, ttl);
+    }
+
+    @Override
+    public String get(String phone, String type) {
+        return stringRedisTemplate.opsForValue().get(VerifyCodeStore.key(phone, type));
+    }
+
+    @Override
+    public void remove(String phone, String type) {
+        stringRedisTemplate.delete(VerifyCodeStore.key(phone, type));
+    }
+
+    @Override
+    public boolean removeIfMatches(String phone, String type, String code) {
+        Long removed = stringRedisTemplate.execute(REMOVE_IF_MATCHES_SCRIPT, List.of(VerifyCodeStore.key(phone, type)), code);
+        return removed != null && removed > 0;
+    }
+}
@@ -0,0 +1,19 @@
+package com.pregnancyapp.web;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 标记支持条件GET的读接口
+ * 响应按 code、message、data 计算ETag（不含timestamp），If-None-Match 命中时返回304且不带响应体
+ * 
+ * @author PregnancyApp Team
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConditionalGet {
+}
@@ -0,0 +1,35 @@
+package com.pregnancyapp.web;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * 为 {@link ConditionalGet} 标记的GET接口打上条件请求标记，由 {@link ResultHttpMessageConverter} 处理ETag
+ * 
+ * @author PregnancyApp Team
+ */
+@RestControllerAdvice
+public class ConditionalGetAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return returnType.hasMethodAnnotation(ConditionalGet.class);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (HttpMethod.GET.equals(request.getMethod()) && request instanceof ServletServerHttpRequest servletRequest) {
+            servletRequest.getServletRequest().setAttribute(ResultHttpMessageConverter.CONDITIONAL_GET_ATTRIBUTE, Boolean.TRUE);
+        }
+        return body;
+    }
+}
@@ -0,0 +1,227 @@
+package com.pregnancyapp.web;
+
+import com.pregnancyapp.common.Result;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 统一响应结果写出转换器
+ * 无数据的常量响应（如 Result.success("退出成功")、ResultCode错误）缓存预编码的UTF-8字节模板，写出时只拼接timestamp；
+ * 标记了 {@link ConditionalGet} 的GET请求，成功响应按模板计算ETag，命中 If-None-Match 时返回304；错误响应不参与条件请求
+ * 其余响应交给底层JSON转换器（Jackson或fastjson2）处理
+ * 
+ * @author PregnancyApp Team
+ */
+public class ResultHttpMessageConverter implements HttpMessageConverter<Object> {
+
+    public static final String CONDITIONAL_GET_ATTRIBUTE = ResultHttpMessageConverter.class.getName() + ".CONDITIONAL_GET";
+
+    /**
+     * 编码模板时使用的占位时间戳，编码后按其位置切分前后缀
+     */
+    private static final long TIMESTAMP_PLACEHOLDER = 7_777_777_777_777_777_777L;
+
+    private static final byte[] PLACEHOLDER_BYTES = String.valueOf(TIMESTAMP_PLACEHOLDER).getBytes(StandardCharsets.US_ASCII);
+
+    private final HttpMessageConverter<Object> delegate;
+
+    private final int templateCacheSize;
+
+    private final Map<String, Template> templates = new ConcurrentHashMap<>();
+
+    public ResultHttpMessageConverter(HttpMessageConverter<Object> delegate, int templateCacheSize) {
+        this.delegate = delegate;
+        this.templateCacheSize = templateCacheSize;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return Result.class.isAssignableFrom(clazz) && delegate.canWrite(clazz, mediaType);
+    }
+
+    @Override
+    public List<MediaType> getSupportedMediaTypes() {
+        return delegate.getSupportedMediaTypes();
+    }
+
+    @Override
+    public Object read(Class<?> clazz, HttpInputMessage inputMessage) throws HttpMessageNotReadableException {
+        throw new HttpMessageNotReadableException("ResultHttpMessageConverter不支持读取", inputMessage);
+    }
+
+    @Override
+    public void write(Object body, MediaType contentType, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        Result<?> result = (Result<?>) body;
+        // 错误结果（如任务不存在）不能被客户端缓存的成功结果替代，也不下发ETag
+        boolean conditional = result.isSuccess() && isConditionalGet();
+        if (result.getData() != null && !conditional) {
+            delegate.write(body, contentType, outputMessage);
+            return;
+        }
+
+        Template template = result.getData() == null ? cachedTemplate(result, contentType) : encode(result, contentType);
+        if (template == null) {
+            delegate.write(body, contentType, outputMessage);
+            return;
+        }
+
+        HttpHeaders headers = outputMessage.getHeaders();
+        if (conditional) {
+            headers.setETag(template.etag);
+            headers.setCacheControl("private, no-cache");
+            if (matches(template.etag) && outputMessage instanceof ServerHttpResponse response) {
+                response.setStatusCode(HttpStatus.NOT_MODIFIED);
+                // 不写响应体时由flush提交状态码与ETag等头，否则调用方不会再写出这些头
+                response.flush();
+                return;
+            }
+        }
+
+        long now = result.getTimestamp() != null ? result.getTimestamp() : System.currentTimeMillis();
+        byte[] timestamp = String.valueOf(now).getBytes(StandardCharsets.US_ASCII);
+        headers.setContentType(template.contentType);
+        headers.setContentLength((long) template.prefix.length + timestamp.length + template.suffix.length);
+        OutputStream out = outputMessage.getBody();
+        out.write(template.prefix);
+        out.write(timestamp);
+        out.write(template.suffix);
+        out.flush();
+    }
+
+    /**
+     * 常量响应按 code + message 缓存模板，超出容量后不再缓存，避免动态消息撑大内存
+     */
+    private Template cachedTemplate(Result<?> result, MediaType contentType) throws IOException {
+        String key = result.getCode() + ":" + result.getMessage();
+        Template template = templates.get(key);
+        if (template != null) {
+            return template;
+        }
+        template = encode(result, contentType);
+        if (template != null && templates.size() < templateCacheSize) {
+            templates.putIfAbsent(key, template);
+        }
+        return template;
+    }
+
+    /**
+     * 用底层转换器以占位时间戳编码一次，保证输出与未使用模板时逐字节一致
+     */
+    private Template encode(Result<?> result, MediaType contentType) throws IOException {
+        Result<Object> copy = new Result<>(result.getCode(), result.getMessage(), result.getData());
+        copy.setTimestamp(TIMESTAMP_PLACEHOLDER);
+        BufferedOutputMessage buffer = new BufferedOutputMessage();
+        delegate.write(copy, contentType, buffer);
+        byte[] bytes = buffer.body.toByteArray();
+        int index = lastIndexOf(bytes, PLACEHOLDER_BYTES);
+        if (index < 0) {
+            return null;
+        }
+        byte[] prefix = new byte[index];
+        byte[] suffix = new byte[bytes.length - index - PLACEHOLDER_BYTES.length];
+        System.arraycopy(bytes, 0, prefix, 0, prefix.length);
+        System.arraycopy(bytes, index + PLACEHOLDER_BYTES.length, suffix, 0, suffix.length);
+
+        byte[] digestSource = new byte[prefix.length + suffix.length];
+        System.arraycopy(prefix, 0, digestSource, 0, prefix.length);
+        System.arraycopy(suffix, 0, digestSource, prefix.length, suffix.length);
+        // 响应体随timestamp变化，使用弱ETag
+        String etag = "W/\"" + DigestUtils.md5DigestAsHex(digestSource) + "\"";
+
+        MediaType type = buffer.headers.getContentType() != null ? buffer.headers.getContentType() : MediaType.APPLICATION_JSON;
+        return new Template(prefix, suffix, etag, type);
+    }
+
+    private boolean isConditionalGet() {
+        return currentRequest() != null && Boolean.TRUE.equals(currentRequest().getAttribute(CONDITIONAL_GET_ATTRIBUTE));
+    }
+
+    private boolean matches(String etag) {
+        HttpServletRequest request = currentRequest();
+        if (request == null) {
+            return false;
+        }
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaque = etag.substring(2);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if ("*".equals(value) || value.equals(etag) || value.equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private HttpServletRequest currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes servletAttributes ? servletAttributes.getRequest() : null;
+    }
+
+    private static int lastIndexOf(byte[] source, byte[] target) {
+        outer:
+        for (int i = source.length - target.length; i >= 0; i--) {
+            for (int j = 0; j < target.length; j++) {
+                if (source[i + j] != target[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    /**
+     * 预编码的响应模板
+     */
+    private record Template(byte[] prefix, byte[] suffix, String etag, MediaType contentType) {
+    }
+
+    /**
+     * 内存中的输出消息，仅用于编码模板
+     */
+    private static class BufferedOutputMessage implements HttpOutputMessage {
+
+        private final HttpHeaders headers = new HttpHeaders();
+
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(256);
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
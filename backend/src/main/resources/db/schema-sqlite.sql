@@ -0,0 +1,542 @@
+-- 孕期家庭协作应用数据库设计（嵌入式 SQLite 版本）
+-- 与 database/pregnancy_app_schema.sql 表结构保持一致，表与字段的一致性由 SqliteSchemaTest 校验
+-- 方言差异：
+--   1. enum 改为 VARCHAR + CHECK 约束，json/longtext 改为 TEXT
+--   2. 去掉 ENGINE/CHARSET/COMMENT，ON UPDATE CURRENT_TIMESTAMP 由 AuditFieldMetaObjectHandler 填充 updated_at
+--   3. 主键使用 INTEGER PRIMARY KEY（SQLite 中为 64 位整数，兼容雪花ID）
+--   4. 触发器按 SQLite 语法移植：不能修改 NEW 行，BEFORE UPDATE 中的 SET NEW.x 改为 AFTER UPDATE 回写本行
+--   5. 存储过程（统计、清理）不移植，嵌入式部署不使用
+-- 语句以 ^; 分隔（触发器体内含分号），需配置 spring.sql.init.separator: ^;
+-- 脚本可重复执行，启动时由 spring.sql.init 自动加载
+
+-- ----------------------------
+-- 1. 用户相关表
+-- ----------------------------
+
+-- 用户基础信息表
+CREATE TABLE IF NOT EXISTS users (
+  id INTEGER PRIMARY KEY,
+  phone VARCHAR(20) NOT NULL,
+  nickname VARCHAR(50),
+  avatar_url VARCHAR(500),
+  gender SMALLINT,
+  birthday DATE,
+  role_type VARCHAR(11) NOT NULL CHECK (role_type IN ('pregnant', 'partner', 'grandparent', 'family')),
+  status SMALLINT DEFAULT 1,
+  last_login_time TIMESTAMP,
+  created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+  updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+  UNIQUE (phone)
+)^;
+CREATE INDEX IF NOT EXISTS idx_users_role_type ON users (role_type)^;
+CREATE INDEX IF NOT EXISTS idx_users_created_at ON users (created_at)^;
+
+-- 家庭信息表
+CREATE TABLE IF NOT EXISTS families (
+  id INTEGER PRIMARY KEY,
+  name VARCHAR(100) NOT NULL,
+  creator_id BIGINT NOT NULL,
+  invite_code VARCHAR(20),
+  status SMALLINT DEFAULT 1,
+  created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+  updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+  UNIQUE (invite_code),
+  FOREIGN KEY (creator_id) REFERENCES users (id)
+)^;
+CREATE INDEX IF NOT EXISTS idx_families_creator_id ON families (creator_id)^;
+
+-- 家庭成员关系表
+CREATE TABLE IF NOT EXISTS family_relations (
+  id INTEGER PRIMARY KEY,
+  family_id BIGINT NOT NULL,
+  user_id BIGINT NOT NULL,
+  role VARCHAR(20) NOT NULL,
+  permissions TEXT,
+  invited_by BIGINT,
+  joined_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+  status SMALLINT DEFAULT 1,
+  UNIQUE (family_id, user_id),
+  FOREIGN KEY (family_id) REFERENCES families (id),
+  FOREIGN KEY (user_id) REFERENCES users (id),
+  FOREIGN KEY (invited_by) REFERENCES users (id)
+)^;
+CREATE INDEX IF NOT EXISTS idx_family_relations_user_id ON family_relations (user_id)^;
+CREATE INDEX IF NOT EXISTS idx_family_relations_invited_by ON family_relations (invited_by)^;
+
+-- ----------------------------
+-- 2. 孕期相关表
+-- ----------------------------
+
+-- 孕期信息表
+CREATE TABLE IF NOT EXISTS pregnancy_info (
+  id INTEGER PRIMARY KEY,
+  user_id BIGINT NOT NULL,
+  due_date DATE NOT NULL,
+  last_menstrual_date DATE,
+  current_week INTEGER,
+  current_day INTEGER,
+  pregnancy_status VARCHAR(10) DEFAULT 'pregnant' CHECK (pregnancy_status IN ('preparing', 'pregnant', 'postpartum')),
+  baby_gender VARCHAR(10) DEFAULT 'unknown' CHECK (baby_gender IN ('male', 'female', 'unknown')),
+  baby_name VARCHAR(50),
+  pre_pregnancy_weight DECIMAL(5,2),
+  target_weight_gain DECIMAL(5,2),
+  created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+  updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+  UNIQUE (user_id),
+  FOREIGN KEY (user_id) REFERENCES users (id)
+)^;
+CREATE INDEX IF NOT EXISTS idx_pregnancy_info_due_date ON pregnancy_info (due_date)^;
+CREATE INDEX IF NOT EXISTS idx_pregnancy_info_pregnancy_status ON pregnancy_info (pregnancy_status)^;
+
+-- ----------------------------
+-- 3. 健康管理相关表
+-- ----------------------------
+
+-- 产检记录表
+CREATE TABLE IF NOT EXISTS checkup_records (
+  id INTEGER PRIMARY KEY,
+  user_id BIGINT NOT NULL,
+  pregnancy_week INTEGER NOT NULL,
+  checkup_date DATE NOT NULL,
+  hospital VARCHAR(100),
+  doctor VARCHAR(50),
+  checkup_type VARCHAR(50),
+  weight DECIMAL(5,2),
+  blood_pressure_high INTEGER,
+  blood_pressure_low INTEGER,
+  fundal_height DECIMAL(4,1),
+  abdominal_circumference DECIMAL(5,1),
+  fetal_heart_rate INTEGER,
+  results TEXT,
+  attachments TEXT,
+  doctor_advice TEXT,
+  next_checkup_date DATE,
+  created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+  updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+  FOREIGN KEY (user_id) REFERENCES users (id)
+)^;
+CREATE INDEX IF NOT EXISTS idx_checkup_records_user_id ON checkup_records (user_id)^;
+CREATE INDEX IF NOT EXISTS idx_checkup_records_checkup_date ON checkup_records (checkup_date)^;
+CREATE INDEX IF NOT EXISTS idx_checkup_records_pregnancy_week ON checkup_records (pregnancy_week)^;
+
+-- 健康数据记录表
+CREATE TABLE IF NOT EXISTS health_data (
+  id INTEGER PRIMARY KEY,
+  user_id BIGINT NOT NULL,
+  data_type VARCHAR(14) NOT NULL CHECK (data_type IN ('weight', 'blood_pressure', 'fetal_movement', 'mood', 'symptom')),
+  value TEXT NOT NULL,
+  recorded_date DATE NOT NULL,
+  recorded_time TIME,
+  notes TEXT,
+  created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+  FOREIGN KEY (user_id) REFERENCES users (id)
+)^;
+CREATE INDEX IF NOT EXISTS idx_health_data_user_id ON health_data (user_id)^;
+CREATE INDEX IF NOT EXISTS idx_health_data_data_type ON health_data (data_type)^;
+CREATE INDEX IF NOT EXISTS idx_health_data_recorded_date ON health_data (recorded_date)^;
+
+-- ----------------------------
+-- 4. 营养管理相关表
+-- ----------------------------
+
+-- 食物营养数据表
+CREATE TABLE IF NOT EXISTS food_nutrition (
+  id INTEGER PRIMARY KEY,
+  food_name VARCHAR(100) NOT NULL,
+  category VARCHAR(50) NOT NULL,
+  calories_per_100g DECIMAL(8,2),
+  protein_per_100g DECIMAL(8,2),
+  fat_per_100g DECIMAL(8,2),
+  carbs_per_100g DECIMAL(8,2),
+  fiber_per_100g DECIMAL(8,2),
+  calcium_mg DECIMAL(8,2),
+  iron_mg DECIMAL(8,2),
+  folic_acid_ug DECIMAL(8,2),
+  vitamin_c_mg DECIMAL(8,2),
+  dha_mg DECIMAL(8,2),
+  pregnancy_safe SMALLINT DEFAULT 1,
+  pregnancy_limit VARCHAR(200),
+  season_available TEXT,
+  created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+  updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+)^;
+CREATE INDEX IF NOT EXISTS idx_food_nutrition_food_name ON food_nutrition (food_name)^;
+CREATE INDEX IF NOT EXISTS idx_food_nutrition_category ON food_nutrition (category)^;
+CREATE INDEX IF NOT EXISTS idx_food_nutrition_pregnancy_safe ON food_nutrition (pregnancy_safe)^;
+
+-- 用户饮食记录表
+CREATE TABLE IF NOT EXISTS user_diet_records (
+  id INTEGER PRIMARY KEY,
+  user_id BIGINT NOT NULL,
+  food_id BIGINT NOT NULL,
+  amount_grams DECIMAL(8,2) NOT NULL,
+  meal_type VARCHAR(10) NOT NULL CHECK (meal_type IN ('breakfast', 'lunch', 'dinner', 'snack')),
+  recorded_date DATE NOT NULL,
+  recorded_time TIME,
+  notes VARCHAR(200),
+  created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+  FOREIGN KEY (user_id) REFERENCES users (id),
+  FOREIGN KEY (food_id) REFERENCES food_nutrition (id)
+)^;
+CREATE INDEX IF NOT EXISTS idx_user_diet_records_user_id ON user_diet_records (user_id)^;
+CREATE INDEX IF NOT EXISTS idx_user_diet_records_food_id ON user_diet_records (food_id)^;
+CREATE INDEX IF NOT EXISTS idx_user_diet_records_recorded_date ON user_diet_records (recorded_date)^;
+CREATE INDEX IF NOT EXISTS idx_user_diet_records_meal_type ON user_diet_records (meal_type)^;
+
+-- 营养目标表
+CREATE TABLE IF NOT EXISTS nutrition_targets (
+  id INTEGER PRIMARY KEY,
+  pregnancy_week_start INTEGER NOT NULL,
+  pregnancy_week_end INTEGER NOT NULL,
+  calories_target DECIMAL(8,2) NOT NULL,
+  protein_target DECIMAL(8,2) NOT NULL,
+  calcium_target DECIMAL(8,2) NOT NULL,
+  iron_target DECIMAL(8,2) NOT NULL,
+  folic_acid_target DECIMAL(8,2) NOT NULL,
+  vitamin_c_target DECIMAL(8,2) NOT NULL,
+  dha_target DECIMAL(8,2),
+  created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+)^;
+CREATE INDEX IF NOT EXISTS idx_nutrition_targets_pregnancy_week ON nutrition_targets (pregnancy_week_start, pregnancy_week_end)^;
+
+-- ----------------------------
+-- 5. 家庭协作相关表
+-- ----------------------------
+
+-- 任务表
+CREATE TABLE IF NOT EXISTS tasks (
+  id INTEGER PRIMARY KEY,
+  family_id BIGINT NOT NULL,
+  creator_id BIGINT NOT NULL,
+  assignee_id BIGINT,
+  title VARCHAR(200) NOT NULL,
+  description TEXT,
+  category VARCHAR(50),
+  priority VARCHAR(10) DEFAULT 'medium' CHECK (priority IN ('low', 'medium', 'high', 'urgent')),
+  status VARCHAR(11) DEFAULT 'pending' CHECK (status IN ('pending', 'in_progress', 'completed', 'cancelled')),
+  due_date TIMESTAMP,
+  completed_at TIMESTAMP,
+  completion_photos TEXT,
+  rating SMALLINT,
+  feedback VARCHAR(500),
+  created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+  updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+  FOREIGN KEY (family_id) REFERENCES families (id),
+  FOREIGN KEY (creator_id) REFERENCES users (id),
+  FOREIGN KEY (assignee_id) REFERENCES users (id)
+)^;
+CREATE INDEX IF NOT EXISTS idx_tasks_family_id ON tasks (family_id)^;
+CREATE INDEX IF NOT EXISTS idx_tasks_creator_id ON tasks (creator_id)^;
+CREATE INDEX IF NOT EXISTS idx_tasks_assignee_id ON tasks (assignee_id)^;
+CREATE INDEX IF NOT EXISTS idx_tasks_status ON tasks (status)^;
+CREATE INDEX IF NOT EXISTS idx_tasks_due_date ON tasks (due_date)^;
+
+-- 通知记录表
+CREATE TABLE IF NOT EXISTS notifications (
+  id INTEGER PRIMARY KEY,
+  sender_id BIGINT NOT NULL,
+  receiver_id BIGINT NOT NULL,
+  type VARCHAR(50) NOT NULL,
+  title VARCHAR(200) NOT NULL,
+  content TEXT NOT NULL,
+  extra_data TEXT,
+  status VARCHAR(10) DEFAULT 'sent' CHECK (status IN ('sent', 'read', 'responded')),
+  read_at TIMESTAMP,
+  responded_at TIMESTAMP,
+  created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+  FOREIGN KEY (sender_id) REFERENCES users (id),
+  FOREIGN KEY (receiver_id) REFERENCES users (id)
+)^;
+CREATE INDEX IF NOT EXISTS idx_notifications_sender_id ON notifications (sender_id)^;
+CREATE INDEX IF NOT EXISTS idx_notifications_receiver_id ON notifications (receiver_id)^;
+CREATE INDEX IF NOT EXISTS idx_notifications_type ON notifications (type)^;
+CREATE INDEX IF NOT EXISTS idx_notifications_status ON notifications (status)^;
+CREATE INDEX IF NOT EXISTS idx_notifications_created_at ON notifications (created_at)^;
+
+-- ----------------------------
+-- 6. 内容和知识相关表
+-- ----------------------------
+
+-- 知识内容表
+CREATE TABLE IF NOT EXISTS knowledge_content (
+  id INTEGER PRIMARY KEY,
+  title VARCHAR(200) NOT NULL,
+  content TEXT NOT NULL,
+  summary VARCHAR(500),
+  category VARCHAR(50) NOT NULL,
+  tags TEXT,
+  target_audience VARCHAR(11) DEFAULT 'all' CHECK (target_audience IN ('pregnant', 'partner', 'grandparent', 'all')),
+  pregnancy_week_start INTEGER,
+  pregnancy_week_end INTEGER,
+  content_type VARCHAR(10) DEFAULT 'article' CHECK (content_type IN ('article', 'video', 'audio')),
+  media_url VARCHAR(500),
+  duration INTEGER,
+  author VARCHAR(100),
+  view_count INTEGER DEFAULT 0,
+  like_count INTEGER DEFAULT 0,
+  status VARCHAR(10) DEFAULT 'draft' CHECK (status IN ('draft', 'published', 'archived')),
+  published_at TIMESTAMP,
+  created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+  updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+)^;
+CREATE INDEX IF NOT EXISTS idx_knowledge_content_category ON knowledge_content (category)^;
+CREATE INDEX IF NOT EXISTS idx_knowledge_content_target_audience ON knowledge_content (target_audience)^;
+CREATE INDEX IF NOT EXISTS idx_knowledge_content_pregnancy_week ON knowledge_content (pregnancy_week_start, pregnancy_week_end)^;
+CREATE INDEX IF NOT EXISTS idx_knowledge_content_status ON knowledge_content (status)^;
+CREATE INDEX IF NOT EXISTS idx_knowledge_content_published_at ON knowledge_content (published_at)^;
+
+-- 用户学习记录表
+CREATE TABLE IF NOT EXISTS user_learning_records (
+  id INTEGER PRIMARY KEY,
+  user_id BIGINT NOT NULL,
+  content_id BIGINT NOT NULL,
+  progress DECIMAL(5,2) DEFAULT 0.00,
+  duration INTEGER DEFAULT 0,
+  completed SMALLINT DEFAULT 0,
+  liked SMALLINT DEFAULT 0,
+  notes TEXT,
+  last_position INTEGER DEFAULT 0,
+  completed_at TIMESTAMP,
+  created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+  updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+  UNIQUE (user_id, content_id),
+  FOREIGN KEY (user_id) REFERENCES users (id),
+  FOREIGN KEY (content_id) REFERENCES knowledge_content (id)
+)^;
+CREATE INDEX IF NOT EXISTS idx_user_learning_records_content_id ON user_learning_records (content_id)^;
+CREATE INDEX IF NOT EXISTS idx_user_learning_records_completed ON user_learning_records (completed)^;
+
+-- ----------------------------
+-- 7. 情感互动相关表
+-- ----------------------------
+
+-- 心情日记表
+CREATE TABLE IF NOT EXISTS mood_diaries (
+  id INTEGER PRIMARY KEY,
+  user_id BIGINT NOT NULL,
+  diary_date DATE NOT NULL,
+  mood_score SMALLINT NOT NULL,
+  mood_tags TEXT,
+  content TEXT,
+  photos TEXT,
+  voice_url VARCHAR(500),
+  voice_duration INTEGER,
+  weather VARCHAR(50),
+  shared_with_family SMALLINT DEFAULT 0,
+  created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+  updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+  UNIQUE (user_id, diary_date),
+  FOREIGN KEY (user_id) REFERENCES users (id)
+)^;
+CREATE INDEX IF NOT EXISTS idx_mood_diaries_diary_date ON mood_diaries (diary_date)^;
+CREATE INDEX IF NOT EXISTS idx_mood_diaries_mood_score ON mood_diaries (mood_score)^;
+
+-- 家庭相册表
+CREATE TABLE IF NOT EXISTS family_albums (
+  id INTEGER PRIMARY KEY,
+  family_id BIGINT NOT NULL,
+  uploader_id BIGINT NOT NULL,
+  title VARCHAR(200),
+  description TEXT,
+  photo_url VARCHAR(500) NOT NULL,
+  thumbnail_url VARCHAR(500),
+  tags TEXT,
+  pregnancy_week INTEGER,
+  taken_at TIMESTAMP,
+  like_count INTEGER DEFAULT 0,
+  comment_count INTEGER DEFAULT 0,
+  created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+  FOREIGN KEY (family_id) REFERENCES families (id),
+  FOREIGN KEY (uploader_id) REFERENCES users (id)
+)^;
+CREATE INDEX IF NOT EXISTS idx_family_albums_family_id ON family_albums (family_id)^;
+CREATE INDEX IF NOT EXISTS idx_family_albums_uploader_id ON family_albums (uploader_id)^;
+CREATE INDEX IF NOT EXISTS idx_family_albums_pregnancy_week ON family_albums (pregnancy_week)^;
+CREATE INDEX IF NOT EXISTS idx_family_albums_taken_at ON family_albums (taken_at)^;
+
+-- 相册评论表
+CREATE TABLE IF NOT EXISTS album_comments (
+  id INTEGER PRIMARY KEY,
+  album_id BIGINT NOT NULL,
+  user_id BIGINT NOT NULL,
+  content TEXT NOT NULL,
+  parent_id BIGINT,
+  like_count INTEGER DEFAULT 0,
+  created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+  FOREIGN KEY (album_id) REFERENCES family_albums (id),
+  FOREIGN KEY (user_id) REFERENCES users (id),
+  FOREIGN KEY (parent_id) REFERENCES album_comments (id)
+)^;
+CREATE INDEX IF NOT EXISTS idx_album_comments_album_id ON album_comments (album_id)^;
+CREATE INDEX IF NOT EXISTS idx_album_comments_user_id ON album_comments (user_id)^;
+CREATE INDEX IF NOT EXISTS idx_album_comments_parent_id ON album_comments (parent_id)^;
+
+-- ----------------------------
+-- 8. 系统配置相关表
+-- ----------------------------
+
+-- 系统配置表
+CREATE TABLE IF NOT EXISTS system_configs (
+  id INTEGER PRIMARY KEY,
+  config_key VARCHAR(100) NOT NULL,
+  config_value TEXT NOT NULL,
+  config_type VARCHAR(10) DEFAULT 'string' CHECK (config_type IN ('string', 'number', 'boolean', 'json')),
+  description VARCHAR(500),
+  is_public SMALLINT DEFAULT 0,
+  created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+  updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+  UNIQUE (config_key)
+)^;
+
+-- 用户设置表
+CREATE TABLE IF NOT EXISTS user_settings (
+  id INTEGER PRIMARY KEY,
+  user_id BIGINT NOT NULL,
+  setting_key VARCHAR(100) NOT NULL,
+  setting_value TEXT NOT NULL,
+  created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+  updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+  UNIQUE (user_id, setting_key),
+  FOREIGN KEY (user_id) REFERENCES users (id)
+)^;
+
+-- ----------------------------
+-- 9. 初始化数据（按主键去重，可重复执行）
+-- ----------------------------
+
+-- 插入营养目标数据
+INSERT INTO nutrition_targets (id, pregnancy_week_start, pregnancy_week_end, calories_target, protein_target, calcium_target, iron_target, folic_acid_target, vitamin_c_target, dha_target) VALUES
+(1, 1, 12, 1800.00, 60.00, 1000.00, 27.00, 600.00, 85.00, 200.00),
+(2, 13, 28, 2200.00, 75.00, 1000.00, 27.00, 600.00, 85.00, 200.00),
+(3, 29, 40, 2400.00, 85.00, 1200.00, 27.00, 600.00, 120.00, 200.00)
+ON CONFLICT (id) DO NOTHING^;
+
+-- 插入基础食物营养数据
+INSERT INTO food_nutrition (id, food_name, category, calories_per_100g, protein_per_100g, fat_per_100g, carbs_per_100g, fiber_per_100g, calcium_mg, iron_mg, folic_acid_ug, vitamin_c_mg, pregnancy_safe, pregnancy_limit, season_available) VALUES
+-- 蔬菜类
+(1, '菠菜', '蔬菜', 23.00, 2.90, 0.30, 3.60, 2.20, 99.00, 2.70, 194.00, 32.00, 1, NULL, '[1,2,3,4,11,12]'),
+(2, '西兰花', '蔬菜', 34.00, 2.80, 0.40, 7.00, 2.60, 47.00, 0.70, 63.00, 89.20, 1, NULL, '[1,2,3,4,10,11,12]'),
+(3, '胡萝卜', '蔬菜', 41.00, 0.90, 0.20, 9.60, 2.80, 33.00, 0.30, 19.00, 5.90, 1, NULL, '[1,2,3,4,5,6,7,8,9,10,11,12]'),
+(4, '西红柿', '蔬菜', 18.00, 0.90, 0.20, 3.90, 1.20, 10.00, 0.30, 15.00, 23.00, 1, NULL, '[6,7,8,9,10]'),
+
+-- 水果类
+(5, '苹果', '水果', 52.00, 0.30, 0.20, 14.00, 2.40, 6.00, 0.10, 3.00, 4.60, 1, NULL, '[1,2,3,4,10,11,12]'),
+(6, '香蕉', '水果', 89.00, 1.10, 0.30, 23.00, 2.60, 5.00, 0.30, 20.00, 8.70, 1, NULL, '[1,2,3,4,5,6,7,8,9,10,11,12]'),
+(7, '橙子', '水果', 47.00, 0.90, 0.10, 12.00, 2.40, 40.00, 0.10, 40.00, 53.20, 1, NULL, '[1,2,3,4,11,12]'),
+(8, '草莓', '水果', 32.00, 0.70, 0.30, 7.70, 2.00, 16.00, 0.40, 24.00, 58.80, 1, '适量食用，注意清洗', '[3,4,5,6]'),
+(9, '芒果', '水果', 60.00, 0.80, 0.40, 15.00, 1.60, 11.00, 0.20, 43.00, 36.40, 1, '每日不超过200g', '[4,5,6,7,8,9]'),
+(10, '西瓜', '水果', 30.00, 0.60, 0.20, 8.00, 0.40, 7.00, 0.20, 3.00, 8.10, 1, '每日不超过300g，晚上少食', '[6,7,8,9]'),
+
+-- 蛋白质类
+(11, '鸡蛋', '蛋类', 155.00, 13.00, 11.00, 1.10, 0.00, 56.00, 2.00, 25.00, 0.00, 1, NULL, '[1,2,3,4,5,6,7,8,9,10,11,12]'),
+(12, '牛奶', '奶制品', 54.00, 3.00, 3.20, 5.00, 0.00, 104.00, 0.03, 5.00, 1.00, 1, NULL, '[1,2,3,4,5,6,7,8,9,10,11,12]'),
+(13, '酸奶', '奶制品', 60.00, 3.20, 3.30, 4.70, 0.00, 118.00, 0.05, 7.00, 1.00, 1, NULL, '[1,2,3,4,5,6,7,8,9,10,11,12]'),
+(14, '三文鱼', '鱼类', 208.00, 25.40, 12.40, 0.00, 0.00, 12.00, 0.80, 26.00, 0.00, 1, NULL, '[1,2,3,4,5,6,7,8,9,10,11,12]'),
+(15, '瘦猪肉', '肉类', 143.00, 20.30, 6.20, 1.50, 0.00, 6.00, 3.00, 6.00, 0.00, 1, '充分煮熟', '[1,2,3,4,5,6,7,8,9,10,11,12]'),
+
+-- 谷物类
+(16, '大米', '谷物', 130.00, 2.70, 0.30, 28.00, 0.40, 25.00, 0.80, 8.00, 0.00, 1, NULL, '[1,2,3,4,5,6,7,8,9,10,11,12]'),
+(17, '小米', '谷物', 358.00, 9.00, 3.10, 75.10, 1.60, 41.00, 5.10, 19.00, 0.00, 1, NULL, '[1,2,3,4,5,6,7,8,9,10,11,12]'),
+(18, '燕麦', '谷物', 338.00, 15.00, 8.50, 61.00, 5.30, 186.00, 7.00, 19.00, 0.00, 1, NULL, '[1,2,3,4,5,6,7,8,9,10,11,12]'),
+
+-- 坚果类
+(19, '核桃', '坚果', 654.00, 15.20, 65.20, 13.70, 9.50, 56.00, 2.20, 19.00, 1.20, 1, '每日不超过30g', '[1,2,3,4,5,6,7,8,9,10,11,12]'),
+(20, '杏仁', '坚果', 579.00, 21.20, 51.40, 22.00, 11.80, 269.00, 3.10, 44.00, 0.00, 1, '每日不超过20g', '[1,2,3,4,5,6,7,8,9,10,11,12]'),
+
+-- 禁忌食物
+(21, '生鱼片', '海鲜', 127.00, 20.10, 4.90, 0.00, 0.00, 26.00, 0.40, 5.00, 0.00, 0, '孕期禁食生海鲜', NULL),
+(22, '生蚝', '海鲜', 68.00, 9.00, 2.30, 3.90, 0.00, 45.00, 6.20, 12.00, 0.00, 0, '孕期禁食生海鲜', NULL),
+(23, '酒精饮品', '饮品', 231.00, 0.00, 0.00, 0.00, 0.00, 0.00, 0.00, 0.00, 0.00, 0, '孕期严禁饮酒', NULL)
+ON CONFLICT (id) DO NOTHING^;
+
+-- 插入系统配置数据
+INSERT INTO system_configs (id, config_key, config_value, config_type, description, is_public) VALUES
+(1, 'app_name', '家有孕宝', 'string', '应用名称', 1),
+(2, 'app_version', '1.0.0', 'string', '应用版本', 1),
+(3, 'pregnancy_weeks', '40', 'number', '标准孕期周数', 1),
+(4, 'max_family_members', '10', 'number', '最大家庭成员数', 0),
+(5, 'file_upload_max_size', '10485760', 'number', '文件上传最大大小(字节)', 0),
+(6, 'notification_push_enabled', 'true', 'boolean', '是否启用推送通知', 0)
+ON CONFLICT (id) DO NOTHING^;
+
+-- 创建索引优化查询性能
+CREATE INDEX IF NOT EXISTS idx_users_phone_status ON users (phone, status)^;
+CREATE INDEX IF NOT EXISTS idx_pregnancy_info_due_date_status ON pregnancy_info (due_date, pregnancy_status)^;
+CREATE INDEX IF NOT EXISTS idx_health_data_user_type_date ON health_data (user_id, data_type, recorded_date)^;
+CREATE INDEX IF NOT EXISTS idx_tasks_family_status_due ON tasks (family_id, status, due_date)^;
+CREATE INDEX IF NOT EXISTS idx_notifications_receiver_status_created ON notifications (receiver_id, status, created_at)^;
+
+-- 创建视图简化常用查询
+CREATE VIEW IF NOT EXISTS v_family_members AS
+SELECT
+    fr.family_id,
+    fr.user_id,
+    u.nickname,
+    u.avatar_url,
+    u.role_type,
+    fr.role AS family_role,
+    fr.joined_at,
+    fr.status
+FROM family_relations fr
+JOIN users u ON fr.user_id = u.id
+WHERE fr.status = 1 AND u.status = 1^;
+
+CREATE VIEW IF NOT EXISTS v_pregnancy_status AS
+SELECT
+    pi.user_id,
+    u.nickname,
+    pi.due_date,
+    pi.current_week,
+    pi.current_day,
+    pi.pregnancy_status,
+    pi.baby_gender,
+    pi.baby_name,
+    CAST(julianday(pi.due_date) - julianday(date('now', 'localtime')) AS INTEGER) AS days_to_due
+FROM pregnancy_info pi
+JOIN users u ON pi.user_id = u.id
+WHERE u.status = 1^;
+
+-- ----------------------------
+-- 10. 触发器（对应 MySQL 脚本中的同名触发器）
+-- ----------------------------
+
+-- 孕妇注册后自动创建家庭并加入
+CREATE TRIGGER IF NOT EXISTS tr_users_after_insert
+AFTER INSERT ON users
+FOR EACH ROW
+WHEN NEW.role_type = 'pregnant'
+BEGIN
+    INSERT INTO families (name, creator_id, invite_code)
+    VALUES (NEW.nickname || '的家庭', NEW.id, UPPER(HEX(RANDOMBLOB(4))));
+
+    INSERT INTO family_relations (family_id, user_id, role, invited_by, joined_at)
+    VALUES (last_insert_rowid(), NEW.id, '孕妇', NEW.id, CURRENT_TIMESTAMP);
+END^;
+
+-- 任务状态变更时更新完成时间
+CREATE TRIGGER IF NOT EXISTS tr_tasks_status_update
+AFTER UPDATE OF status ON tasks
+FOR EACH ROW
+WHEN NEW.status = 'completed' AND OLD.status != 'completed'
+BEGIN
+    UPDATE tasks SET completed_at = CURRENT_TIMESTAMP WHERE id = NEW.id;
+END^;
+
+-- 通知状态变更时更新时间（MySQL 中的 IF/ELSEIF 拆为两个互斥触发器）
+CREATE TRIGGER IF NOT EXISTS tr_notifications_status_read
+AFTER UPDATE OF status ON notifications
+FOR EACH ROW
+WHEN NEW.status = 'read' AND OLD.status = 'sent'
+BEGIN
+    UPDATE notifications SET read_at = CURRENT_TIMESTAMP WHERE id = NEW.id;
+END^;
+
+CREATE TRIGGER IF NOT EXISTS tr_notifications_status_responded
+AFTER UPDATE OF status ON notifications
+FOR EACH ROW
+WHEN NEW.status = 'responded' AND OLD.status != 'responded'
+BEGIN
+    UPDATE notifications SET responded_at = CURRENT_TIMESTAMP WHERE id = NEW.id;
+END^;
+
+-- 数据库初始化完成
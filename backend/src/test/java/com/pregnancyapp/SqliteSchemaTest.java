@@ -0,0 +1,135 @@
+package com.pregnancyapp;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 嵌入式 SQLite 建表脚本测试：与 MySQL 脚本的表结构一致性及触发器行为
+ *
+ * @author PregnancyApp Team
+ */
+class SqliteSchemaTest {
+
+    private static final Path MYSQL_SCHEMA = Paths.get("..", "database", "pregnancy_app_schema.sql");
+
+    private static final Pattern MYSQL_TABLE = Pattern.compile("CREATE TABLE `(\\w+)` \\((.*?)\\n\\) ENGINE", Pattern.DOTALL);
+
+    private static final Pattern MYSQL_COLUMN = Pattern.compile("^\\s*`(\\w+)`", Pattern.MULTILINE);
+
+    @TempDir
+    Path tempDir;
+
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:sqlite:" + tempDir.resolve("schema-test.db") + "?foreign_keys=true");
+        dataSource.setDriverClassName("org.sqlite.JDBC");
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator(new ClassPathResource("db/schema-sqlite.sql"));
+        populator.setSeparator("^;");
+        populator.setSqlScriptEncoding("UTF-8");
+        // 启动时每次都会执行，脚本必须可重复执行
+        populator.execute(dataSource);
+        populator.execute(dataSource);
+        jdbc = new JdbcTemplate(dataSource);
+    }
+
+    @Test
+    void tablesAndColumnsMatchMysqlSchema() throws IOException {
+        Map<String, Set<String>> mysql = new LinkedHashMap<>();
+        Matcher table = MYSQL_TABLE.matcher(Files.readString(MYSQL_SCHEMA, StandardCharsets.UTF_8));
+        while (table.find()) {
+            Set<String> columns = new LinkedHashSet<>();
+            Matcher column = MYSQL_COLUMN.matcher(table.group(2));
+            while (column.find()) {
+                columns.add(column.group(1));
+            }
+            mysql.put(table.group(1), columns);
+        }
+        assertThat(mysql).isNotEmpty();
+
+        Set<String> sqliteTables = new LinkedHashSet<>(jdbc.queryForList(
+                "SELECT name FROM sqlite_master WHERE type = 'table' AND name NOT LIKE 'sqlite_%'", String.class));
+        assertThat(sqliteTables).containsExactlyInAnyOrderElementsOf(mysql.keySet());
+        for (Entry<String, Set<String>> entry : mysql.entrySet()) {
+            Set<String> sqliteColumns = new LinkedHashSet<>(jdbc.queryForList(
+                    "SELECT name FROM pragma_table_info(?)", String.class, entry.getKey()));
+            assertThat(sqliteColumns).as("表 %s 的字段", entry.getKey())
+                    .containsExactlyInAnyOrderElementsOf(entry.getValue());
+        }
+    }
+
+    @Test
+    void pregnantUserInsertCreatesFamily() {
+        jdbc.update("INSERT INTO users (id, phone, nickname, role_type) VALUES (1001, '13800000001', '小雨', 'pregnant')");
+        jdbc.update("INSERT INTO users (id, phone, nickname, role_type) VALUES (1002, '13800000002', '阿杰', 'partner')");
+
+        Map<String, Object> family = jdbc.queryForMap("SELECT id, name, invite_code FROM families WHERE creator_id = 1001");
+        assertThat(family.get("name")).isEqualTo("小雨的家庭");
+        assertThat((String) family.get("invite_code")).matches("[0-9A-F]{8}");
+        Map<String, Object> relation = jdbc.queryForMap("SELECT family_id, role, invited_by FROM family_relations WHERE user_id = 1001");
+        assertThat(((Number) relation.get("family_id")).longValue()).isEqualTo(((Number) family.get("id")).longValue());
+        assertThat(relation.get("role")).isEqualTo("孕妇");
+        assertThat(((Number) relation.get("invited_by")).longValue()).isEqualTo(1001L);
+
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM families WHERE creator_id = 1002", Integer.class)).isZero();
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM family_relations WHERE user_id = 1002", Integer.class)).isZero();
+    }
+
+    @Test
+    void taskCompletionSetsCompletedAt() {
+        jdbc.update("INSERT INTO users (id, phone, nickname, role_type) VALUES (1001, '13800000001', '小雨', 'pregnant')");
+        long familyId = jdbc.queryForObject("SELECT id FROM families WHERE creator_id = 1001", Long.class);
+        jdbc.update("INSERT INTO tasks (id, family_id, creator_id, title) VALUES (1, ?, 1001, '买叶酸')", familyId);
+
+        jdbc.update("UPDATE tasks SET status = 'in_progress' WHERE id = 1");
+        assertThat(jdbc.queryForObject("SELECT completed_at FROM tasks WHERE id = 1", String.class)).isNull();
+
+        jdbc.update("UPDATE tasks SET status = 'completed' WHERE id = 1");
+        String completedAt = jdbc.queryForObject("SELECT completed_at FROM tasks WHERE id = 1", String.class);
+        assertThat(completedAt).isNotNull();
+
+        // 已完成的任务再次更新不刷新完成时间
+        jdbc.update("UPDATE tasks SET completed_at = '2020-01-01 00:00:00' WHERE id = 1");
+        jdbc.update("UPDATE tasks SET status = 'completed', feedback = '好' WHERE id = 1");
+        assertThat(jdbc.queryForObject("SELECT completed_at FROM tasks WHERE id = 1", String.class))
+                .isEqualTo("2020-01-01 00:00:00");
+    }
+
+    @Test
+    void notificationStatusSetsReadAndRespondedAt() {
+        jdbc.update("INSERT INTO users (id, phone, nickname, role_type) VALUES (1001, '13800000001', '小雨', 'pregnant')");
+        jdbc.update("INSERT INTO users (id, phone, nickname, role_type) VALUES (1002, '13800000002', '阿杰', 'partner')");
+        jdbc.update("INSERT INTO notifications (id, sender_id, receiver_id, type, title, content) "
+                + "VALUES (1, 1001, 1002, 'task', '提醒', '记得买叶酸')");
+
+        jdbc.update("UPDATE notifications SET status = 'read' WHERE id = 1");
+        Map<String, Object> read = jdbc.queryForMap("SELECT read_at, responded_at FROM notifications WHERE id = 1");
+        assertThat(read.get("read_at")).isNotNull();
+        assertThat(read.get("responded_at")).isNull();
+
+        jdbc.update("UPDATE notifications SET status = 'responded' WHERE id = 1");
+        assertThat(jdbc.queryForObject("SELECT responded_at FROM notifications WHERE id = 1", String.class)).isNotNull();
+    }
+}
@@ -0,0 +1,83 @@
+package com.pregnancyapp.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 进程内心情趋势窗口存储测试
+ *
+ * @author PregnancyApp Team
+ */
+class LocalMoodTrendStoreTest {
+
+    private static final LocalDate DAY1 = LocalDate.of(2024, 3, 1);
+
+    private static MoodScore day(int offset, int score) {
+        return new MoodScore(DAY1.plusDays(offset), score);
+    }
+
+    private LocalMoodTrendStore store(int windowSize, int maxUsers) {
+        MoodTrendProperties properties = new MoodTrendProperties();
+        properties.setWindowSize(windowSize);
+        properties.setLocalMaxUsers(maxUsers);
+        return new LocalMoodTrendStore(properties);
+    }
+
+    @Test
+    void missingWindowRequiresSeed() {
+        LocalMoodTrendStore store = store(3, 10);
+
+        assertThat(store.update(1L, day(0, 5), null)).isNull();
+
+        // 回填数据已包含本次写入，写入前窗口不含本日
+        MoodTrendStore.WindowUpdate update = store.update(1L, day(1, 6), List.of(day(0, 5), day(1, 6)));
+        assertThat(update.before()).containsExactly(day(0, 5));
+        assertThat(update.after()).containsExactly(day(0, 5), day(1, 6));
+    }
+
+    @Test
+    void sameDayOverwritesAndWindowIsTrimmed() {
+        LocalMoodTrendStore store = store(3, 10);
+        store.replace(1L, List.of(day(0, 5), day(1, 6), day(2, 7)));
+
+        MoodTrendStore.WindowUpdate update = store.update(1L, day(2, 3), null);
+        assertThat(update.before()).containsExactly(day(0, 5), day(1, 6), day(2, 7));
+        assertThat(update.after()).containsExactly(day(0, 5), day(1, 6), day(2, 3));
+
+        assertThat(store.update(1L, day(3, 8), null).after()).containsExactly(day(1, 6), day(2, 3), day(3, 8));
+    }
+
+    @Test
+    void backdatedScoreIsPlacedByDate() {
+        LocalMoodTrendStore store = store(3, 10);
+        store.replace(1L, List.of(day(1, 6), day(3, 8)));
+
+        assertThat(store.update(1L, day(2, 4), null).after()).containsExactly(day(1, 6), day(2, 4), day(3, 8));
+        // 早于窗口的补录写入后即被裁掉
+        assertThat(store.update(1L, day(0, 1), null).after()).containsExactly(day(1, 6), day(2, 4), day(3, 8));
+    }
+
+    @Test
+    void putIfAbsentKeepsExistingWindow() {
+        LocalMoodTrendStore store = store(3, 10);
+        store.replace(1L, List.of(day(0, 5)));
+        store.putIfAbsent(1L, List.of(day(0, 9)));
+
+        assertThat(store.get(1L)).containsExactly(day(0, 5));
+    }
+
+    @Test
+    void userCountIsBounded() {
+        LocalMoodTrendStore store = store(3, 2);
+        store.replace(1L, List.of(day(0, 5)));
+        store.replace(2L, List.of(day(0, 5)));
+        store.replace(3L, List.of(day(0, 5)));
+
+        assertThat(store.get(1L)).isNull();
+        assertThat(store.get(3L)).isNotNull();
+    }
+}
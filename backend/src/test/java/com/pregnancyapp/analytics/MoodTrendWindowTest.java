@@ -0,0 +1,85 @@
+package com.pregnancyapp.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+/**
+ * 心情滑动窗口统计测试
+ *
+ * @author PregnancyApp Team
+ */
+class MoodTrendWindowTest {
+
+    private static final LocalDate DAY1 = LocalDate.of(2024, 3, 1);
+
+    private final MoodTrendProperties properties = new MoodTrendProperties();
+
+    private static List<MoodScore> days(int... scores) {
+        List<MoodScore> window = new ArrayList<>();
+        for (int i = 0; i < scores.length; i++) {
+            window.add(new MoodScore(DAY1.plusDays(i), scores[i]));
+        }
+        return window;
+    }
+
+    @Test
+    void windowStatisticsMatchDirectComputation() {
+        MoodTrendSnapshot snapshot = new MoodTrendWindow(days(6, 7, 2), properties).snapshot(1L);
+
+        assertThat(snapshot.getSampleCount()).isEqualTo(3);
+        assertThat(snapshot.getMean()).isEqualTo(5.0);
+        assertThat(snapshot.getVariance()).isCloseTo((1 + 4 + 9) / 3.0, offset(1e-9));
+        double ewma = 6;
+        for (int score : new int[]{7, 2}) {
+            ewma = 0.3 * score + 0.7 * ewma;
+        }
+        assertThat(snapshot.getEwma()).isCloseTo(ewma, offset(1e-9));
+        assertThat(snapshot.getLastDate()).isEqualTo(DAY1.plusDays(2));
+        assertThat(snapshot.getLastScore()).isEqualTo(2);
+    }
+
+    @Test
+    void declineCountsOnlyConsecutiveDays() {
+        assertThat(new MoodTrendWindow(days(9, 8, 7, 6), properties).snapshot(1L).getDeclineDays()).isEqualTo(3);
+
+        // 中间缺一天，连续下降从缺口之后重新计算
+        List<MoodScore> gap = List.of(new MoodScore(DAY1, 9), new MoodScore(DAY1.plusDays(1), 8),
+                new MoodScore(DAY1.plusDays(3), 7), new MoodScore(DAY1.plusDays(4), 6));
+        assertThat(new MoodTrendWindow(gap, properties).snapshot(1L).getDeclineDays()).isEqualTo(1);
+    }
+
+    @Test
+    void declineRaisedOnceWhileActive() {
+        assertThat(MoodTrendWindow.raised(days(9, 8, 7), days(9, 8, 7, 6), properties))
+                .contains(MoodAlertType.CONTINUOUS_DECLINE);
+        // 同日修改后仍然下降，不重复通知
+        assertThat(MoodTrendWindow.raised(days(9, 8, 7, 6), days(9, 8, 7, 5), properties))
+                .doesNotContain(MoodAlertType.CONTINUOUS_DECLINE);
+        // 改为上升后预警解除，再次下降时重新通知
+        assertThat(MoodTrendWindow.raised(days(9, 8, 7, 8), days(9, 8, 7, 6), properties))
+                .contains(MoodAlertType.CONTINUOUS_DECLINE);
+    }
+
+    @Test
+    void suddenDropComparesAgainstPriorWindow() {
+        assertThat(MoodTrendWindow.raised(days(8, 8, 8), days(8, 8, 8, 5), properties))
+                .contains(MoodAlertType.SUDDEN_DROP);
+        // 样本不足时不判断骤降
+        assertThat(MoodTrendWindow.raised(days(8, 8), days(8, 8, 5), properties))
+                .doesNotContain(MoodAlertType.SUDDEN_DROP);
+    }
+
+    @Test
+    void lowMoodRequiresMinSamples() {
+        assertThat(new MoodTrendWindow(days(2, 2), properties).activeAlerts(properties))
+                .doesNotContain(MoodAlertType.LOW_MOOD);
+        assertThat(new MoodTrendWindow(days(2, 2, 2), properties).activeAlerts(properties))
+                .contains(MoodAlertType.LOW_MOOD);
+    }
+}
@@ -0,0 +1,38 @@
+package com.pregnancyapp.config;
+
+import com.pregnancyapp.mapper.DataExportMapper;
+import com.pregnancyapp.mapper.MoodDiaryMapper;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ResultSetType;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 游标语句按数据库选择流式选项测试
+ *
+ * @author PregnancyApp Team
+ */
+class MybatisConfigTest {
+
+    private static MappedStatement statement(String databaseId, Class<?> mapper, String method) {
+        Configuration configuration = new Configuration();
+        configuration.setDatabaseId(databaseId);
+        configuration.addMapper(mapper);
+        return configuration.getMappedStatement(mapper.getName() + "." + method);
+    }
+
+    @Test
+    void mysqlCursorsStreamRowByRow() {
+        MappedStatement statement = statement(MybatisConfig.MYSQL, DataExportMapper.class, "streamUserRows");
+        assertThat(statement.getFetchSize()).isEqualTo(Integer.MIN_VALUE);
+        assertThat(statement.getResultSetType()).isEqualTo(ResultSetType.FORWARD_ONLY);
+    }
+
+    @Test
+    void otherDatabasesUseBatchedFetch() {
+        assertThat(statement("sqlite", DataExportMapper.class, "streamUserRows").getFetchSize()).isEqualTo(1000);
+        assertThat(statement("sqlite", MoodDiaryMapper.class, "streamScoresByUserRange").getFetchSize()).isEqualTo(1000);
+    }
+}
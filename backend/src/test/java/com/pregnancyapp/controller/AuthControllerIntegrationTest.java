@@ -0,0 +1,182 @@
+package com.pregnancyapp.controller;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONObject;
+import com.pregnancyapp.entity.User;
+import com.pregnancyapp.mapper.UserMapper;
+import com.pregnancyapp.service.VerifyCodeStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * 认证流程集成测试（嵌入式模式：SQLite + 进程内会话与验证码）
+ *
+ * @author PregnancyApp Team
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("embedded")
+class AuthControllerIntegrationTest {
+
+    @TempDir
+    static Path tempDir;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("app.embedded.db-file", () -> tempDir.resolve("auth-test.db").toString());
+        registry.add("app.sms.enabled", () -> "false");
+        registry.add("app.export.path", () -> tempDir.resolve("exports").toString());
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private VerifyCodeStore verifyCodeStore;
+
+    @Autowired
+    private UserMapper userMapper;
+
+    @Test
+    void registerCreatesFamilyAndInviteeJoinsIt() throws Exception {
+        JSONObject mother = register("13900000001", "小雨", "pregnant", null);
+        JSONObject family = mother.getJSONObject("familyInfo");
+        assertThat(mother.getString("accessToken")).isNotBlank();
+        assertThat(family.getString("familyName")).isEqualTo("小雨的家庭");
+        assertThat(family.getString("familyRole")).isEqualTo("孕妇");
+
+        JSONObject partner = register("13900000002", "阿杰", "partner", family.getString("inviteCode"));
+        assertThat(partner.getJSONObject("familyInfo").getLong("familyId")).isEqualTo(family.getLong("familyId"));
+        assertThat(partner.getJSONObject("familyInfo").getString("familyRole")).isEqualTo("伴侣");
+        assertThat(partner.getJSONObject("familyInfo").getIntValue("memberCount")).isEqualTo(2);
+
+        User saved = userMapper.selectById(partner.getLong("userId"));
+        assertThat(saved.getCreatedAt()).isNotNull();
+        assertThat(saved.getUpdatedAt()).isNotNull();
+    }
+
+    @Test
+    void loginConsumesCodeAndRejectsWrongOrExpiredCode() throws Exception {
+        register("13900000003", "小林", "pregnant", null);
+        LocalDateTime registeredUpdatedAt = userMapper.selectList(null).stream()
+                .filter(user -> "13900000003".equals(user.getPhone()))
+                .findFirst().orElseThrow().getUpdatedAt();
+
+        String code = sendCode("13900000003", "login");
+        String wrong = code.equals("000000") ? "111111" : "000000";
+        assertThat(call("/auth/login", Map.of("phone", "13900000003", "verifyCode", wrong)).getIntValue("code"))
+                .isEqualTo(2004);
+
+        JSONObject login = call("/auth/login", Map.of("phone", "13900000003", "verifyCode", code));
+        assertThat(login.getIntValue("code")).isEqualTo(200);
+        String token = login.getJSONObject("data").getString("accessToken");
+
+        // 验证码一次性使用，重复提交视为过期
+        assertThat(call("/auth/login", Map.of("phone", "13900000003", "verifyCode", code)).getIntValue("code"))
+                .isEqualTo(2005);
+
+        String info = mockMvc.perform(get("/auth/info").header("satoken", "Bearer " + token))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        JSONObject data = JSON.parseObject(info).getJSONObject("data");
+        assertThat(data.getString("phone")).isEqualTo("13900000003");
+
+        User user = userMapper.selectById(data.getLong("userId"));
+        assertThat(user.getLastLoginTime()).isNotNull();
+        assertThat(user.getUpdatedAt()).isAfterOrEqualTo(registeredUpdatedAt);
+    }
+
+    @Test
+    void sendCodeRejectsRegisteredPhoneForRegister() throws Exception {
+        register("13900000004", "小周", "pregnant", null);
+        JSONObject result = call("/auth/send-code", Map.of("phone", "13900000004", "type", "register"));
+        assertThat(result.getIntValue("code")).isEqualTo(1004);
+    }
+
+    @Test
+    void repeatedWrongCodesBlockPhoneEvenWithCorrectCode() throws Exception {
+        register("13900000005", "小吴", "pregnant", null);
+        String code = sendCode("13900000005", "login");
+        String wrong = code.equals("000000") ? "111111" : "000000";
+
+        // AuthService 抛出的 VERIFY_CODE_ERROR 由 VerifyCodeGuard 计入失败次数（默认上限5次）
+        for (int i = 0; i < 5; i++) {
+            assertThat(call("/auth/login", Map.of("phone", "13900000005", "verifyCode", wrong)).getIntValue("code"))
+                    .isEqualTo(2004);
+        }
+        assertThat(call("/auth/login", Map.of("phone", "13900000005", "verifyCode", code)).getIntValue("code"))
+                .isEqualTo(2009);
+        // 被拒绝的请求未进入AuthService，验证码仍未被消费
+        assertThat(verifyCodeStore.get("13900000005", "login")).isEqualTo(code);
+    }
+
+    @Test
+    void sendCodeRejectsUnregisteredPhoneForReset() throws Exception {
+        JSONObject result = call("/auth/send-code", Map.of("phone", "13900000006", "type", "reset"));
+        assertThat(result.getIntValue("code")).isEqualTo(1001);
+        assertThat(verifyCodeStore.get("13900000006", "reset")).isNull();
+    }
+
+    @Test
+    void userInfoEtagDoesNotChangeWithTime() throws Exception {
+        String token = register("13900000007", "小陈", "pregnant", null).getString("accessToken");
+        MockHttpServletResponse first = mockMvc.perform(get("/auth/info").header("satoken", "Bearer " + token))
+                .andReturn().getResponse();
+        String etag = first.getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotNull();
+
+        // 令牌剩余时长已变化，到期时刻不变，ETag仍然命中
+        Thread.sleep(1100);
+        MockHttpServletResponse second = mockMvc.perform(get("/auth/info").header("satoken", "Bearer " + token)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andReturn().getResponse();
+        assertThat(second.getStatus()).isEqualTo(304);
+    }
+
+    private JSONObject register(String phone, String nickname, String roleType, String inviteCode) throws Exception {
+        String code = sendCode(phone, "register");
+        JSONObject body = new JSONObject();
+        body.put("phone", phone);
+        body.put("verifyCode", code);
+        body.put("nickname", nickname);
+        body.put("roleType", roleType);
+        body.put("inviteCode", inviteCode);
+        JSONObject result = call("/auth/register", body);
+        assertThat(result.getIntValue("code")).as(result.toString()).isEqualTo(200);
+        return result.getJSONObject("data");
+    }
+
+    private String sendCode(String phone, String type) throws Exception {
+        JSONObject result = call("/auth/send-code", Map.of("phone", phone, "type", type));
+        assertThat(result.getIntValue("code")).as(result.toString()).isEqualTo(200);
+        String code = verifyCodeStore.get(phone, type);
+        assertThat(code).matches("\\d{6}");
+        return code;
+    }
+
+    private JSONObject call(String path, Object body) throws Exception {
+        String response = mockMvc.perform(post(path)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(JSON.toJSONString(body)))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        return JSON.parseObject(response);
+    }
+}
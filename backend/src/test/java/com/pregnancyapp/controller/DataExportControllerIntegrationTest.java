@@ -0,0 +1,244 @@
+package com.pregnancyapp.controller;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONObject;
+import com.pregnancyapp.dto.response.ExportJobResponse;
+import com.pregnancyapp.export.DataExportWriter;
+import com.pregnancyapp.export.ExportSlots;
+import com.pregnancyapp.service.VerifyCodeStore;
+import com.pregnancyapp.service.impl.DataExportServiceImpl;
+import com.pregnancyapp.support.EmbeddedApi;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * 数据导出集成测试：照片在事务外复制、全局导出名额、过期清理
+ *
+ * @author PregnancyApp Team
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("embedded")
+class DataExportControllerIntegrationTest {
+
+    private static final byte[] PHOTO = "photo-bytes-marker-6f1c".getBytes(StandardCharsets.US_ASCII);
+
+    @TempDir
+    static Path tempDir;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("app.embedded.db-file", () -> tempDir.resolve("export-test.db").toString());
+        registry.add("app.sms.enabled", () -> "false");
+        registry.add("app.export.path", () -> tempDir.resolve("exports").toString());
+        registry.add("app.upload.path", () -> tempDir.resolve("uploads").toString());
+        registry.add("app.export.max-concurrent", () -> "2");
+        registry.add("app.mood-trend.rebuild-on-startup", () -> "false");
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private VerifyCodeStore verifyCodeStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataExportWriter dataExportWriter;
+
+    @Autowired
+    private DataExportServiceImpl dataExportService;
+
+    @Autowired
+    private ExportSlots exportSlots;
+
+    private EmbeddedApi api;
+
+    @BeforeEach
+    void setUp() {
+        api = new EmbeddedApi(mockMvc, verifyCodeStore);
+    }
+
+    @Test
+    void zipCopiesPhotosAfterReadTransactionEnds() throws Exception {
+        JSONObject mother = api.register("13700000001", "小雨", "pregnant", null);
+        Long userId = mother.getLong("userId");
+        Path photo = tempDir.resolve("uploads").resolve("album").resolve("first.jpg");
+        Files.createDirectories(photo.getParent());
+        Files.write(photo, PHOTO);
+        jdbcTemplate.update("INSERT INTO family_albums (family_id, uploader_id, photo_url) VALUES (?, ?, ?)",
+                mother.getJSONObject("familyInfo").getLong("familyId"), userId, "https://cdn.example.com/uploads/album/first.jpg");
+
+        TransactionProbe out = new TransactionProbe();
+        dataExportWriter.writeZip(userId, out);
+
+        assertThat(out.photoWrittenInTransaction).isNotNull().isFalse();
+        assertThat(out.sectionWrittenInTransaction).isTrue();
+        Map<String, byte[]> entries = unzip(out.toByteArray());
+        assertThat(new String(entries.get("family_albums.ndjson"), StandardCharsets.UTF_8)).contains("/uploads/album/first.jpg");
+        String photoEntry = entries.keySet().stream().filter(name -> name.startsWith("photos/")).findFirst().orElseThrow();
+        assertThat(photoEntry).endsWith("_first.jpg");
+        assertThat(entries.get(photoEntry)).isEqualTo(PHOTO);
+    }
+
+    @Test
+    void zipPagesThroughAllPhotos() throws Exception {
+        JSONObject mother = api.register("13700000004", "小陈", "pregnant", null);
+        Long userId = mother.getLong("userId");
+        Long familyId = mother.getJSONObject("familyInfo").getLong("familyId");
+        Path dir = tempDir.resolve("uploads").resolve("many");
+        Files.createDirectories(dir);
+        int count = 450;
+        for (int i = 0; i < count; i++) {
+            Files.write(dir.resolve(i + ".jpg"), PHOTO);
+            jdbcTemplate.update("INSERT INTO family_albums (family_id, uploader_id, photo_url) VALUES (?, ?, ?)",
+                    familyId, userId, "/uploads/many/" + i + ".jpg");
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        dataExportWriter.writeZip(userId, out);
+
+        assertThat(unzip(out.toByteArray()).keySet()).filteredOn(name -> name.startsWith("photos/")).hasSize(count);
+    }
+
+    @Test
+    void exportsAreRejectedWhenSlotsAreExhausted() throws Exception {
+        String token = api.register("13700000002", "小林", "pregnant", null).getString("accessToken");
+        List<ExportSlots.Permit> held = new ArrayList<>();
+        try {
+            while (exportSlots.available() > 0) {
+                held.add(exportSlots.acquire());
+            }
+            assertThat(api.postJson("/export/jobs", Map.of(), token).getIntValue("code")).isEqualTo(10006);
+            assertThat(api.call(get("/export/records"), token).getIntValue("code")).isEqualTo(10006);
+        } finally {
+            held.forEach(ExportSlots.Permit::close);
+        }
+        assertThat(exportSlots.available()).isEqualTo(2);
+    }
+
+    @Test
+    void expiredJobsAndFilesAreRemoved() throws Exception {
+        JSONObject user = api.register("13700000003", "小周", "pregnant", null);
+        Long userId = user.getLong("userId");
+        JSONObject created = api.postJson("/export/jobs", Map.of(), user.getString("accessToken"));
+        String jobId = created.getJSONObject("data").getString("jobId");
+
+        ExportJobResponse job = awaitFinished(userId, jobId);
+        assertThat(job.getStatus()).isEqualTo(ExportJobResponse.STATUS_COMPLETED);
+        assertThat(job.getExpiresAt()).isEqualTo(job.getFinishedAt().plusHours(24));
+        Path file = dataExportService.getJobFile(userId, jobId);
+        assertThat(file).exists();
+        assertThat(exportSlots.available()).isEqualTo(2);
+
+        // 每次查询返回独立快照，修改返回值不影响任务状态
+        job.setStatus(ExportJobResponse.STATUS_FAILED);
+        assertThat(dataExportService.getJob(userId, jobId).getStatus()).isEqualTo(ExportJobResponse.STATUS_COMPLETED);
+
+        // 未过期时清理不影响任务
+        dataExportService.cleanExpired();
+        assertThat(dataExportService.getJob(userId, jobId)).isNotNull();
+
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(Duration.ofDays(2))));
+        dataExportService.cleanExpired();
+
+        assertThat(file).doesNotExist();
+        assertThat(dataExportService.getJob(userId, jobId)).isNull();
+
+        // 不存在的任务即使带 If-None-Match 也返回错误结果而不是304
+        MockHttpServletResponse missing = mockMvc.perform(get("/export/jobs/" + jobId)
+                        .header("satoken", "Bearer " + user.getString("accessToken"))
+                        .header(HttpHeaders.IF_NONE_MATCH, "*"))
+                .andReturn().getResponse();
+        assertThat(missing.getStatus()).isEqualTo(200);
+        assertThat(missing.getHeader(HttpHeaders.ETAG)).isNull();
+        assertThat(JSON.parseObject(missing.getContentAsString(StandardCharsets.UTF_8)).getIntValue("code")).isEqualTo(404);
+    }
+
+    private ExportJobResponse awaitFinished(Long userId, String jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        ExportJobResponse job = dataExportService.getJob(userId, jobId);
+        while (ExportJobResponse.STATUS_RUNNING.equals(job.getStatus()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            job = dataExportService.getJob(userId, jobId);
+        }
+        return job;
+    }
+
+    private static Map<String, byte[]> unzip(byte[] zip) throws Exception {
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            ZipEntry entry;
+            while ((entry = in.getNextEntry()) != null) {
+                entries.put(entry.getName(), in.readAllBytes());
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * 记录照片字节与分类数据写出时是否处于事务中；照片以不压缩级别写入，原始字节可直接匹配
+     */
+    private static class TransactionProbe extends ByteArrayOutputStream {
+
+        Boolean photoWrittenInTransaction;
+
+        boolean sectionWrittenInTransaction;
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            boolean active = TransactionSynchronizationManager.isActualTransactionActive();
+            if (contains(b, off, len, PHOTO)) {
+                photoWrittenInTransaction = active;
+            } else if (photoWrittenInTransaction == null) {
+                sectionWrittenInTransaction |= active;
+            }
+            super.write(b, off, len);
+        }
+
+        private static boolean contains(byte[] b, int off, int len, byte[] target) {
+            outer:
+            for (int i = off; i <= off + len - target.length; i++) {
+                for (int j = 0; j < target.length; j++) {
+                    if (b[i + j] != target[j]) {
+                        continue outer;
+                    }
+                }
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.pregnancyapp.controller;
+
+import com.alibaba.fastjson2.JSONObject;
+import com.pregnancyapp.analytics.MoodAlertEvent;
+import com.pregnancyapp.analytics.MoodAlertType;
+import com.pregnancyapp.analytics.MoodScore;
+import com.pregnancyapp.analytics.MoodTrendAnalyzer;
+import com.pregnancyapp.analytics.MoodTrendStore;
+import com.pregnancyapp.notification.MoodAlertNotificationListener;
+import com.pregnancyapp.service.VerifyCodeStore;
+import com.pregnancyapp.support.EmbeddedApi;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * 心情日记保存 → 趋势更新 → 预警通知家庭成员 集成测试
+ *
+ * @author PregnancyApp Team
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("embedded")
+class MoodDiaryControllerIntegrationTest {
+
+    @TempDir
+    static Path tempDir;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("app.embedded.db-file", () -> tempDir.resolve("mood-test.db").toString());
+        registry.add("app.sms.enabled", () -> "false");
+        registry.add("app.export.path", () -> tempDir.resolve("exports").toString());
+        registry.add("app.mood-trend.rebuild-on-startup", () -> "false");
+    }
+
+    /**
+     * 模拟只在提交后处理预警的下游（如推送），验证预警不再发布于已提交事务的回调中
+     */
+    @TestConfiguration
+    static class CommittedAlerts {
+
+        final List<MoodAlertEvent> events = new CopyOnWriteArrayList<>();
+
+        @TransactionalEventListener
+        public void onCommitted(MoodAlertEvent event) {
+            events.add(event);
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private VerifyCodeStore verifyCodeStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CommittedAlerts committedAlerts;
+
+    @Autowired
+    private MoodTrendStore moodTrendStore;
+
+    @Autowired
+    private MoodTrendAnalyzer moodTrendAnalyzer;
+
+    private EmbeddedApi api;
+
+    @BeforeEach
+    void setUp() {
+        api = new EmbeddedApi(mockMvc, verifyCodeStore);
+        committedAlerts.events.clear();
+    }
+
+    @Test
+    void decliningMoodNotifiesFamilyMembers() throws Exception {
+        JSONObject mother = api.register("13600000001", "小雨", "pregnant", null);
+        String inviteCode = mother.getJSONObject("familyInfo").getString("inviteCode");
+        JSONObject partner = api.register("13600000002", "阿杰", "partner", inviteCode);
+        String token = mother.getString("accessToken");
+
+        LocalDate start = LocalDate.now().minusDays(3);
+        int[] scores = {9, 8, 7, 6};
+        for (int i = 0; i < scores.length; i++) {
+            JSONObject saved = api.postJson("/mood-diaries",
+                    Map.of("diaryDate", start.plusDays(i).toString(), "moodScore", scores[i]), token);
+            assertThat(saved.getIntValue("code")).as(saved.toString()).isEqualTo(200);
+        }
+
+        JSONObject trend = api.call(get("/mood-diaries/trend"), token).getJSONObject("data");
+        assertThat(trend.getIntValue("declineDays")).isEqualTo(3);
+        assertThat(trend.getIntValue("sampleCount")).isEqualTo(4);
+
+        List<Map<String, Object>> notifications = jdbcTemplate.queryForList(
+                "SELECT sender_id, receiver_id, title FROM notifications WHERE type = ?",
+                MoodAlertNotificationListener.NOTIFICATION_TYPE);
+        assertThat(notifications).isNotEmpty().allSatisfy(row -> {
+            assertThat(((Number) row.get("sender_id")).longValue()).isEqualTo(mother.getLong("userId"));
+            assertThat(((Number) row.get("receiver_id")).longValue()).isEqualTo(partner.getLong("userId"));
+        });
+        assertThat(notifications).extracting(row -> (String) row.get("title"))
+                .contains("心情提醒：" + MoodAlertType.CONTINUOUS_DECLINE.getName());
+
+        // 每条预警都在独立事务提交后送达，提交监听与通知条数一致
+        assertThat(committedAlerts.events).hasSize(notifications.size())
+                .extracting(MoodAlertEvent::getType).contains(MoodAlertType.CONTINUOUS_DECLINE);
+    }
+
+    @Test
+    void sameDayRewriteUpdatesDiaryInsteadOfDuplicating() throws Exception {
+        JSONObject mother = api.register("13600000003", "小林", "pregnant", null);
+        String token = mother.getString("accessToken");
+        String today = LocalDate.now().toString();
+
+        api.postJson("/mood-diaries", Map.of("diaryDate", today, "moodScore", 8), token);
+        api.postJson("/mood-diaries", Map.of("diaryDate", today, "moodScore", 5), token);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM mood_diaries WHERE user_id = ?",
+                Integer.class, mother.getLong("userId"))).isEqualTo(1);
+        JSONObject trend = api.call(get("/mood-diaries/trend"), token).getJSONObject("data");
+        assertThat(trend.getIntValue("lastScore")).isEqualTo(5);
+        assertThat(trend.getIntValue("sampleCount")).isEqualTo(1);
+    }
+
+    @Test
+    void backdatedDiaryIsPlacedByDate() throws Exception {
+        JSONObject mother = api.register("13600000004", "小周", "pregnant", null);
+        String token = mother.getString("accessToken");
+        LocalDate today = LocalDate.now();
+
+        api.postJson("/mood-diaries", Map.of("diaryDate", today.toString(), "moodScore", 6), token);
+        api.postJson("/mood-diaries", Map.of("diaryDate", today.minusDays(1).toString(), "moodScore", 8), token);
+
+        JSONObject trend = api.call(get("/mood-diaries/trend"), token).getJSONObject("data");
+        assertThat(trend.getString("lastDate")).isEqualTo(today.toString());
+        assertThat(trend.getIntValue("lastScore")).isEqualTo(6);
+        assertThat(trend.getIntValue("sampleCount")).isEqualTo(2);
+        assertThat(trend.getIntValue("declineDays")).isEqualTo(1);
+    }
+
+    @Test
+    void missingOrStaleWindowIsRestoredFromDiaries() throws Exception {
+        JSONObject mother = api.register("13600000005", "小陈", "pregnant", null);
+        String token = mother.getString("accessToken");
+        Long userId = mother.getLong("userId");
+        LocalDate start = LocalDate.now().minusDays(2);
+        int[] scores = {7, 6, 5};
+        for (int i = 0; i < scores.length; i++) {
+            api.postJson("/mood-diaries", Map.of("diaryDate", start.plusDays(i).toString(), "moodScore", scores[i]), token);
+        }
+
+        // 窗口丢失后读取时按索引回填
+        moodTrendStore.replace(userId, List.of());
+        assertThat(api.call(get("/mood-diaries/trend"), token).getJSONObject("data").getIntValue("sampleCount")).isEqualTo(3);
+
+        // 全量重建覆盖错误窗口
+        moodTrendStore.replace(userId, List.of(new MoodScore(start, 1)));
+        moodTrendAnalyzer.rebuild();
+        JSONObject trend = api.call(get("/mood-diaries/trend"), token).getJSONObject("data");
+        assertThat(trend.getIntValue("sampleCount")).isEqualTo(3);
+        assertThat(trend.getIntValue("lastScore")).isEqualTo(5);
+        assertThat(trend.getIntValue("declineDays")).isEqualTo(2);
+    }
+}
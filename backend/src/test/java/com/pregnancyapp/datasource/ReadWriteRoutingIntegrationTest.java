@@ -0,0 +1,168 @@
+package com.pregnancyapp.datasource;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONObject;
+import com.pregnancyapp.service.VerifyCodeStore;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * 读写分离集成测试
+ * 主库、从库为两个独立的SQLite文件且不复制，用户数据只在主库存在：
+ * 读到用户说明走了主库，返回“用户不存在”说明走了从库
+ *
+ * @author PregnancyApp Team
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("embedded")
+class ReadWriteRoutingIntegrationTest {
+
+    private static final int USER_NOT_FOUND = 1001;
+
+    private static final long STICKY_SECONDS = 1;
+
+    @TempDir
+    static Path tempDir;
+
+    private static JdbcTemplate replica;
+
+    @BeforeAll
+    static void createReplica() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:sqlite:" + tempDir.resolve("replica.db"));
+        dataSource.setDriverClassName("org.sqlite.JDBC");
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator(new ClassPathResource("db/schema-sqlite.sql"));
+        populator.setSeparator("^;");
+        populator.setSqlScriptEncoding("UTF-8");
+        populator.execute(dataSource);
+        replica = new JdbcTemplate(dataSource);
+        setReplicaLag(0);
+    }
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("app.embedded.db-file", () -> tempDir.resolve("primary.db").toString());
+        registry.add("app.sms.enabled", () -> "false");
+        registry.add("app.export.path", () -> tempDir.resolve("exports").toString());
+        registry.add("app.mood-trend.rebuild-on-startup", () -> "false");
+        registry.add("app.datasource.read-write.enabled", () -> "true");
+        registry.add("app.datasource.read-write.sticky-seconds", () -> STICKY_SECONDS);
+        registry.add("app.datasource.read-write.max-lag-seconds", () -> 3);
+        // 测试中手动触发检测
+        registry.add("app.datasource.read-write.health-check-interval", () -> 3_600_000);
+        registry.add("app.datasource.read-write.lag-query", () ->
+                "SELECT CAST(config_value AS INTEGER) AS Seconds_Behind_Master FROM system_configs WHERE config_key = 'replica_lag'");
+        registry.add("app.datasource.read-write.replicas[0].name", () -> "replica-test");
+        registry.add("app.datasource.read-write.replicas[0].url", () -> "jdbc:sqlite:" + tempDir.resolve("replica.db"));
+        registry.add("app.datasource.read-write.replicas[0].driver-class-name", () -> "org.sqlite.JDBC");
+        registry.add("app.datasource.read-write.replicas[0].maximum-pool-size", () -> 2);
+        registry.add("app.datasource.read-write.replicas[0].minimum-idle", () -> 1);
+        registry.add("app.datasource.read-write.replicas[0].read-only", () -> false);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private VerifyCodeStore verifyCodeStore;
+
+    @Autowired
+    private ReplicaHealthChecker replicaHealthChecker;
+
+    @Test
+    void readsRouteToReplicaStickToPrimaryAfterWritesAndFallBackOnEviction() throws Exception {
+        String token = register("13700000001");
+
+        // 注册即写入：随后的读请求落在粘滞窗口内，走主库
+        assertThat(info(token).getIntValue("code")).isEqualTo(200);
+
+        // 窗口过后读从库，从库没有该用户
+        waitStickyWindow();
+        assertThat(info(token).getIntValue("code")).isEqualTo(USER_NOT_FOUND);
+
+        // 未写库的写请求不进入粘滞窗口
+        assertThat(call(post("/auth/refresh"), token).getIntValue("code")).isEqualTo(200);
+        assertThat(info(token).getIntValue("code")).isEqualTo(USER_NOT_FOUND);
+
+        // 实际写库的请求在响应返回前记录写入时间
+        JSONObject saved = call(post("/mood-diaries").contentType(MediaType.APPLICATION_JSON)
+                .content(JSON.toJSONString(Map.of("diaryDate", LocalDate.now().toString(), "moodScore", 7))), token);
+        assertThat(saved.getIntValue("code")).as(saved.toString()).isEqualTo(200);
+        assertThat(info(token).getIntValue("code")).isEqualTo(200);
+        waitStickyWindow();
+        assertThat(info(token).getIntValue("code")).isEqualTo(USER_NOT_FOUND);
+
+        // 复制延迟超限摘除从库，读请求回退主库
+        setReplicaLag(10);
+        replicaHealthChecker.check();
+        assertThat(info(token).getIntValue("code")).isEqualTo(200);
+
+        // 延迟恢复后重新加入
+        setReplicaLag(0);
+        replicaHealthChecker.check();
+        assertThat(info(token).getIntValue("code")).isEqualTo(USER_NOT_FOUND);
+    }
+
+    @Test
+    void contextIsClearedAfterRequest() throws Exception {
+        String token = register("13700000002");
+        info(token);
+        assertThat(DataSourceContextHolder.get()).isNull();
+    }
+
+    private static void setReplicaLag(int seconds) {
+        replica.update("DELETE FROM system_configs WHERE config_key = 'replica_lag'");
+        replica.update("INSERT INTO system_configs (config_key, config_value, config_type) VALUES ('replica_lag', ?, 'number')",
+                String.valueOf(seconds));
+    }
+
+    private static void waitStickyWindow() throws InterruptedException {
+        Thread.sleep(STICKY_SECONDS * 1000 + 200);
+    }
+
+    private String register(String phone) throws Exception {
+        JSONObject sent = call(post("/auth/send-code").contentType(MediaType.APPLICATION_JSON)
+                .content(JSON.toJSONString(Map.of("phone", phone, "type", "register"))), null);
+        assertThat(sent.getIntValue("code")).as(sent.toString()).isEqualTo(200);
+        Map<String, Object> body = Map.of("phone", phone, "verifyCode", verifyCodeStore.get(phone, "register"),
+                "nickname", "测试", "roleType", "pregnant");
+        JSONObject registered = call(post("/auth/register").contentType(MediaType.APPLICATION_JSON)
+                .content(JSON.toJSONString(body)), null);
+        assertThat(registered.getIntValue("code")).as(registered.toString()).isEqualTo(200);
+        return registered.getJSONObject("data").getString("accessToken");
+    }
+
+    private JSONObject info(String token) throws Exception {
+        return call(get("/auth/info"), token);
+    }
+
+    private JSONObject call(MockHttpServletRequestBuilder request, String token) throws Exception {
+        if (token != null) {
+            request.header("satoken", "Bearer " + token);
+        }
+        return JSON.parseObject(mockMvc.perform(request).andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,51 @@
+package com.pregnancyapp.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 读写路由拦截器线程上下文测试
+ *
+ * @author PregnancyApp Team
+ */
+class ReadWriteRoutingInterceptorTest {
+
+    private final ReadWriteRoutingInterceptor interceptor = new ReadWriteRoutingInterceptor(new ReadWriteDataSourceProperties());
+
+    @AfterEach
+    void tearDown() {
+        DataSourceContextHolder.clear();
+    }
+
+    @Test
+    void writeRequestRoutesToPrimary() {
+        interceptor.preHandle(new MockHttpServletRequest("POST", "/tasks"), new MockHttpServletResponse(), null);
+        assertThat(DataSourceContextHolder.get()).isEqualTo(DataSourceType.PRIMARY);
+        // 写入时间推迟到实际执行写语句时记录，且只记录一次
+        assertThat(DataSourceContextHolder.takeWritePending()).isTrue();
+        assertThat(DataSourceContextHolder.takeWritePending()).isFalse();
+    }
+
+    @Test
+    void readRequestHasNoPendingWrite() {
+        ReadWriteDataSourceProperties properties = new ReadWriteDataSourceProperties();
+        properties.setStickySeconds(0);
+        new ReadWriteRoutingInterceptor(properties).preHandle(new MockHttpServletRequest("GET", "/tasks"), new MockHttpServletResponse(), null);
+        assertThat(DataSourceContextHolder.takeWritePending()).isFalse();
+    }
+
+    @Test
+    void asyncStartReleasesThreadContext() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/export/jobs");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, null);
+
+        interceptor.afterConcurrentHandlingStarted(request, response, null);
+
+        assertThat(DataSourceContextHolder.get()).isNull();
+    }
+}
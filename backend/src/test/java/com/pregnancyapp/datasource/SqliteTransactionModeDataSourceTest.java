@@ -0,0 +1,104 @@
+package com.pregnancyapp.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * SQLite事务模式测试：写事务一开启即持有写锁，只读事务不占写锁
+ *
+ * @author PregnancyApp Team
+ */
+class SqliteTransactionModeDataSourceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private String url;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate writeTransaction;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    @BeforeEach
+    void setUp() {
+        url = "jdbc:sqlite:" + tempDir.resolve("test.db") + "?journal_mode=WAL&busy_timeout=5000";
+        DriverManagerDataSource target = new DriverManagerDataSource(url);
+        target.setDriverClassName("org.sqlite.JDBC");
+        SqliteTransactionModeDataSource dataSource = new SqliteTransactionModeDataSource(target);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE items (id INTEGER PRIMARY KEY, name TEXT)");
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Test
+    void writeTransactionHoldsWriteLockFromBegin() {
+        writeTransaction.executeWithoutResult(status -> {
+            // 只读了一行，写锁已在 BEGIN IMMEDIATE 时取得，其他写者拿不到
+            jdbcTemplate.queryForObject("SELECT COUNT(*) FROM items", Integer.class);
+            assertThatThrownBy(this::insertFromOtherConnection).hasMessageContaining("SQLITE_BUSY");
+        });
+    }
+
+    @Test
+    void commitReleasesWriteLockBeforeAfterCommitCallbacks() {
+        writeTransaction.executeWithoutResult(status -> {
+            jdbcTemplate.update("INSERT INTO items (name) VALUES ('first')");
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    try {
+                        insertFromOtherConnection();
+                    } catch (SQLException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            });
+        });
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM items", Integer.class)).isEqualTo(2);
+    }
+
+    @Test
+    void readOnlyTransactionDoesNotBlockWriters() {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            jdbcTemplate.queryForObject("SELECT COUNT(*) FROM items", Integer.class);
+            try {
+                insertFromOtherConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+            // 只读事务仍读取开启时的快照
+            assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM items", Integer.class)).isZero();
+        });
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM items", Integer.class)).isEqualTo(1);
+    }
+
+    private void insertFromOtherConnection() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url.replace("busy_timeout=5000", "busy_timeout=100"));
+             Statement statement = connection.createStatement()) {
+            statement.execute("BEGIN IMMEDIATE");
+            statement.execute("INSERT INTO items (name) VALUES ('other')");
+            statement.execute("COMMIT");
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.pregnancyapp.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 本地限流存储的令牌桶与滑动窗口计算测试
+ *
+ * @author PregnancyApp Team
+ */
+class LocalRateLimitStoreTest {
+
+    private static final long T0 = 1_000_000_000L;
+
+    @Test
+    void tokenBucketStartsFullAndRefillsLinearly() {
+        LocalRateLimitStore store = new LocalRateLimitStore();
+        // 10个/秒，每100ms补充1个
+        RateLimitRule rule = rule(RateLimitAlgorithm.TOKEN_BUCKET, 10, 1000);
+
+        assertThat(store.acquire("k", rule, T0, 4)).isEqualTo(4);
+        assertThat(store.acquire("k", rule, T0, 10)).isEqualTo(6);
+        assertThat(store.acquire("k", rule, T0, 1)).isZero();
+
+        assertThat(store.acquire("k", rule, T0 + 99, 1)).isZero();
+        assertThat(store.acquire("k", rule, T0 + 100, 5)).isEqualTo(1);
+        // 250ms补充2.5个，只能取整数部分，余下0.5个保留
+        assertThat(store.acquire("k", rule, T0 + 350, 5)).isEqualTo(2);
+        assertThat(store.acquire("k", rule, T0 + 400, 5)).isEqualTo(1);
+    }
+
+    @Test
+    void tokenBucketCapsAtCapacityAfterIdle() {
+        LocalRateLimitStore store = new LocalRateLimitStore();
+        RateLimitRule rule = rule(RateLimitAlgorithm.TOKEN_BUCKET, 5, 1000);
+        assertThat(store.acquire("k", rule, T0, 5)).isEqualTo(5);
+
+        assertThat(store.acquire("k", rule, T0 + 60_000, 100)).isEqualTo(5);
+    }
+
+    @Test
+    void tokenBucketIgnoresClockGoingBackwards() {
+        LocalRateLimitStore store = new LocalRateLimitStore();
+        RateLimitRule rule = rule(RateLimitAlgorithm.TOKEN_BUCKET, 10, 1000);
+        assertThat(store.acquire("k", rule, T0, 10)).isEqualTo(10);
+
+        assertThat(store.acquire("k", rule, T0 - 500, 1)).isZero();
+        assertThat(store.acquire("k", rule, T0 + 100, 1)).isEqualTo(1);
+    }
+
+    @Test
+    void slidingWindowWeighsPreviousWindow() {
+        LocalRateLimitStore store = new LocalRateLimitStore();
+        RateLimitRule rule = rule(RateLimitAlgorithm.SLIDING_WINDOW, 10, 1000);
+        long windowStart = T0 - T0 % 1000;
+
+        assertThat(store.acquire("k", rule, windowStart + 500, 8)).isEqualTo(8);
+        assertThat(store.acquire("k", rule, windowStart + 900, 5)).isEqualTo(2);
+
+        // 下一窗口过去25%：上一窗口计 10 * 0.75 = 7.5，可用 floor(10 - 7.5) = 2
+        long next = windowStart + 1000;
+        assertThat(store.acquire("k", rule, next + 250, 5)).isEqualTo(2);
+        // 过去75%：上一窗口计 2.5，已用2，可用 floor(10 - 2.5 - 2) = 5
+        assertThat(store.acquire("k", rule, next + 750, 10)).isEqualTo(5);
+    }
+
+    @Test
+    void slidingWindowForgetsWindowsOlderThanOnePeriod() {
+        LocalRateLimitStore store = new LocalRateLimitStore();
+        RateLimitRule rule = rule(RateLimitAlgorithm.SLIDING_WINDOW, 10, 1000);
+        long windowStart = T0 - T0 % 1000;
+        assertThat(store.acquire("k", rule, windowStart, 10)).isEqualTo(10);
+
+        // 跳过一个完整窗口后，更早的计数不再参与加权
+        assertThat(store.acquire("k", rule, windowStart + 2000, 10)).isEqualTo(10);
+    }
+
+    @Test
+    void keysAreIndependentAndIdleStateIsEvicted() {
+        LocalRateLimitStore store = new LocalRateLimitStore();
+        RateLimitRule rule = rule(RateLimitAlgorithm.TOKEN_BUCKET, 2, 1000);
+        assertThat(store.acquire("a", rule, T0, 2)).isEqualTo(2);
+        assertThat(store.acquire("b", rule, T0, 2)).isEqualTo(2);
+
+        store.evictIdle(T0 + 500);
+        assertThat(store.acquire("a", rule, T0 + 500, 2)).isEqualTo(1);
+
+        // 超过两个周期未访问的状态被清理，重新按满桶开始
+        store.evictIdle(T0 + 2001);
+        assertThat(store.acquire("b", rule, T0 + 2001, 5)).isEqualTo(2);
+    }
+
+    private static RateLimitRule rule(RateLimitAlgorithm algorithm, long permits, long periodMillis) {
+        return new RateLimitRule("test", RateLimitKeyType.LOGIN_ID, algorithm, permits, periodMillis);
+    }
+}
@@ -0,0 +1,155 @@
+package com.pregnancyapp.ratelimit;
+
+import com.pregnancyapp.common.ResultCode;
+import com.pregnancyapp.exception.BusinessException;
+import com.pregnancyapp.mapper.FamilyMapper;
+import com.pregnancyapp.security.AuthGuardProperties;
+import com.pregnancyapp.security.ClientIpResolver;
+import com.pregnancyapp.security.RequestLoginId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 限流切面取键测试
+ * 测试中未初始化Sa-Token上下文，任何会话查询都会抛出异常，因此通过即说明登录ID来自请求属性
+ *
+ * @author PregnancyApp Team
+ */
+class RateLimitAspectTest {
+
+    private FamilyMapper familyMapper;
+
+    private Endpoints endpoints;
+
+    @BeforeEach
+    void setUp() {
+        familyMapper = mock(FamilyMapper.class);
+        when(familyMapper.selectFamilyIdByUser(1L)).thenReturn(100L);
+        when(familyMapper.selectFamilyIdByUser(2L)).thenReturn(100L);
+        when(familyMapper.selectFamilyIdByUser(3L)).thenReturn(null);
+
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setLeaseRatio(0);
+        properties.getPermitOverrides().put("Endpoints.overridden", 3L);
+        LocalRateLimitStore store = new LocalRateLimitStore();
+        RateLimitAspect aspect = new RateLimitAspect(new RateLimiter(store, store, properties), properties,
+                new ClientIpResolver(new AuthGuardProperties()), new CallerFamilyResolver(familyMapper, Duration.ofMinutes(1)));
+        AspectJProxyFactory factory = new AspectJProxyFactory(new Endpoints());
+        factory.addAspect(aspect);
+        endpoints = factory.getProxy();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void loginIdKeyReusesResolvedLoginId() {
+        bind("1", "10.0.0.1", null);
+        endpoints.perUser();
+        endpoints.perUser();
+        assertLimited(endpoints::perUser);
+
+        bind("2", "10.0.0.1", null);
+        endpoints.perUser();
+    }
+
+    @Test
+    void familyKeyIsResolvedFromCallerNotFromRequest() {
+        MockHttpServletRequest request = bind("1", "10.0.0.1", null);
+        request.setParameter("familyId", "999");
+        endpoints.perFamily();
+        endpoints.perFamily();
+
+        // 同一家庭的另一成员共享额度，伪造的 familyId 参数不起作用
+        MockHttpServletRequest other = bind("2", "10.0.0.2", null);
+        other.setParameter("familyId", "12345");
+        assertLimited(endpoints::perFamily);
+
+        // 未加入家庭的用户按自身计
+        bind("3", "10.0.0.3", null);
+        endpoints.perFamily();
+
+        // 家庭查询按用户缓存
+        bind("1", "10.0.0.1", null);
+        assertLimited(endpoints::perFamily);
+        verify(familyMapper, times(1)).selectFamilyIdByUser(1L);
+        verify(familyMapper, times(3)).selectFamilyIdByUser(anyLong());
+    }
+
+    @Test
+    void ipKeyIgnoresForgedForwardedFor() {
+        for (int i = 0; i < 2; i++) {
+            bind(null, "203.0.113.9", "198.51.100." + i);
+            endpoints.perIp();
+        }
+        bind(null, "203.0.113.9", "198.51.100.99");
+        assertLimited(endpoints::perIp);
+
+        bind(null, "203.0.113.10", null);
+        endpoints.perIp();
+    }
+
+    @Test
+    void permitOverrideReplacesAnnotationPermits() {
+        bind("1", "10.0.0.1", null);
+        for (int i = 0; i < 3; i++) {
+            endpoints.overridden();
+        }
+        assertLimited(endpoints::overridden);
+    }
+
+    private static void assertLimited(Runnable call) {
+        assertThatThrownBy(call::run).isInstanceOfSatisfying(BusinessException.class,
+                e -> assertThat(e.getResultCode()).isEqualTo(ResultCode.RATE_LIMIT_EXCEEDED));
+    }
+
+    private static MockHttpServletRequest bind(String loginId, String remoteAddr, String forwardedFor) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(remoteAddr);
+        if (loginId != null) {
+            request.setAttribute(RequestLoginId.ATTRIBUTE, loginId);
+        }
+        if (forwardedFor != null) {
+            request.addHeader("X-Forwarded-For", forwardedFor);
+        }
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        return request;
+    }
+
+    static class Endpoints {
+
+        @RateLimit(permits = 2, period = 1, unit = TimeUnit.HOURS)
+        public void perUser() {
+        }
+
+        @RateLimit(keyType = RateLimitKeyType.FAMILY_ID, permits = 2, period = 1, unit = TimeUnit.HOURS)
+        public void perFamily() {
+        }
+
+        @RateLimit(keyType = RateLimitKeyType.IP, algorithm = RateLimitAlgorithm.SLIDING_WINDOW, permits = 2, period = 1, unit = TimeUnit.HOURS)
+        public void perIp() {
+        }
+
+        @RateLimit(permits = 1, period = 1, unit = TimeUnit.HOURS)
+        public void overridden() {
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.pregnancyapp.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 两级限流器的预取、拒绝退避与降级测试
+ *
+ * @author PregnancyApp Team
+ */
+class RateLimiterTest {
+
+    @Test
+    void leasesBatchesFromStoreAndNeverExceedsQuota() {
+        CountingStore store = new CountingStore(new LocalRateLimitStore());
+        RateLimiter limiter = new RateLimiter(store, new LocalRateLimitStore(), properties(0.1, 360_000));
+        RateLimitRule rule = new RateLimitRule("test", RateLimitKeyType.LOGIN_ID, RateLimitAlgorithm.SLIDING_WINDOW, 100, 3_600_000);
+
+        int granted = 0;
+        for (int i = 0; i < 150; i++) {
+            if (limiter.tryAcquire("k", rule)) {
+                granted++;
+            }
+        }
+
+        assertThat(granted).isEqualTo(100);
+        // 每批预取10个：10次成功申请，之后的拒绝在退避期内不再访问存储
+        assertThat(store.calls.get()).isEqualTo(11);
+    }
+
+    @Test
+    void unusedLeasesDoNotDrainTheWindow() {
+        CountingStore store = new CountingStore(new LocalRateLimitStore());
+        RateLimiter limiter = new RateLimiter(store, new LocalRateLimitStore(), properties(0.1, 1_000));
+        RateLimitRule rule = new RateLimitRule("test", RateLimitKeyType.IP, RateLimitAlgorithm.SLIDING_WINDOW, 6000, 60_000);
+
+        // 每次预取只用一个许可即过期：单批按1秒的速率份额计为100而非600，一个周期内60批不会超出额度
+        for (int i = 0; i < 60; i++) {
+            assertThat(limiter.tryAcquire("k", rule)).isTrue();
+            limiter.evictExpired(Long.MAX_VALUE);
+        }
+        assertThat(store.lastRequested).isEqualTo(100);
+    }
+
+    @Test
+    void fallsBackToLocalStoreWhenClusterStoreFails() {
+        RateLimitStore failing = (key, rule, now, requested) -> {
+            throw new IllegalStateException("redis down");
+        };
+        RateLimiter limiter = new RateLimiter(failing, new LocalRateLimitStore(), properties(0.5, 60_000));
+        RateLimitRule rule = new RateLimitRule("test", RateLimitKeyType.IP, RateLimitAlgorithm.TOKEN_BUCKET, 4, 3_600_000);
+
+        int granted = 0;
+        for (int i = 0; i < 10; i++) {
+            if (limiter.tryAcquire("k", rule)) {
+                granted++;
+            }
+        }
+        assertThat(granted).isEqualTo(4);
+    }
+
+    @Test
+    void expiredLeaseReturnsToStore() {
+        CountingStore store = new CountingStore(new LocalRateLimitStore());
+        RateLimiter limiter = new RateLimiter(store, new LocalRateLimitStore(), properties(0.5, 60_000));
+        RateLimitRule rule = new RateLimitRule("test", RateLimitKeyType.LOGIN_ID, RateLimitAlgorithm.TOKEN_BUCKET, 10, 3_600_000);
+
+        assertThat(limiter.tryAcquire("k", rule)).isTrue();
+        assertThat(store.calls.get()).isEqualTo(1);
+
+        limiter.evictExpired(Long.MAX_VALUE);
+        assertThat(limiter.tryAcquire("k", rule)).isTrue();
+        assertThat(store.calls.get()).isEqualTo(2);
+    }
+
+    private static RateLimitProperties properties(double leaseRatio, long leaseTtlMillis) {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setLeaseRatio(leaseRatio);
+        properties.setLeaseTtlMillis(leaseTtlMillis);
+        return properties;
+    }
+
+    private static class CountingStore implements RateLimitStore {
+
+        private final RateLimitStore delegate;
+        private final AtomicInteger calls = new AtomicInteger();
+        private volatile long lastRequested;
+
+        CountingStore(RateLimitStore delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public long acquire(String key, RateLimitRule rule, long now, long requested) {
+            calls.incrementAndGet();
+            lastRequested = requested;
+            return delegate.acquire(key, rule, now, requested);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.pregnancyapp.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 客户端IP解析测试
+ *
+ * @author PregnancyApp Team
+ */
+class ClientIpResolverTest {
+
+    @Test
+    void forwardedHeaderIgnoredWithoutTrustedProxies() {
+        ClientIpResolver resolver = resolver();
+        assertThat(resolver.resolve(request("203.0.113.9", "198.51.100.1"))).isEqualTo("203.0.113.9");
+    }
+
+    @Test
+    void forwardedHeaderIgnoredWhenPeerIsNotTrusted() {
+        ClientIpResolver resolver = resolver("10.0.0.0/8");
+        assertThat(resolver.resolve(request("203.0.113.9", "198.51.100.1"))).isEqualTo("203.0.113.9");
+    }
+
+    @Test
+    void rightmostUntrustedHopIsTheClient() {
+        ClientIpResolver resolver = resolver("10.0.0.0/8", "192.168.1.5");
+        // 客户端伪造的最左侧地址不被采信
+        MockHttpServletRequest request = request("10.1.2.3", "1.1.1.1, 198.51.100.7, 192.168.1.5");
+        assertThat(resolver.resolve(request)).isEqualTo("198.51.100.7");
+    }
+
+    @Test
+    void prefixLengthIsHonouredWithinByte() {
+        ClientIpResolver resolver = resolver("172.16.0.0/12");
+        assertThat(resolver.resolve(request("172.31.255.1", "198.51.100.7"))).isEqualTo("198.51.100.7");
+        assertThat(resolver.resolve(request("172.32.0.1", "198.51.100.7"))).isEqualTo("172.32.0.1");
+    }
+
+    @Test
+    void ipv6ProxiesAndMalformedHops() {
+        ClientIpResolver resolver = resolver("::1", "fd00::/8");
+        assertThat(resolver.resolve(request("0:0:0:0:0:0:0:1", "2001:db8::5"))).isEqualTo("2001:db8::5");
+        assertThat(resolver.resolve(request("fd12::1", "not-an-ip"))).isEqualTo("fd12::1");
+        assertThat(resolver.resolve(request("fd12::1", null))).isEqualTo("fd12::1");
+        assertThat(resolver.resolve(request("fd12::1", "fd00::2, ::1"))).isEqualTo("fd00::2");
+    }
+
+    @Test
+    void invalidProxyConfigurationFailsFast() {
+        assertThatThrownBy(() -> resolver("10.0.0.0/33")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> resolver("proxy.internal")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static ClientIpResolver resolver(String... trustedProxies) {
+        AuthGuardProperties properties = new AuthGuardProperties();
+        properties.setTrustedProxies(List.of(trustedProxies));
+        return new ClientIpResolver(properties);
+    }
+
+    private static MockHttpServletRequest request(String remoteAddr, String forwardedFor) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(remoteAddr);
+        if (forwardedFor != null) {
+            request.addHeader("X-Forwarded-For", forwardedFor);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,81 @@
+package com.pregnancyapp.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 布隆过滤器本地位数组与Redis位图的位序转换测试
+ *
+ * @author PregnancyApp Team
+ */
+class PhoneBloomFilterTest {
+
+    private static final long[] OFFSETS = {0, 1, 7, 8, 63, 64, 65, 127, 200, 511};
+
+    @Test
+    void localBitsMatchRedisGetbitOffsets() {
+        AtomicLongArray local = new AtomicLongArray(8);
+        PhoneBloomFilter.setLocally(local, OFFSETS);
+
+        byte[] bitmap = PhoneBloomFilter.toRedisBitmap(local);
+
+        assertThat(bitmap).hasSize(64);
+        BitSet expected = new BitSet();
+        for (long offset : OFFSETS) {
+            expected.set((int) offset);
+        }
+        for (int offset = 0; offset < 512; offset++) {
+            assertThat(redisGetbit(bitmap, offset)).as("offset %d", offset).isEqualTo(expected.get(offset));
+        }
+    }
+
+    @Test
+    void redisSetbitOffsetsAreVisibleLocally() {
+        byte[] bitmap = new byte[64];
+        for (long offset : OFFSETS) {
+            redisSetbit(bitmap, offset);
+        }
+        AtomicLongArray local = new AtomicLongArray(8);
+        PhoneBloomFilter.setLocally(local, new long[]{300});
+
+        PhoneBloomFilter.orFromRedisBitmap(local, bitmap);
+
+        assertThat(PhoneBloomFilter.containsLocally(local, OFFSETS)).isTrue();
+        assertThat(PhoneBloomFilter.containsLocally(local, new long[]{300})).isTrue();
+        for (long offset : new long[]{2, 6, 9, 62, 126, 201, 510}) {
+            assertThat(PhoneBloomFilter.containsLocally(local, new long[]{offset})).as("offset %d", offset).isFalse();
+        }
+    }
+
+    @Test
+    void roundTripIgnoresBytesBeyondLocalLength() {
+        AtomicLongArray source = new AtomicLongArray(2);
+        PhoneBloomFilter.setLocally(source, new long[]{3, 70, 127});
+        byte[] bitmap = PhoneBloomFilter.toRedisBitmap(source);
+        byte[] longer = new byte[bitmap.length + 4];
+        System.arraycopy(bitmap, 0, longer, 0, bitmap.length);
+        longer[bitmap.length] = (byte) 0xFF;
+
+        AtomicLongArray target = new AtomicLongArray(2);
+        PhoneBloomFilter.orFromRedisBitmap(target, longer);
+
+        for (int i = 0; i < source.length(); i++) {
+            assertThat(target.get(i)).isEqualTo(source.get(i));
+        }
+    }
+
+    /**
+     * Redis GETBIT 语义：第 offset 位位于第 offset/8 个字节，从高位数起
+     */
+    private static boolean redisGetbit(byte[] bitmap, long offset) {
+        return ((bitmap[(int) (offset >>> 3)] >> (7 - (offset & 7))) & 1) == 1;
+    }
+
+    private static void redisSetbit(byte[] bitmap, long offset) {
+        bitmap[(int) (offset >>> 3)] |= (byte) (1 << (7 - (offset & 7)));
+    }
+}
@@ -0,0 +1,58 @@
+package com.pregnancyapp.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 进程内验证码存储的比对删除测试
+ *
+ * @author PregnancyApp Team
+ */
+class LocalVerifyCodeStoreTest {
+
+    private final LocalVerifyCodeStore store = new LocalVerifyCodeStore();
+
+    @Test
+    void wrongCodeKeepsStoredCode() {
+        store.save("13800000001", "login", "123456", Duration.ofMinutes(5));
+
+        assertThat(store.removeIfMatches("13800000001", "login", "000000")).isFalse();
+        assertThat(store.get("13800000001", "login")).isEqualTo("123456");
+        assertThat(store.removeIfMatches("13800000001", "login", "123456")).isTrue();
+        assertThat(store.get("13800000001", "login")).isNull();
+    }
+
+    @Test
+    void concurrentSubmissionsConsumeCodeOnce() throws Exception {
+        store.save("13800000002", "login", "654321", Duration.ofMinutes(5));
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return store.removeIfMatches("13800000002", "login", "654321");
+                }));
+            }
+            start.countDown();
+            int consumed = 0;
+            for (Future<Boolean> result : results) {
+                consumed += result.get() ? 1 : 0;
+            }
+            assertThat(consumed).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
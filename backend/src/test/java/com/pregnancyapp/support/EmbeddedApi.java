@@ -0,0 +1,60 @@
+package com.pregnancyapp.support;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONObject;
+import com.pregnancyapp.service.VerifyCodeStore;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * 嵌入式环境集成测试的接口调用辅助：注册用户并携带Token调用接口
+ *
+ * @author PregnancyApp Team
+ */
+public class EmbeddedApi {
+
+    private final MockMvc mockMvc;
+
+    private final VerifyCodeStore verifyCodeStore;
+
+    public EmbeddedApi(MockMvc mockMvc, VerifyCodeStore verifyCodeStore) {
+        this.mockMvc = mockMvc;
+        this.verifyCodeStore = verifyCodeStore;
+    }
+
+    /**
+     * 发送验证码并注册，返回登录响应数据
+     */
+    public JSONObject register(String phone, String nickname, String roleType, String inviteCode) throws Exception {
+        JSONObject sent = postJson("/auth/send-code", Map.of("phone", phone, "type", "register"), null);
+        assertThat(sent.getIntValue("code")).as(sent.toString()).isEqualTo(200);
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("phone", phone);
+        body.put("verifyCode", verifyCodeStore.get(phone, "register"));
+        body.put("nickname", nickname);
+        body.put("roleType", roleType);
+        body.put("inviteCode", inviteCode);
+        JSONObject registered = postJson("/auth/register", body, null);
+        assertThat(registered.getIntValue("code")).as(registered.toString()).isEqualTo(200);
+        return registered.getJSONObject("data");
+    }
+
+    public JSONObject postJson(String path, Object body, String token) throws Exception {
+        return call(post(path).contentType(MediaType.APPLICATION_JSON).content(JSON.toJSONString(body)), token);
+    }
+
+    public JSONObject call(MockHttpServletRequestBuilder request, String token) throws Exception {
+        if (token != null) {
+            request.header("satoken", "Bearer " + token);
+        }
+        return JSON.parseObject(mockMvc.perform(request).andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,117 @@
+package com.pregnancyapp.web;
+
+import com.alibaba.fastjson2.support.spring6.http.converter.FastJsonHttpMessageConverter;
+import com.pregnancyapp.common.Result;
+import com.pregnancyapp.common.ResultCode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 响应模板转换器测试：模板输出与底层转换器逐字节一致，条件请求命中时写出304及缓存头
+ *
+ * @author PregnancyApp Team
+ */
+class ResultHttpMessageConverterTest {
+
+    @AfterEach
+    void clearRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @SuppressWarnings("unchecked")
+    static Stream<HttpMessageConverter<Object>> delegates() {
+        HttpMessageConverter<?> jackson = new MappingJackson2HttpMessageConverter();
+        FastJsonHttpMessageConverter fastjson = new FastJsonHttpMessageConverter();
+        fastjson.setSupportedMediaTypes(List.of(MediaType.APPLICATION_JSON));
+        return Stream.of((HttpMessageConverter<Object>) jackson, fastjson);
+    }
+
+    @ParameterizedTest
+    @MethodSource("delegates")
+    void templateOutputIsByteIdenticalToDelegate(HttpMessageConverter<Object> delegate) throws Exception {
+        ResultHttpMessageConverter converter = new ResultHttpMessageConverter(delegate, 16);
+        List<Result<?>> results = List.of(
+                Result.success("退出成功"),
+                Result.error(ResultCode.VERIFY_CODE_ATTEMPTS_EXCEEDED),
+                Result.error(429, "请求过于频繁 \"quoted\" \\ 路径"));
+        for (Result<?> result : results) {
+            // 第二次写出走缓存模板
+            for (long timestamp : new long[]{1L, 1_760_000_000_123L}) {
+                result.setTimestamp(timestamp);
+                assertThat(write(converter, result).getContentAsByteArray())
+                        .as("%s @ %d", result.getMessage(), timestamp)
+                        .isEqualTo(write(delegate, result).getContentAsByteArray());
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("delegates")
+    void conditionalGetWithDataMatchesDelegateAndReturnsNotModified(HttpMessageConverter<Object> delegate) throws Exception {
+        ResultHttpMessageConverter converter = new ResultHttpMessageConverter(delegate, 16);
+        Result<Map<String, Object>> result = Result.success(Map.of("jobId", "abc", "status", "running"));
+        result.setTimestamp(1_760_000_000_000L);
+
+        bindRequest(null);
+        MockHttpServletResponse first = write(converter, result);
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(first.getContentAsByteArray()).isEqualTo(write(delegate, result).getContentAsByteArray());
+        String etag = first.getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("W/\"");
+
+        // 时间戳变化不影响ETag
+        result.setTimestamp(1_760_000_009_999L);
+        bindRequest(etag);
+        MockHttpServletResponse second = write(converter, result);
+        assertThat(second.getStatus()).isEqualTo(304);
+        assertThat(second.getHeader(HttpHeaders.ETAG)).isEqualTo(etag);
+        assertThat(second.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("private, no-cache");
+        assertThat(second.getContentAsByteArray()).isEmpty();
+    }
+
+    @ParameterizedTest
+    @MethodSource("delegates")
+    void conditionalGetIgnoresErrorResults(HttpMessageConverter<Object> delegate) throws Exception {
+        ResultHttpMessageConverter converter = new ResultHttpMessageConverter(delegate, 16);
+        Result<?> result = Result.error(ResultCode.NOT_FOUND);
+        result.setTimestamp(1_760_000_000_000L);
+
+        bindRequest("*");
+        MockHttpServletResponse response = write(converter, result);
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isNull();
+        assertThat(response.getContentAsByteArray()).isEqualTo(write(delegate, result).getContentAsByteArray());
+    }
+
+    private static void bindRequest(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/export/jobs/abc");
+        request.setAttribute(ResultHttpMessageConverter.CONDITIONAL_GET_ATTRIBUTE, Boolean.TRUE);
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    private static MockHttpServletResponse write(HttpMessageConverter<Object> converter, Object body) throws Exception {
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+        // 与Spring MVC一致，写出后不再额外flush，头信息必须由转换器自己提交
+        converter.write(body, MediaType.APPLICATION_JSON, new ServletServerHttpResponse(servletResponse));
+        return servletResponse;
+    }
+}